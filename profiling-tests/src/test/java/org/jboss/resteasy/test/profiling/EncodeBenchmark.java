@@ -0,0 +1,299 @@
+package org.jboss.resteasy.test.profiling;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.resteasy.util.Encode;
+import org.jboss.resteasy.util.PathHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the table driven {@link Encode} with the regular expression based implementation it replaced, on plain,
+ * percent-encoded and non-ASCII URI components.
+ * <p>
+ * Run with:
+ * </p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.jboss.resteasy.test.profiling.EncodeBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodeBenchmark {
+
+    @Param({ "plain", "encoded", "unicode" })
+    public String input;
+
+    private String path;
+    private String encodedPath;
+    private String queryValue;
+    private String template;
+
+    @Setup
+    public void setup() {
+        switch (input) {
+            case "plain":
+                path = "/api/v1/customers/12345/orders/67890/items";
+                queryValue = "name-asc";
+                break;
+            case "encoded":
+                path = "/api/v1/customers/John Doe/orders/2024-01 #1/items";
+                queryValue = "name asc&limit=10";
+                break;
+            default:
+                path = "/api/v1/kunden/J\u00FCrgen Gro\u00DF/bestellungen/\u5E74\u5047\u671F/items";
+                queryValue = "Gr\u00FC\u00DF Gott";
+                break;
+        }
+        encodedPath = Encode.encodePath(path);
+        template = path + "/{id}/{name:[a-z]+}";
+    }
+
+    @Benchmark
+    public String decodePath() {
+        return Encode.decodePath(encodedPath);
+    }
+
+    @Benchmark
+    public String decodePathRegex() {
+        return RegexEncode.decodePath(encodedPath);
+    }
+
+    @Benchmark
+    public String encodePath() {
+        return Encode.encodePath(template);
+    }
+
+    @Benchmark
+    public String encodePathRegex() {
+        return RegexEncode.encodePath(template);
+    }
+
+    @Benchmark
+    public String encodePathSegmentAsIs() {
+        return Encode.encodePathSegmentAsIs(path);
+    }
+
+    @Benchmark
+    public String encodePathSegmentAsIsRegex() {
+        return RegexEncode.encodePathSegmentAsIs(path);
+    }
+
+    @Benchmark
+    public String decodeQueryParam() {
+        return Encode.decode(Encode.encodeQueryParamAsIs(queryValue));
+    }
+
+    @Benchmark
+    public String decodeQueryParamRegex() {
+        return RegexEncode.decode(RegexEncode.encodeQueryParamAsIs(queryValue));
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(EncodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * The regular expression based implementation of {@link Encode}, before it used lookup tables.
+     */
+    static final class RegexEncode {
+        private static final Pattern PARAM_REPLACEMENT = Pattern.compile("_resteasy_uri_parameter");
+        private static final Pattern nonCodes = Pattern
+                .compile("%([^a-fA-F0-9]|[a-fA-F0-9]$|$|[a-fA-F0-9][^a-fA-F0-9])");
+        private static final Pattern encodedChars = Pattern.compile("%([a-fA-F0-9][a-fA-F0-9])");
+        private static final Pattern encodedCharsMulti = Pattern.compile("((%[a-fA-F0-9][a-fA-F0-9])+)");
+
+        private static final String[] pathEncoding = new String[128];
+        private static final String[] pathSegmentEncoding = new String[128];
+        private static final String[] queryNameValueEncoding = new String[128];
+
+        static {
+            // the characters the tables of Encode do not encode
+            for (int i = 0; i < 128; i++) {
+                final String c = String.valueOf((char) i);
+                if (!Encode.encodePathAsIs(c).equals(c)) {
+                    pathEncoding[i] = Encode.encodePathAsIs(c);
+                }
+                if (!Encode.encodePathSegmentAsIs(c).equals(c)) {
+                    pathSegmentEncoding[i] = Encode.encodePathSegmentAsIs(c);
+                }
+                if (!Encode.encodeQueryParamAsIs(c).equals(c)) {
+                    queryNameValueEncoding[i] = Encode.encodeQueryParamAsIs(c);
+                }
+            }
+        }
+
+        static String encodePath(String value) {
+            return encodeValue(value, pathEncoding);
+        }
+
+        static String encodePathSegmentAsIs(String segment) {
+            return encodeFromArray(segment, pathSegmentEncoding, true);
+        }
+
+        static String encodeQueryParamAsIs(String nameOrValue) {
+            return encodeFromArray(nameOrValue, queryNameValueEncoding, true);
+        }
+
+        static String encodePathSaveEncodings(String segment) {
+            return encodeNonCodes(encodeFromArray(segment, pathEncoding, false));
+        }
+
+        static String decodePath(String path) {
+            if (path.indexOf('%') == -1) {
+                return path;
+            }
+            Matcher matcher = encodedCharsMulti.matcher(path);
+            int start = 0;
+            StringBuilder builder = new StringBuilder();
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+            while (matcher.find()) {
+                builder.append(path, start, matcher.start());
+                decoder.reset();
+                builder.append(decodeBytes(matcher.group(1), decoder));
+                start = matcher.end();
+            }
+            builder.append(path, start, path.length());
+            return builder.toString();
+        }
+
+        private static String decodeBytes(String enc, CharsetDecoder decoder) {
+            Matcher matcher = encodedChars.matcher(enc);
+            ByteBuffer bytes = ByteBuffer.allocate(enc.length() / 3);
+            while (matcher.find()) {
+                bytes.put((byte) Integer.parseInt(matcher.group(1), 16));
+            }
+            bytes.flip();
+            try {
+                return decoder.decode(bytes).toString();
+            } catch (CharacterCodingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        static String encodeNonCodes(String string) {
+            Matcher matcher = nonCodes.matcher(string);
+            StringBuilder builder = new StringBuilder();
+            int idx = 0;
+            while (matcher.find(idx)) {
+                int start = matcher.start();
+                builder.append(string.substring(idx, start));
+                builder.append("%25");
+                idx = start + 1;
+            }
+            builder.append(string.substring(idx));
+            return builder.toString();
+        }
+
+        static String encodeValue(String segment, String[] encoding) {
+            ArrayList<String> params = new ArrayList<String>();
+            boolean foundParam = false;
+            StringBuilder newSegment = new StringBuilder();
+            if (savePathParams(segment, newSegment, params)) {
+                foundParam = true;
+                segment = newSegment.toString();
+            }
+            String result = encodeNonCodes(encodeFromArray(segment, encoding, false));
+            if (foundParam) {
+                result = pathParamReplacement(result, params);
+            }
+            return result;
+        }
+
+        private static boolean savePathParams(String segmentString, StringBuilder newSegment, List<String> params) {
+            boolean foundParam = false;
+            CharSequence segment = PathHelper.replaceEnclosedCurlyBracesCS(segmentString);
+            Matcher matcher = PathHelper.URI_TEMPLATE_PATTERN.matcher(segment);
+            int start = 0;
+            while (matcher.find()) {
+                newSegment.append(segment, start, matcher.start());
+                foundParam = true;
+                params.add(PathHelper.recoverEnclosedCurlyBraces(matcher.group()));
+                newSegment.append("_resteasy_uri_parameter");
+                start = matcher.end();
+            }
+            newSegment.append(segment, start, segment.length());
+            return foundParam;
+        }
+
+        private static String pathParamReplacement(String segment, List<String> params) {
+            StringBuilder newSegment = new StringBuilder();
+            Matcher matcher = PARAM_REPLACEMENT.matcher(segment);
+            int i = 0;
+            int start = 0;
+            while (matcher.find()) {
+                newSegment.append(segment, start, matcher.start());
+                newSegment.append(params.get(i++));
+                start = matcher.end();
+            }
+            newSegment.append(segment, start, segment.length());
+            return newSegment.toString();
+        }
+
+        private static String encodeFromArray(String segment, String[] encodingMap, boolean encodePercent) {
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < segment.length(); i++) {
+                char currentChar = segment.charAt(i);
+                if (!encodePercent && currentChar == '%') {
+                    result.append(currentChar);
+                    continue;
+                }
+                if (Character.isHighSurrogate(currentChar)) {
+                    result.append(encodeString(segment.substring(i, i + 2)));
+                    ++i;
+                    continue;
+                }
+                String encoding = currentChar < encodingMap.length ? encodingMap[currentChar]
+                        : encodeString(Character.toString(currentChar));
+                result.append(encoding == null ? String.valueOf(currentChar) : encoding);
+            }
+            return result.toString();
+        }
+
+        private static String encodeString(String s) {
+            try {
+                return URLEncoder.encode(s, "UTF-8");
+            } catch (UnsupportedEncodingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        static String decode(String string) {
+            try {
+                return URLDecoder.decode(string, "UTF-8");
+            } catch (UnsupportedEncodingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.jboss.resteasy.test.profiling;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the reflective invokers of resource methods, constructors and properties with the method handle ones
+ * enabled by {@link ResteasyContextParameters#RESTEASY_METHOD_HANDLE_INVOKERS}, over the cleartext scenario of
+ * {@link MockedProfilingTest} and a per-request resource which is constructed and injected on every request.
+ * <p>
+ * Each fork runs in a new JVM, so the system property is read after it is set by {@link #setup()}. Run with:
+ * </p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.jboss.resteasy.test.profiling.InvokerBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvokerBenchmark {
+    @Path("/injected/{id}")
+    public static class InjectedResource {
+        private final String id;
+
+        @QueryParam("field")
+        private String field;
+
+        private int count;
+
+        public InjectedResource(@PathParam("id") final String id) {
+            this.id = id;
+        }
+
+        @QueryParam("count")
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        @GET
+        @Produces("text/plain")
+        public String get(@QueryParam("suffix") String suffix) {
+            return id + field + count + suffix;
+        }
+    }
+
+    @Path("/test")
+    public static class CleartextResource {
+        @POST
+        @Produces("text/plain")
+        @Consumes("text/plain")
+        @Path("create")
+        public String create(String cust) {
+            return cust;
+        }
+    }
+
+    @Param({ "true", "false" })
+    public String methodHandles;
+
+    private ResteasyDeployment deployment;
+    private Dispatcher dispatcher;
+    private final byte[] body = "hello world".getBytes();
+
+    @Setup
+    public void setup() {
+        System.setProperty(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOKERS, methodHandles);
+        deployment = new ResteasyDeploymentImpl();
+        deployment.start();
+        dispatcher = deployment.getDispatcher();
+        dispatcher.getRegistry().addPerRequestResource(InjectedResource.class);
+        dispatcher.getRegistry().addPerRequestResource(CleartextResource.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        deployment.stop();
+    }
+
+    @Benchmark
+    public MockHttpResponse injected() throws Exception {
+        final MockHttpResponse response = new MockHttpResponse();
+        dispatcher.invoke(MockHttpRequest.get("/injected/1?field=a&count=2&suffix=b"), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpResponse cleartext() throws Exception {
+        final MockHttpResponse response = new MockHttpResponse();
+        dispatcher.invoke(MockHttpRequest.post("/test/create").contentType("text/plain").content(body), response);
+        return response;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(InvokerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,146 @@
+package org.jboss.resteasy.test.profiling;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+
+import org.jboss.resteasy.core.ResourceMethodRegistry;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.ResourceInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link ResourceMethodRegistry#getResourceInvoker(org.jboss.resteasy.spi.HttpRequest)} for a registry of
+ * 600 routes, with and without the regex free template matching and the match cache.
+ * <p>
+ * Each fork runs in a new JVM, so the system properties are read after they are set by {@link #setup()}. Run with:
+ * </p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.jboss.resteasy.test.profiling.ResourceMatchingBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceMatchingBenchmark {
+    private static final int SERVICES = 100;
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Produces("text/plain")
+        public String list() {
+            return null;
+        }
+
+        @POST
+        @Produces("text/plain")
+        public String create() {
+            return null;
+        }
+
+        @GET
+        @Path("{id}")
+        @Produces("text/plain")
+        public String get(@PathParam("id") String id) {
+            return null;
+        }
+
+        @GET
+        @Path("{id}/items")
+        @Produces("text/plain")
+        public String items(@PathParam("id") String id) {
+            return null;
+        }
+
+        @GET
+        @Path("{id}/items/{item}")
+        @Produces("text/plain")
+        public String item(@PathParam("id") String id, @PathParam("item") String item) {
+            return null;
+        }
+
+        @GET
+        @Path("{id}/versions/{version:\\d+}")
+        @Produces("text/plain")
+        public String version(@PathParam("id") String id, @PathParam("version") String version) {
+            return null;
+        }
+    }
+
+    @Param({ "true", "false" })
+    public String templateCompilation;
+
+    @Param({ "true", "false" })
+    public String matchCache;
+
+    private ResourceMethodRegistry registry;
+    private String[] paths;
+    private int next;
+
+    @Setup
+    public void setup() {
+        System.setProperty(ResteasyContextParameters.RESTEASY_MATCH_TEMPLATE_COMPILATION, templateCompilation);
+        System.setProperty(ResteasyContextParameters.RESTEASY_MATCH_CACHE_ENABLED, matchCache);
+        registry = new ResourceMethodRegistry(new ResteasyProviderFactoryImpl());
+        for (int i = 0; i < SERVICES; i++) {
+            registry.addPerRequestResource(Resource.class, "/service" + i);
+        }
+        paths = new String[1024];
+        for (int i = 0; i < paths.length; i++) {
+            final String base = "/service" + (i % SERVICES);
+            switch (i % 5) {
+                case 0:
+                    paths[i] = base;
+                    break;
+                case 1:
+                    paths[i] = base + "/" + i;
+                    break;
+                case 2:
+                    paths[i] = base + "/" + i + "/items";
+                    break;
+                case 3:
+                    paths[i] = base + "/" + i + "/items/" + (i * 7);
+                    break;
+                default:
+                    paths[i] = base + "/" + i + "/versions/" + (i % 3);
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public ResourceInvoker match() throws Exception {
+        final String path = paths[next++ & (paths.length - 1)];
+        return registry.getResourceInvoker(MockHttpRequest.get(path).accept("text/plain"));
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ResourceMatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package org.jboss.resteasy.test.profiling;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.UriInfo;
+
+import org.jboss.resteasy.core.ResourceMethodRegistry;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.spi.ResourceInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of the {@link UriInfo} of a {@link MockHttpRequest}: creating it, matching the request and reading
+ * the path and query parameters a resource method typically reads.
+ * <p>
+ * Run with:
+ * </p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.jboss.resteasy.test.profiling.UriInfoBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UriInfoBenchmark {
+
+    @Path("/orders")
+    public static class Resource {
+        @GET
+        @Path("{id}/items/{item}")
+        @Produces("text/plain")
+        public String item(@PathParam("id") String id, @PathParam("item") String item) {
+            return null;
+        }
+    }
+
+    private ResourceMethodRegistry registry;
+    private String[] uris;
+    private int next;
+
+    @Setup
+    public void setup() {
+        registry = new ResourceMethodRegistry(new ResteasyProviderFactoryImpl());
+        registry.addPerRequestResource(Resource.class);
+        uris = new String[1024];
+        for (int i = 0; i < uris.length; i++) {
+            uris[i] = "/orders/" + i + "/items/item%20" + (i * 7) + "?page=" + (i % 10) + "&size=20&sort=name+asc";
+        }
+    }
+
+    @Benchmark
+    public UriInfo create() throws Exception {
+        return MockHttpRequest.create("GET", uris[next++ & (uris.length - 1)]).getUri();
+    }
+
+    @Benchmark
+    public ResourceInvoker match() throws Exception {
+        return registry.getResourceInvoker(MockHttpRequest.create("GET", uris[next++ & (uris.length - 1)]));
+    }
+
+    @Benchmark
+    public void matchAndRead(final Blackhole blackhole) throws Exception {
+        final MockHttpRequest request = MockHttpRequest.create("GET", uris[next++ & (uris.length - 1)]);
+        blackhole.consume(registry.getResourceInvoker(request));
+        final UriInfo uriInfo = request.getUri();
+        blackhole.consume(uriInfo.getPathParameters().getFirst("item"));
+        blackhole.consume(uriInfo.getQueryParameters().getFirst("page"));
+        blackhole.consume(uriInfo.getQueryParameters().getFirst("sort"));
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(UriInfoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
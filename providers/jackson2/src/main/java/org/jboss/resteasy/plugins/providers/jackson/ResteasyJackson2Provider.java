@@ -20,7 +20,7 @@ import jakarta.ws.rs.ext.Provider;
 
 import org.jboss.resteasy.annotations.providers.jackson.Formatted;
 import org.jboss.resteasy.core.interception.jaxrs.DecoratorMatcher;
-import org.jboss.resteasy.core.messagebody.AsyncBufferedMessageBodyWriter;
+import org.jboss.resteasy.core.messagebody.AsyncChunkedMessageBodyWriter;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.util.DelegatingOutputStream;
 
@@ -49,7 +49,7 @@ import com.fasterxml.jackson.jakarta.rs.json.JsonEndpointConfig;
 @Provider
 @Consumes({ "application/json", "application/*+json", "text/json" })
 @Produces({ "application/json", "application/*+json", "text/json" })
-public class ResteasyJackson2Provider extends JacksonJsonProvider implements AsyncBufferedMessageBodyWriter<Object> {
+public class ResteasyJackson2Provider extends JacksonJsonProvider implements AsyncChunkedMessageBodyWriter<Object> {
 
     DecoratorMatcher decoratorMatcher = new DecoratorMatcher();
 
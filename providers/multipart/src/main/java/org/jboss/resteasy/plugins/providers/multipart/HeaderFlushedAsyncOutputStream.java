@@ -1,6 +1,8 @@
 package org.jboss.resteasy.plugins.providers.multipart;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -91,4 +93,32 @@ public class HeaderFlushedAsyncOutputStream extends AsyncOutputStream {
         return flushHeaders()
                 .thenCompose(v -> stream.asyncWrite(bytes, offset, length));
     }
+
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer buffer) {
+        return flushHeaders()
+                .thenCompose(v -> stream.asyncWrite(buffer));
+    }
+
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer[] buffers) {
+        return flushHeaders()
+                .thenCompose(v -> stream.asyncWrite(buffers));
+    }
+
+    @Override
+    public boolean isBlockingAllowed() {
+        return stream.isBlockingAllowed();
+    }
+
+    @Override
+    public boolean isFileTransferSupported() {
+        return stream.isFileTransferSupported();
+    }
+
+    @Override
+    public CompletionStage<Void> asyncTransferFrom(FileChannel channel, long position, long count) {
+        return flushHeaders()
+                .thenCompose(v -> stream.asyncTransferFrom(channel, position, count));
+    }
 }
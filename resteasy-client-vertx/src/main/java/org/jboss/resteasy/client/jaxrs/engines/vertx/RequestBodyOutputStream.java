@@ -0,0 +1,131 @@
+package org.jboss.resteasy.client.jaxrs.engines.vertx;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+
+/**
+ * The output stream a request entity is written to.
+ * <p>
+ * The entity is buffered until it exceeds the buffer size. An entity which fits in the buffer is sent at once with a
+ * {@code Content-Length}. A larger entity is sent chunked while it is written, the writing thread blocks while the
+ * write queue of the request is full.
+ * </p>
+ *
+ * @since 6.3
+ */
+class RequestBodyOutputStream extends OutputStream {
+
+    private final Function<Long, CompletableFuture<HttpClientRequest>> requestFactory;
+    private final CompletableFuture<?> response;
+    private final int bufferSize;
+    private byte[] buffer;
+    private int count;
+    private HttpClientRequest request;
+    private boolean closed;
+
+    /**
+     * @param requestFactory creates the request for the content length, or {@code null} if the entity is sent chunked
+     * @param response       the response of the request, writes stop waiting for the write queue once it completes
+     * @param bufferSize     the size of the buffer
+     */
+    RequestBodyOutputStream(final Function<Long, CompletableFuture<HttpClientRequest>> requestFactory,
+            final CompletableFuture<?> response, final int bufferSize) {
+        this.requestFactory = requestFactory;
+        this.response = response;
+        this.bufferSize = bufferSize;
+        this.buffer = new byte[Math.min(bufferSize, 512)];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (len > 0) {
+            if (count == buffer.length) {
+                if (buffer.length < bufferSize) {
+                    buffer = Arrays.copyOf(buffer, Math.min(buffer.length << 1, bufferSize));
+                } else {
+                    flushBuffer();
+                }
+            }
+            final int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (request == null) {
+            request = await(requestFactory.apply(null));
+        }
+        awaitWritable();
+        // the buffer is handed over to Vert.x, so a new one is needed for the next chunk
+        request.write(Buffer.buffer(buffer));
+        buffer = new byte[bufferSize];
+        count = 0;
+    }
+
+    private void awaitWritable() throws IOException {
+        if (!request.writeQueueFull()) {
+            return;
+        }
+        final CompletableFuture<Void> drained = new CompletableFuture<>();
+        request.drainHandler(v -> drained.complete(null));
+        if (request.writeQueueFull()) {
+            // a completed response means the server is not reading the entity anymore
+            await(CompletableFuture.anyOf(drained, response));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final Buffer last = Buffer.buffer(count == buffer.length ? buffer : Arrays.copyOf(buffer, count));
+        if (request == null) {
+            requestFactory.apply((long) count).thenAccept(r -> r.end(last));
+        } else {
+            awaitWritable();
+            request.end(last);
+        }
+    }
+
+    /**
+     * Resets the request if it has already been sent, the entity could not be written completely.
+     */
+    void abort(final Throwable cause) {
+        closed = true;
+        if (request != null) {
+            request.reset(0, cause);
+        }
+    }
+
+    private static <T> T await(final CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package org.jboss.resteasy.client.jaxrs.engines.vertx;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -28,13 +28,11 @@ import org.jboss.resteasy.client.jaxrs.internal.FinalizedClientResponse;
 import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
 import org.jboss.resteasy.util.CaseInsensitiveMap;
 
-import io.vertx.core.AsyncResult;
-import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
@@ -47,6 +45,9 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
      */
     public static final String REQUEST_TIMEOUT_MS = Vertx.class + "$RequestTimeout";
 
+    // entities up to this size are sent with a Content-Length, larger entities are sent chunked while written
+    private static final int REQUEST_BUFFER_SIZE = 8192;
+
     private final Vertx vertx;
     private final HttpClient httpClient;
 
@@ -74,10 +75,13 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
             final boolean buffered,
             final InvocationCallback<T> callback,
             final ResultExtractor<T> extractor) {
-        CompletableFuture<T> future = submit(request).thenCompose(response -> {
+        CompletableFuture<T> future = submit(request, request.asyncInvocationExecutor()).thenCompose(response -> {
             CompletableFuture<T> tmp = new CompletableFuture<>();
             vertx.executeBlocking(promise -> {
                 try {
+                    if (buffered) {
+                        response.bufferEntity();
+                    }
                     T result = extractor.extractResult(response);
                     tmp.complete(result);
                 } catch (Exception e) {
@@ -105,11 +109,15 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
             final boolean buffered,
             final ResultExtractor<T> extractor,
             final ExecutorService executorService) {
-        return submit(request).thenCompose(response -> {
+        final Executor writer = executorService == null ? request.asyncInvocationExecutor() : executorService;
+        return submit(request, writer).thenCompose(response -> {
             CompletableFuture<T> tmp = new CompletableFuture<>();
             if (executorService == null) {
                 vertx.executeBlocking(promise -> {
                     try {
+                        if (buffered) {
+                            response.bufferEntity();
+                        }
                         T result = extractor.extractResult(response);
                         tmp.complete(result);
                     } catch (Exception e) {
@@ -121,6 +129,9 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
             } else {
                 executorService.execute(() -> {
                     try {
+                        if (buffered) {
+                            response.bufferEntity();
+                        }
                         T result = extractor.extractResult(response);
                         tmp.complete(result);
                     } catch (Exception e) {
@@ -132,24 +143,48 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
         });
     }
 
-    private CompletableFuture<ClientResponse> submit(final ClientInvocation request) {
-        HttpMethod method = HttpMethod.valueOf(request.getMethod());
-        Object entity = request.getEntity();
-        Buffer body;
-        if (entity != null) {
-            body = Buffer.buffer(requestContent(request));
+    private CompletableFuture<ClientResponse> submit(final ClientInvocation request, final Executor executor) {
+        final CompletableFuture<ClientResponse> futureResponse = new CompletableFuture<>();
+        if (request.getEntity() == null) {
+            send(request, null, futureResponse).thenAccept(HttpClientRequest::end);
+        } else if (executor == null) {
+            writeEntity(request, futureResponse);
         } else {
-            body = null;
+            // the entity is written with blocking I/O, which must not happen on the calling thread of an async invocation
+            executor.execute(() -> writeEntity(request, futureResponse));
         }
+        return futureResponse;
+    }
+
+    private void writeEntity(final ClientInvocation request, final CompletableFuture<ClientResponse> futureResponse) {
+        final RequestBodyOutputStream out = new RequestBodyOutputStream(
+                contentLength -> send(request, contentLength, futureResponse), futureResponse, REQUEST_BUFFER_SIZE);
+        request.getDelegatingOutputStream().setDelegate(out);
+        try {
+            request.writeRequestBody(request.getEntityStream());
+            out.close();
+        } catch (Exception e) {
+            out.abort(e);
+            futureResponse.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Creates the request, its entity is sent chunked if the content length is {@code null}.
+     */
+    private CompletableFuture<HttpClientRequest> send(final ClientInvocation request, final Long contentLength,
+            final CompletableFuture<ClientResponse> futureResponse) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
 
         RequestOptions options = new RequestOptions();
         options.setMethod(method);
         MultiMap headers = MultiMap.caseInsensitiveMultiMap();
         request.getHeaders().asMap().forEach(headers::add);
         options.setHeaders(headers);
-        if (body != null) {
-            headers.set(HttpHeaders.CONTENT_LENGTH, "" + body.length());
+        if (contentLength != null) {
+            headers.set(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
         }
+        final boolean chunked = request.getEntity() != null && !headers.contains(HttpHeaders.CONTENT_LENGTH);
 
         if (!headers.contains(HttpHeaders.USER_AGENT)) {
             options.addHeader(HttpHeaders.USER_AGENT.toString(), "Vertx");
@@ -182,10 +217,10 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
             }
         }
 
-        final CompletableFuture<ClientResponse> futureResponse = new CompletableFuture<>();
+        final CompletableFuture<HttpClientRequest> futureRequest = new CompletableFuture<>();
         httpClient.request(options)
-                .map(httpClientRequest -> {
-                    final Handler<AsyncResult<HttpClientResponse>> handler = event -> {
+                .onSuccess(httpClientRequest -> {
+                    httpClientRequest.response(event -> {
                         if (event.succeeded()) {
                             final HttpClientResponse response = event.result();
                             response.pause();
@@ -194,16 +229,17 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
                         } else {
                             futureResponse.completeExceptionally(event.cause());
                         }
-                    };
-                    if (body != null) {
-                        httpClientRequest.send(body, handler);
-                    } else {
-                        httpClientRequest.send(handler);
+                    });
+                    if (chunked) {
+                        httpClientRequest.setChunked(true);
                     }
-                    return null;
+                    futureRequest.complete(httpClientRequest);
                 })
-                .onFailure(futureResponse::completeExceptionally);
-        return futureResponse;
+                .onFailure(cause -> {
+                    futureResponse.completeExceptionally(cause);
+                    futureRequest.completeExceptionally(cause);
+                });
+        return futureRequest;
     }
 
     private long unwrapTimeout(final Object timeout) {
@@ -232,7 +268,7 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
 
     @Override
     public Response invoke(Invocation request) {
-        final Future<ClientResponse> future = submit((ClientInvocation) request);
+        final Future<ClientResponse> future = submit((ClientInvocation) request, null);
 
         try {
             return future.get();
@@ -269,18 +305,6 @@ public class VertxClientHttpEngine implements AsyncClientHttpEngine {
         return ret;
     }
 
-    private static byte[] requestContent(ClientInvocation request) {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        request.getDelegatingOutputStream().setDelegate(baos);
-        try {
-            request.writeRequestBody(request.getEntityStream());
-            baos.close();
-            return baos.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to write the request body!", e);
-        }
-    }
-
     private ClientResponse toRestEasyResponse(ClientConfiguration clientConfiguration,
             HttpClientResponse clientResponse) {
 
@@ -224,6 +224,22 @@ public class VertxClientEngineTest {
         assertArrayEquals(valuableData, response.readEntity(byte[].class));
     }
 
+    @Test
+    public void testEntityTransferMode() throws Exception {
+        server.requestHandler(req -> req.bodyHandler(body -> req.response()
+                .putHeader(HttpHeaders.CONTENT_TYPE, "text/plain")
+                .end(req.getHeader(HttpHeaders.CONTENT_LENGTH) + " " + req.getHeader(HttpHeaders.TRANSFER_ENCODING)
+                        + " " + body.length())));
+
+        final byte[] small = new byte[100];
+        assertEquals("100 null 100", client().target(baseUri()).request()
+                .post(Entity.entity(small, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class));
+
+        final byte[] large = new byte[1024 * 1024];
+        assertEquals("null chunked " + large.length, client().target(baseUri()).request()
+                .post(Entity.entity(large, MediaType.APPLICATION_OCTET_STREAM_TYPE), String.class));
+    }
+
     @Test
     public void testFutureResponse() throws Exception {
         server.requestHandler(new EchoHandler());
@@ -0,0 +1,347 @@
+package org.jboss.resteasy.client.jaxrs.cache;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+/**
+ * In-memory BrowserCache bounded by the number of bytes of the cached bodies. Unlike
+ * {@link LightweightBrowserCache}, which wipes itself once it is full, this cache evicts the least recently used
+ * entries until the new entry fits.
+ * <p>
+ * Entries are dropped as soon as they are found to be expired, unless they carry an ETag or Last-Modified header and
+ * can therefore still be revalidated with the server. Responses which are already expired when they are put and can not
+ * be revalidated are not stored at all, neither are bodies larger than the cache itself.
+ * </p>
+ * <p>
+ * The bodies can optionally be kept in direct buffers outside the Java heap, in which case every read of
+ * {@link Entry#getCached()} returns a copy.
+ * </p>
+ */
+public class BoundedBrowserCache implements BrowserCache {
+    public static final long DEFAULT_MAX_BYTES = 2000000;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // access ordered, the eldest entry is the first one to be evicted
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // the media type variants of each URI in the order they were cached, used by the wildcard lookups
+    private final Map<String, Map<String, Entry>> variants = new HashMap<>();
+    private final boolean offHeap;
+    private long maxBytes;
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public BoundedBrowserCache() {
+        this(DEFAULT_MAX_BYTES, false);
+    }
+
+    public BoundedBrowserCache(final long maxBytes) {
+        this(maxBytes, false);
+    }
+
+    /**
+     * @param maxBytes the maximum number of bytes of the cached bodies
+     * @param offHeap  whether the bodies should be stored in direct buffers
+     */
+    public BoundedBrowserCache(final long maxBytes, final boolean offHeap) {
+        this.maxBytes = maxBytes;
+        this.offHeap = offHeap;
+    }
+
+    public long getMaxBytes() {
+        lock.lock();
+        try {
+            return maxBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the maximum size of the cache, evicting entries right away if it shrinks.
+     *
+     * @param maxBytes the maximum number of bytes of the cached bodies
+     */
+    public void setMaxBytes(long maxBytes) {
+        lock.lock();
+        try {
+            this.maxBytes = maxBytes;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public long getByteCount() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of lookups which returned an entry that has not expired
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups which found no entry or an expired one which has to be revalidated
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed to make room for new ones
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of entries dropped because they expired and could not be revalidated
+     */
+    public long getExpiredCount() {
+        return expirations.sum();
+    }
+
+    @Override
+    public Entry getAny(String key) {
+        lock.lock();
+        try {
+            final Map<String, Entry> parent = variants.get(key);
+            if (parent == null || parent.isEmpty()) {
+                return touch(key, null, null);
+            }
+            final Map.Entry<String, Entry> first = parent.entrySet().iterator().next();
+            return touch(key, first.getKey(), first.getValue());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Entry get(String key, MediaType accept) {
+        lock.lock();
+        try {
+            final Map<String, Entry> parent = variants.get(key);
+            if (parent == null || parent.isEmpty()) {
+                return touch(key, null, null);
+            }
+            if (accept.isWildcardType()) {
+                final Map.Entry<String, Entry> first = parent.entrySet().iterator().next();
+                return touch(key, first.getKey(), first.getValue());
+            } else if (accept.isWildcardSubtype()) {
+                final String prefix = accept.getType() + "/";
+                for (Map.Entry<String, Entry> variant : parent.entrySet()) {
+                    if (variant.getKey().startsWith(prefix)) {
+                        return touch(key, variant.getKey(), variant.getValue());
+                    }
+                }
+            }
+            final String type = accept.toString();
+            return touch(key, type, parent.get(type));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Entry put(String key, MediaType mediaType, MultivaluedMap<String, String> headers, byte[] cached,
+            int expires, String etag, String lastModified) {
+        final Entry entry = offHeap
+                ? new OffHeapEntry(new CacheEntry(key, headers, EMPTY, expires, etag, lastModified, mediaType), cached)
+                : new CacheEntry(key, headers, cached, expires, etag, lastModified, mediaType);
+        final String type = mediaType.toString();
+        lock.lock();
+        try {
+            removeEntry(key, type);
+            if (cached.length > maxBytes || (entry.expired() && entry.getValidationHeaders().length == 0)) {
+                return entry;
+            }
+            entries.put(new Key(key, type), entry);
+            variants.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(type, entry);
+            bytes += cached.length;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    @Override
+    public Entry remove(String key, MediaType type) {
+        lock.lock();
+        try {
+            return removeEntry(key, type.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            variants.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry touch(final String key, final String type, final Entry entry) {
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expired()) {
+            misses.increment();
+            if (entry.getValidationHeaders().length == 0) {
+                removeEntry(key, type);
+                expirations.increment();
+                return null;
+            }
+        } else {
+            hits.increment();
+        }
+        // moves the entry to the tail of the access order
+        entries.get(new Key(key, type));
+        return entry;
+    }
+
+    private Entry removeEntry(final String key, final String type) {
+        final Entry removed = entries.remove(new Key(key, type));
+        if (removed == null) {
+            return null;
+        }
+        final Map<String, Entry> parent = variants.get(key);
+        parent.remove(type);
+        if (parent.isEmpty()) {
+            variants.remove(key);
+        }
+        bytes -= size(removed);
+        return removed;
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            final Map.Entry<Key, Entry> eldest = iterator.next();
+            iterator.remove();
+            final Map<String, Entry> parent = variants.get(eldest.getKey().uri);
+            parent.remove(eldest.getKey().mediaType);
+            if (parent.isEmpty()) {
+                variants.remove(eldest.getKey().uri);
+            }
+            bytes -= size(eldest.getValue());
+            evictions.increment();
+        }
+    }
+
+    private static int size(final Entry entry) {
+        return entry instanceof OffHeapEntry ? ((OffHeapEntry) entry).body.capacity() : entry.getCached().length;
+    }
+
+    private static final class Key {
+        private final String uri;
+        private final String mediaType;
+        private final int hash;
+
+        private Key(final String uri, final String mediaType) {
+            this.uri = uri;
+            this.mediaType = mediaType;
+            this.hash = 31 * uri.hashCode() + mediaType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return uri.equals(other.uri) && mediaType.equals(other.mediaType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * An entry which keeps its body in a direct buffer and everything else in a {@link CacheEntry}.
+     */
+    private static final class OffHeapEntry implements Entry {
+        private final CacheEntry delegate;
+        private final ByteBuffer body;
+
+        private OffHeapEntry(final CacheEntry delegate, final byte[] cached) {
+            this.delegate = Objects.requireNonNull(delegate);
+            this.body = ByteBuffer.allocateDirect(cached.length);
+            body.put(cached).flip();
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public boolean expired() {
+            return delegate.expired();
+        }
+
+        @Override
+        public Header[] getValidationHeaders() {
+            return delegate.getValidationHeaders();
+        }
+
+        @Override
+        public byte[] getCached() {
+            final byte[] cached = new byte[body.capacity()];
+            body.duplicate().get(cached);
+            return cached;
+        }
+
+        @Override
+        public MediaType getMediaType() {
+            return delegate.getMediaType();
+        }
+    }
+}
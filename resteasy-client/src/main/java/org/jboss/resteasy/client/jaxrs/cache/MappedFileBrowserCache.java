@@ -0,0 +1,619 @@
+package org.jboss.resteasy.client.jaxrs.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+
+/**
+ * BrowserCache which stores its entries in a memory-mapped file, so that they survive a restart of the client.
+ * <p>
+ * The file is a log of records, each holding the URI, media type, expiry, ETag, Last-Modified and headers of an entry
+ * followed by its body. New entries are appended, removed ones are only flagged, and the index is kept in memory and
+ * rebuilt from the file when the cache is opened. Once the file is full it is compacted in place, evicting the least
+ * recently used entries first, so it never grows beyond its maximum size. Records are checksummed and anything after a
+ * torn or corrupt record is ignored when the file is opened again.
+ * </p>
+ * <p>
+ * Entries are dropped once they are expired, unless they carry an ETag or Last-Modified header and can therefore still
+ * be revalidated by the {@link CacheInterceptor}.
+ * </p>
+ * <p>
+ * The file is locked exclusively while the cache is open, so it can only be used by one instance at a time. Closing the
+ * cache releases the lock, the file is unmapped once the mapping has been garbage collected.
+ * </p>
+ */
+public class MappedFileBrowserCache implements BrowserCache, Closeable {
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final int MAGIC = 0x52434531;
+    private static final byte LIVE = 1;
+    private static final byte REMOVED = 0;
+    // magic, state, meta length, body length, checksum
+    private static final int RECORD_HEADER = 4 + 1 + 4 + 4 + 4;
+    private static final int COPY_BUFFER = 8192;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // access ordered, the eldest entry is the first one to be evicted
+    private final LinkedHashMap<Key, MappedEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // the media type variants of each URI in the order they were cached, used by the wildcard lookups
+    private final Map<String, Map<String, MappedEntry>> variants = new HashMap<>();
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock fileLock;
+    // null once the cache is closed, so the mapping can be garbage collected even if the cache is still referenced
+    private MappedByteBuffer buffer;
+    private final int capacity;
+    private int position;
+    private int liveBytes;
+    private boolean closed;
+
+    public MappedFileBrowserCache(final Path file) throws IOException {
+        this(file, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Opens the cache, loading the entries which are still usable from the file if it exists.
+     *
+     * @param file     the file to store the entries in
+     * @param maxBytes the size of the file, at most {@link Integer#MAX_VALUE}
+     * @throws IOException if the file can not be opened or mapped
+     */
+    public MappedFileBrowserCache(final Path file, final long maxBytes) throws IOException {
+        if (maxBytes <= RECORD_HEADER || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxBytes: " + maxBytes);
+        }
+        this.file = file;
+        this.capacity = (int) maxBytes;
+        final Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            this.fileLock = lock(channel, file);
+            if (channel.size() > capacity) {
+                // the cache was shrunk, everything beyond the new size is lost
+                channel.truncate(capacity);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        load();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getMaxBytes() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of bytes of the file used by the entries in the cache
+     */
+    public long getByteCount() {
+        lock.lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Entry getAny(String key) {
+        lock.lock();
+        try {
+            final Map<String, MappedEntry> parent = variants.get(key);
+            if (closed || parent == null || parent.isEmpty()) {
+                return null;
+            }
+            return touch(parent.values().iterator().next());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Entry get(String key, MediaType accept) {
+        lock.lock();
+        try {
+            final Map<String, MappedEntry> parent = variants.get(key);
+            if (closed || parent == null || parent.isEmpty()) {
+                return null;
+            }
+            if (accept.isWildcardType()) {
+                return touch(parent.values().iterator().next());
+            } else if (accept.isWildcardSubtype()) {
+                final String prefix = accept.getType() + "/";
+                for (Map.Entry<String, MappedEntry> variant : parent.entrySet()) {
+                    if (variant.getKey().startsWith(prefix)) {
+                        return touch(variant.getValue());
+                    }
+                }
+            }
+            return touch(parent.get(accept.toString()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Entry put(String key, MediaType mediaType, MultivaluedMap<String, String> headers, byte[] cached,
+            int expires, String etag, String lastModified) {
+        final String type = mediaType.toString();
+        final long expiresAt = System.currentTimeMillis() + expires * 1000L;
+        final byte[] meta;
+        try {
+            meta = encode(key, type, expiresAt, etag, lastModified, headers);
+        } catch (UTFDataFormatException e) {
+            // a header too long to be stored, the response is not cached
+            remove(key, mediaType);
+            return new CacheEntry(key, headers, cached, expires, etag, lastModified, mediaType);
+        }
+        final MappedEntry entry = new MappedEntry(key, type, headers, expiresAt, etag, lastModified, meta.length,
+                cached.length);
+        final long size = (long) RECORD_HEADER + meta.length + cached.length;
+        lock.lock();
+        try {
+            if (closed) {
+                entry.detached = cached;
+                return entry;
+            }
+            removeEntry(key, type);
+            // the last four bytes are reserved for the end marker
+            if (size > capacity - 4 || (entry.expired() && entry.validationHeaders.length == 0)) {
+                entry.detached = cached;
+                return entry;
+            }
+            if (position + size > capacity - 4) {
+                compact((int) size);
+            }
+            write(entry, meta, cached);
+            entries.put(new Key(key, type), entry);
+            variants.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(type, entry);
+            liveBytes += (int) size;
+        } finally {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    @Override
+    public Entry remove(String key, MediaType type) {
+        lock.lock();
+        try {
+            return removeEntry(key, type.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            for (MappedEntry entry : entries.values()) {
+                detach(entry);
+            }
+            entries.clear();
+            variants.clear();
+            liveBytes = 0;
+            position = 0;
+            if (!closed) {
+                buffer.putInt(0, 0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the pending changes to the disk.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            if (!closed) {
+                buffer.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            buffer.force();
+            // the entries handed out so far have to stay readable
+            for (MappedEntry entry : entries.values()) {
+                detach(entry);
+            }
+            entries.clear();
+            variants.clear();
+            closed = true;
+            buffer = null;
+            try {
+                fileLock.release();
+            } finally {
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static FileLock lock(final FileChannel channel, final Path file) throws IOException {
+        final FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            throw new IOException("The browser cache file " + file + " is already open", e);
+        }
+        if (fileLock == null) {
+            throw new IOException("The browser cache file " + file + " is locked by another process");
+        }
+        return fileLock;
+    }
+
+    private Entry touch(final MappedEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expired() && entry.validationHeaders.length == 0) {
+            removeEntry(entry.key, entry.type);
+            return null;
+        }
+        // moves the entry to the tail of the access order
+        entries.get(new Key(entry.key, entry.type));
+        return entry;
+    }
+
+    private MappedEntry removeEntry(final String key, final String type) {
+        final MappedEntry removed = entries.remove(new Key(key, type));
+        if (removed == null) {
+            return null;
+        }
+        final Map<String, MappedEntry> parent = variants.get(key);
+        parent.remove(type);
+        if (parent.isEmpty()) {
+            variants.remove(key);
+        }
+        liveBytes -= removed.recordSize();
+        detach(removed);
+        buffer.put(removed.offset + 4, REMOVED);
+        return removed;
+    }
+
+    /**
+     * Copies the body of an entry which is no longer in the file to the heap, the interceptor still reads it when the
+     * server confirms that the entry has not been modified.
+     */
+    private void detach(final MappedEntry entry) {
+        if (entry.detached == null) {
+            entry.detached = read(entry.bodyOffset(), entry.bodyLength);
+        }
+    }
+
+    private void write(final MappedEntry entry, final byte[] meta, final byte[] body) {
+        final CRC32 crc = new CRC32();
+        crc.update(meta);
+        crc.update(body);
+        final int offset = position;
+        final ByteBuffer record = buffer.duplicate();
+        record.position(offset + 4);
+        record.put(LIVE).putInt(meta.length).putInt(body.length).putInt((int) crc.getValue()).put(meta).put(body);
+        final int end = record.position();
+        // terminate the log before the record becomes valid, stale records may follow
+        buffer.putInt(end, 0);
+        buffer.putInt(offset, MAGIC);
+        entry.offset = offset;
+        position = end;
+    }
+
+    /**
+     * Evicts the least recently used entries until a record of the given size fits with some room to spare, then moves
+     * the remaining records to the start of the file.
+     */
+    private void compact(final int needed) {
+        final int target = Math.max(0, capacity - 4 - needed - capacity / 4);
+        final Iterator<MappedEntry> eldest = entries.values().iterator();
+        while (liveBytes > target && eldest.hasNext()) {
+            final MappedEntry entry = eldest.next();
+            eldest.remove();
+            final Map<String, MappedEntry> parent = variants.get(entry.key);
+            parent.remove(entry.type);
+            if (parent.isEmpty()) {
+                variants.remove(entry.key);
+            }
+            liveBytes -= entry.recordSize();
+            detach(entry);
+            // an evicted record which is not overwritten until the compaction is interrupted must not be loaded again
+            buffer.put(entry.offset + 4, REMOVED);
+        }
+        final List<MappedEntry> remaining = new ArrayList<>(entries.values());
+        remaining.sort(Comparator.comparingInt(e -> e.offset));
+        final byte[] chunk = new byte[COPY_BUFFER];
+        int to = 0;
+        for (MappedEntry entry : remaining) {
+            // records only move towards the start of the file, so copying front to back is safe
+            final int from = entry.offset;
+            final int size = entry.recordSize();
+            if (from != to) {
+                for (int done = 0; done < size; done += COPY_BUFFER) {
+                    final int n = Math.min(COPY_BUFFER, size - done);
+                    final ByteBuffer src = buffer.duplicate();
+                    src.position(from + done);
+                    src.get(chunk, 0, n);
+                    final ByteBuffer dst = buffer.duplicate();
+                    dst.position(to + done);
+                    dst.put(chunk, 0, n);
+                }
+                entry.offset = to;
+            }
+            to += size;
+        }
+        position = to;
+        buffer.putInt(position, 0);
+    }
+
+    private void load() {
+        int offset = 0;
+        while (offset <= capacity - RECORD_HEADER && buffer.getInt(offset) == MAGIC) {
+            final byte state = buffer.get(offset + 4);
+            final int metaLength = buffer.getInt(offset + 5);
+            final int bodyLength = buffer.getInt(offset + 9);
+            final int checksum = buffer.getInt(offset + 13);
+            if (metaLength < 0 || bodyLength < 0
+                    || (long) offset + RECORD_HEADER + metaLength + bodyLength > capacity - 4) {
+                break;
+            }
+            final byte[] meta = read(offset + RECORD_HEADER, metaLength);
+            final CRC32 crc = new CRC32();
+            crc.update(meta);
+            final ByteBuffer body = buffer.duplicate();
+            body.position(offset + RECORD_HEADER + metaLength).limit(offset + RECORD_HEADER + metaLength + bodyLength);
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            if (state == LIVE) {
+                final MappedEntry entry;
+                try {
+                    entry = decode(meta, bodyLength);
+                } catch (IOException e) {
+                    break;
+                }
+                entry.offset = offset;
+                if (entry.expired() && entry.validationHeaders.length == 0) {
+                    buffer.put(offset + 4, REMOVED);
+                } else {
+                    final MappedEntry previous = entries.put(new Key(entry.key, entry.type), entry);
+                    if (previous != null) {
+                        liveBytes -= previous.recordSize();
+                        buffer.put(previous.offset + 4, REMOVED);
+                    }
+                    variants.computeIfAbsent(entry.key, k -> new LinkedHashMap<>()).put(entry.type, entry);
+                    liveBytes += entry.recordSize();
+                }
+            }
+            offset += RECORD_HEADER + metaLength + bodyLength;
+        }
+        position = offset;
+        if (position <= capacity - 4) {
+            buffer.putInt(position, 0);
+        }
+    }
+
+    private byte[] read(final int offset, final int length) {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer src = buffer.duplicate();
+        src.position(offset);
+        src.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] encode(final String key, final String type, final long expiresAt, final String etag,
+            final String lastModified, final MultivaluedMap<String, String> headers) throws UTFDataFormatException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(key);
+            out.writeUTF(type);
+            out.writeLong(expiresAt);
+            writeNullable(out, etag);
+            writeNullable(out, lastModified);
+            out.writeInt(headers.size());
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeInt(header.getValue().size());
+                for (String value : header.getValue()) {
+                    writeNullable(out, value);
+                }
+            }
+        } catch (UTFDataFormatException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private MappedEntry decode(final byte[] meta, final int bodyLength) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(meta))) {
+            final String key = in.readUTF();
+            final String type = in.readUTF();
+            final long expiresAt = in.readLong();
+            final String etag = readNullable(in);
+            final String lastModified = readNullable(in);
+            final MultivaluedMap<String, String> headers = new MultivaluedMapImpl<>();
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final String name = in.readUTF();
+                final int values = in.readInt();
+                final List<String> list = new ArrayList<>(values);
+                for (int j = 0; j < values; j++) {
+                    list.add(readNullable(in));
+                }
+                headers.put(name, list);
+            }
+            return new MappedEntry(key, type, headers, expiresAt, etag, lastModified, meta.length, bodyLength);
+        }
+    }
+
+    private static void writeNullable(final DataOutputStream out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static final class Key {
+        private final String uri;
+        private final String mediaType;
+        private final int hash;
+
+        private Key(final String uri, final String mediaType) {
+            this.uri = uri;
+            this.mediaType = mediaType;
+            this.hash = 31 * uri.hashCode() + mediaType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return uri.equals(other.uri) && mediaType.equals(other.mediaType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final class MappedEntry implements Entry {
+        private final String key;
+        private final String type;
+        private final MultivaluedMap<String, String> headers;
+        private final long expiresAt;
+        private final Header[] validationHeaders;
+        private final int metaLength;
+        private final int bodyLength;
+        // guarded by the lock of the cache
+        private int offset;
+        private byte[] detached;
+
+        private MappedEntry(final String key, final String type, final MultivaluedMap<String, String> headers,
+                final long expiresAt, final String etag, final String lastModified, final int metaLength,
+                final int bodyLength) {
+            this.key = key;
+            this.type = type;
+            this.headers = headers;
+            this.expiresAt = expiresAt;
+            this.metaLength = metaLength;
+            this.bodyLength = bodyLength;
+            if (etag != null && lastModified != null) {
+                validationHeaders = new Header[] { new Header("If-Modified-Since", lastModified),
+                        new Header("If-None-Match", etag) };
+            } else if (etag != null) {
+                validationHeaders = new Header[] { new Header("If-None-Match", etag) };
+            } else if (lastModified != null) {
+                validationHeaders = new Header[] { new Header("If-Modified-Since", lastModified) };
+            } else {
+                validationHeaders = new Header[0];
+            }
+        }
+
+        private int bodyOffset() {
+            return offset + RECORD_HEADER + metaLength;
+        }
+
+        private int recordSize() {
+            return RECORD_HEADER + metaLength + bodyLength;
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean expired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+        @Override
+        public Header[] getValidationHeaders() {
+            return validationHeaders;
+        }
+
+        @Override
+        public byte[] getCached() {
+            lock.lock();
+            try {
+                return detached != null ? detached.clone() : read(bodyOffset(), bodyLength);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public MediaType getMediaType() {
+            return MediaType.valueOf(type);
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.InvocationCallback;
+import jakarta.ws.rs.client.ResponseProcessingException;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.internal.ClientConfiguration;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
+import org.jboss.resteasy.util.CaseInsensitiveMap;
+
+/**
+ * An {@link AsyncClientHttpEngine} backed by the JDK {@link HttpClient}.
+ * <p>
+ * A single {@link HttpClient} is shared by all requests of the engine. It keeps a pool of connections per host and
+ * multiplexes concurrent requests over a single connection when the server supports HTTP/2.
+ * </p>
+ * <p>
+ * Request entities up to {@link #setRequestBufferSize(int) the request buffer size} are sent with a
+ * {@code Content-Length}. Larger entities are streamed to the connection while they are written, without being
+ * buffered in memory. Response entities are always streamed.
+ * </p>
+ *
+ * @since 6.3
+ */
+public class JdkHttpClientEngine implements AsyncClientHttpEngine {
+    private static final int DEFAULT_REQUEST_BUFFER_SIZE = 8192;
+
+    // Headers the JDK client does not allow to be set on a request, they are managed by the client itself
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade");
+
+    private final HttpClient client;
+    private Duration readTimeout;
+    private int requestBufferSize = DEFAULT_REQUEST_BUFFER_SIZE;
+
+    public JdkHttpClientEngine() {
+        this(HttpClient.newHttpClient());
+    }
+
+    public JdkHttpClientEngine(final HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Returns the underlying client.
+     *
+     * @return the client used to send the requests
+     */
+    public HttpClient getHttpClient() {
+        return client;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Sets the time to wait for the response headers of a request. A {@code null} value waits forever.
+     *
+     * @param readTimeout the read timeout
+     */
+    public void setReadTimeout(final Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getRequestBufferSize() {
+        return requestBufferSize;
+    }
+
+    /**
+     * Sets the size of the buffer used to write request entities. Entities which fit in the buffer are sent with a
+     * {@code Content-Length}, larger entities are streamed in chunks of this size.
+     *
+     * @param requestBufferSize the buffer size in bytes
+     */
+    public void setRequestBufferSize(final int requestBufferSize) {
+        if (requestBufferSize <= 0) {
+            throw new IllegalArgumentException("requestBufferSize must be positive: " + requestBufferSize);
+        }
+        this.requestBufferSize = requestBufferSize;
+    }
+
+    @Override
+    public SSLContext getSslContext() {
+        return client.sslContext();
+    }
+
+    @Override
+    public HostnameVerifier getHostnameVerifier() {
+        // host names are always verified by the JDK client
+        return null;
+    }
+
+    @Override
+    public Response invoke(final Invocation inv) {
+        final ClientInvocation invocation = (ClientInvocation) inv;
+        try {
+            return createResponse(invocation, send(invocation).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw clientException(e, null);
+        } catch (ExecutionException e) {
+            throw clientException(e.getCause(), null);
+        } catch (Exception e) {
+            throw clientException(e, null);
+        }
+    }
+
+    @Override
+    public <T> Future<T> submit(final ClientInvocation invocation, final boolean buffered,
+            final InvocationCallback<T> callback, final ResultExtractor<T> extractor) {
+        return doSubmit(invocation, buffered, callback, extractor, invocation.asyncInvocationExecutor());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(final ClientInvocation invocation, final boolean buffered,
+            final ResultExtractor<T> extractor, final ExecutorService executorService) {
+        return doSubmit(invocation, buffered, null, extractor,
+                executorService == null ? invocation.asyncInvocationExecutor() : executorService);
+    }
+
+    @Override
+    public void close() {
+        // HttpClient implements AutoCloseable as of Java 21, before that its resources are released once unreachable
+        if (client instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) client).close();
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to close JdkHttpClientEngine", e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> doSubmit(final ClientInvocation invocation, final boolean buffered,
+            final InvocationCallback<T> callback, final ResultExtractor<T> extractor, final ExecutorService asyncExecutor) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        // the request entity is written on the executor, the JDK client reads it from there while it is sent
+        asyncExecutor.execute(() -> {
+            final CompletableFuture<HttpResponse<InputStream>> exchange;
+            try {
+                exchange = send(invocation);
+            } catch (Exception e) {
+                failed(future, callback, clientException(e, null));
+                return;
+            }
+            exchange.whenCompleteAsync((httpResponse, failure) -> {
+                if (failure != null) {
+                    failed(future, callback, clientException(unwrap(failure), null));
+                    return;
+                }
+                final ClientResponse response = createResponse(invocation, httpResponse);
+                try {
+                    if (buffered) {
+                        response.bufferEntity();
+                    }
+                    final T result = extractor == null ? (T) response : extractor.extractResult(response);
+                    future.complete(result);
+                    if (callback != null) {
+                        callback.completed(result);
+                    }
+                } catch (Exception e) {
+                    try {
+                        httpResponse.body().close();
+                    } catch (Exception e1) {
+                        e.addSuppressed(e1);
+                    }
+                    failed(future, callback, clientException(e, response));
+                }
+            }, asyncExecutor);
+        });
+        return future;
+    }
+
+    private static <T> void failed(final CompletableFuture<T> future, final InvocationCallback<T> callback,
+            final RuntimeException failure) {
+        future.completeExceptionally(failure);
+        if (callback != null) {
+            callback.failed(failure);
+        }
+    }
+
+    /**
+     * Sends the request, writing its entity on the current thread.
+     */
+    private CompletableFuture<HttpResponse<InputStream>> send(final ClientInvocation invocation) throws IOException {
+        final Function<HttpRequest.BodyPublisher, CompletableFuture<HttpResponse<InputStream>>> sender = body -> client
+                .sendAsync(createRequest(invocation, body), HttpResponse.BodyHandlers.ofInputStream());
+        if (invocation.getEntity() == null) {
+            return sender.apply(HttpRequest.BodyPublishers.noBody());
+        }
+        final RequestBody body = new RequestBody(sender, requestBufferSize);
+        try {
+            invocation.writeRequestBody(body);
+            body.close();
+        } catch (IOException | RuntimeException e) {
+            body.abort(e);
+            if (body.isAnswered()) {
+                // the server responded without reading the whole entity, e.g. with 413 or 401
+                return body.exchange;
+            }
+            throw e;
+        }
+        return body.exchange;
+    }
+
+    private HttpRequest createRequest(final ClientInvocation invocation, final HttpRequest.BodyPublisher body) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(invocation.getUri())
+                .method(invocation.getMethod(), body);
+        if (readTimeout != null) {
+            builder.timeout(readTimeout);
+        }
+        for (Map.Entry<String, List<String>> header : invocation.getHeaders().asMap().entrySet()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.build();
+    }
+
+    private static ClientResponse createResponse(final ClientInvocation invocation,
+            final HttpResponse<InputStream> httpResponse) {
+        final MultivaluedMap<String, String> headers = new CaseInsensitiveMap<>();
+        httpResponse.headers().map().forEach((name, values) -> {
+            // HTTP/2 pseudo headers are not part of the response headers
+            if (!name.startsWith(":")) {
+                headers.addAll(name, values);
+            }
+        });
+        final ClientResponse response = new JdkHttpClientResponse(invocation.getClientConfiguration(),
+                httpResponse.body());
+        response.setProperties(invocation.getMutableProperties());
+        response.setStatus(httpResponse.statusCode());
+        response.setHeaders(headers);
+        return response;
+    }
+
+    private static Throwable unwrap(final Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static RuntimeException clientException(final Throwable ex, final Response clientResponse) {
+        RuntimeException ret;
+        if (ex == null) {
+            ret = new ProcessingException(new NullPointerException());
+        } else if (ex instanceof WebApplicationException) {
+            ret = (WebApplicationException) ex;
+        } else if (ex instanceof ProcessingException) {
+            ret = (ProcessingException) ex;
+        } else if (clientResponse != null) {
+            ret = new ResponseProcessingException(clientResponse, ex);
+        } else {
+            ret = new ProcessingException(ex);
+        }
+        ret.fillInStackTrace();
+        return ret;
+    }
+
+    private static class JdkHttpClientResponse extends ClientResponse {
+
+        JdkHttpClientResponse(final ClientConfiguration configuration, final InputStream stream) {
+            super(configuration, RESTEasyTracingLogger.empty());
+            setInputStream(stream);
+        }
+
+        @Override
+        protected void setInputStream(final InputStream is) {
+            this.is = is;
+            resetEntity();
+        }
+    }
+
+    /**
+     * The output stream a request entity is written to. The entity is buffered until it exceeds the buffer, from then
+     * on the request is sent and the entity is handed to the client through a {@link BodyPipe}.
+     */
+    private static class RequestBody extends OutputStream {
+        private final Function<HttpRequest.BodyPublisher, CompletableFuture<HttpResponse<InputStream>>> sender;
+        private final int bufferSize;
+        private byte[] buffer;
+        private int count;
+        private BodyPipe pipe;
+        private CompletableFuture<HttpResponse<InputStream>> exchange;
+
+        RequestBody(final Function<HttpRequest.BodyPublisher, CompletableFuture<HttpResponse<InputStream>>> sender,
+                final int bufferSize) {
+            this.sender = sender;
+            this.bufferSize = bufferSize;
+            this.buffer = new byte[Math.min(bufferSize, 512)];
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, int off, int len) throws IOException {
+            if (exchange != null && pipe == null) {
+                throw new IOException("The request entity has already been written");
+            }
+            while (len > 0) {
+                if (count == buffer.length) {
+                    if (buffer.length < bufferSize) {
+                        buffer = Arrays.copyOf(buffer, Math.min(buffer.length << 1, bufferSize));
+                    } else {
+                        drain();
+                    }
+                }
+                final int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void drain() throws IOException {
+            if (pipe == null) {
+                pipe = new BodyPipe();
+                exchange = sender.apply(HttpRequest.BodyPublishers.ofInputStream(() -> pipe));
+                exchange.whenComplete((response, failure) -> pipe.abandon(failure));
+            }
+            pipe.write(buffer);
+            buffer = new byte[bufferSize];
+            count = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (pipe != null) {
+                if (count > 0) {
+                    pipe.write(Arrays.copyOf(buffer, count));
+                    count = 0;
+                }
+                pipe.finish();
+            } else if (exchange == null) {
+                exchange = sender.apply(HttpRequest.BodyPublishers.ofByteArray(buffer, 0, count));
+            }
+        }
+
+        void abort(final Throwable cause) {
+            if (pipe != null) {
+                pipe.fail(cause);
+            }
+        }
+
+        boolean isAnswered() {
+            return exchange != null && exchange.isDone() && !exchange.isCompletedExceptionally();
+        }
+    }
+
+    /**
+     * A bounded hand-off of entity chunks between the thread writing the entity and the client reading it.
+     */
+    private static class BodyPipe extends InputStream {
+        private static final int CAPACITY = 4;
+
+        private final ArrayDeque<byte[]> chunks = new ArrayDeque<>(CAPACITY);
+        private byte[] current;
+        private int position;
+        private boolean finished;
+        private IOException failure;
+
+        synchronized void write(final byte[] chunk) throws IOException {
+            try {
+                while (chunks.size() >= CAPACITY && failure == null) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            chunks.add(chunk);
+            notifyAll();
+        }
+
+        synchronized void finish() {
+            finished = true;
+            notifyAll();
+        }
+
+        /**
+         * Called once the exchange completed. Nobody reads the remaining chunks anymore, so a writer that has not
+         * finished yet must not wait for them to be read.
+         */
+        synchronized void abandon(final Throwable cause) {
+            if (!finished) {
+                fail(cause != null ? cause
+                        : new IOException("The response was received before the request entity was sent"));
+            }
+        }
+
+        synchronized void fail(final Throwable cause) {
+            if (failure == null) {
+                failure = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+            chunks.clear();
+            notifyAll();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            try {
+                while (current == null) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    current = chunks.poll();
+                    if (current != null) {
+                        position = 0;
+                        notifyAll();
+                    } else if (finished) {
+                        return -1;
+                    } else {
+                        wait();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            final int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            if (position == current.length) {
+                current = null;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (finished && chunks.isEmpty() && current == null) {
+                    return;
+                }
+            }
+            fail(new IOException("The request entity is no longer read"));
+        }
+    }
+}
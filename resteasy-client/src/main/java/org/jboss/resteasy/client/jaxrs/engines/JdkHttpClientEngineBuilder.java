@@ -0,0 +1,128 @@
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import java.net.CookieManager;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SNIHostName;
+import javax.net.ssl.SNIServerName;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManager;
+
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
+import org.apache.http.ssl.SSLContexts;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngineBuilder;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+
+/**
+ * Builds a {@link JdkHttpClientEngine} from the settings of a {@link ResteasyClientBuilder}:
+ *
+ * <pre>
+ * ResteasyClientBuilder builder = (ResteasyClientBuilder) ClientBuilder.newBuilder();
+ * Client client = builder.httpEngine(new JdkHttpClientEngineBuilder().resteasyClientBuilder(builder).build()).build();
+ * </pre>
+ * <p>
+ * The JDK client manages its connection pool itself, so the connection pool settings of the builder are not used. The
+ * {@link ResteasyClientBuilder#getHostnameVerifier() hostname verifier} and
+ * {@link ResteasyClientBuilder#getHostnameVerification() hostname verification policy} are not supported either, the
+ * JDK client always verifies host names unless the {@code jdk.internal.httpclient.disableHostnameVerification} system
+ * property is set.
+ * </p>
+ *
+ * @since 6.3
+ */
+public class JdkHttpClientEngineBuilder implements ClientHttpEngineBuilder {
+
+    private ResteasyClientBuilder that;
+    private HttpClient.Version version = HttpClient.Version.HTTP_2;
+
+    @Override
+    public JdkHttpClientEngineBuilder resteasyClientBuilder(final ResteasyClientBuilder resteasyClientBuilder) {
+        that = resteasyClientBuilder;
+        return this;
+    }
+
+    /**
+     * Sets the preferred HTTP version. The default is HTTP/2, falling back to HTTP/1.1 when the server does not
+     * support it.
+     *
+     * @param version the preferred version
+     *
+     * @return this builder
+     */
+    public JdkHttpClientEngineBuilder version(final HttpClient.Version version) {
+        this.version = version;
+        return this;
+    }
+
+    @Override
+    public ClientHttpEngine build() {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(that.isFollowRedirects() ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER);
+        if (that.getConnectionTimeout(TimeUnit.MILLISECONDS) > 0) {
+            builder.connectTimeout(Duration.ofMillis(that.getConnectionTimeout(TimeUnit.MILLISECONDS)));
+        }
+        if (that.getDefaultProxyHostname() != null) {
+            builder.proxy(ProxySelector.of(
+                    new InetSocketAddress(that.getDefaultProxyHostname(), that.getDefaultProxyPort())));
+        }
+        if (that.isCookieManagementEnabled()) {
+            builder.cookieHandler(new CookieManager());
+        }
+        try {
+            final SSLContext sslContext = createSslContext();
+            if (sslContext != null) {
+                builder.sslContext(sslContext);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        final List<String> sniHostNames = that.getSniHostNames();
+        if (!sniHostNames.isEmpty()) {
+            final List<SNIServerName> sniNames = new ArrayList<>(sniHostNames.size());
+            for (String sniHostName : sniHostNames) {
+                sniNames.add(new SNIHostName(sniHostName));
+            }
+            final SSLParameters sslParameters = new SSLParameters();
+            sslParameters.setServerNames(sniNames);
+            builder.sslParameters(sslParameters);
+        }
+
+        final JdkHttpClientEngine engine = new JdkHttpClientEngine(builder.build());
+        if (that.getReadTimeout(TimeUnit.MILLISECONDS) > 0) {
+            engine.setReadTimeout(Duration.ofMillis(that.getReadTimeout(TimeUnit.MILLISECONDS)));
+        }
+        return engine;
+    }
+
+    private SSLContext createSslContext() throws Exception {
+        if (that.isTrustManagerDisabled()) {
+            final SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[] { new PassthroughTrustManager() }, new SecureRandom());
+            return context;
+        }
+        if (that.getSSLContext() != null) {
+            return that.getSSLContext();
+        }
+        if (that.getKeyStore() != null || that.getTrustStore() != null) {
+            return SSLContexts.custom()
+                    .setProtocol(SSLConnectionSocketFactory.TLS)
+                    .loadKeyMaterial(that.getKeyStore(),
+                            that.getKeyStorePassword() != null ? that.getKeyStorePassword().toCharArray() : null)
+                    .loadTrustMaterial(that.getTrustStore(),
+                            that.isTrustSelfSignedCertificates() ? TrustSelfSignedStrategy.INSTANCE : null)
+                    .build();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package org.jboss.resteasy.client.jaxrs.cache;
+
+import jakarta.ws.rs.core.MediaType;
+
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedBrowserCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        final BoundedBrowserCache cache = new BoundedBrowserCache(30);
+        put(cache, "/a", MediaType.TEXT_PLAIN_TYPE, 10, 60);
+        put(cache, "/b", MediaType.TEXT_PLAIN_TYPE, 10, 60);
+        put(cache, "/c", MediaType.TEXT_PLAIN_TYPE, 10, 60);
+        Assert.assertNotNull(cache.get("/a", MediaType.TEXT_PLAIN_TYPE));
+
+        put(cache, "/d", MediaType.TEXT_PLAIN_TYPE, 10, 60);
+        Assert.assertNull(cache.get("/b", MediaType.TEXT_PLAIN_TYPE));
+        Assert.assertNotNull(cache.get("/a", MediaType.TEXT_PLAIN_TYPE));
+        Assert.assertNotNull(cache.get("/c", MediaType.TEXT_PLAIN_TYPE));
+        Assert.assertNotNull(cache.get("/d", MediaType.TEXT_PLAIN_TYPE));
+        Assert.assertEquals(30, cache.getByteCount());
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(4, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        put(cache, "/big", MediaType.TEXT_PLAIN_TYPE, 31, 60);
+        Assert.assertEquals(3, cache.size());
+        Assert.assertNull(cache.getAny("/big"));
+    }
+
+    @Test
+    public void testReplaceAndVariants() {
+        final BoundedBrowserCache cache = new BoundedBrowserCache(100);
+        put(cache, "/a", MediaType.TEXT_PLAIN_TYPE, 10, 60);
+        put(cache, "/a", MediaType.APPLICATION_JSON_TYPE, 20, 60);
+        put(cache, "/a", MediaType.TEXT_PLAIN_TYPE, 5, 60);
+        Assert.assertEquals(25, cache.getByteCount());
+        Assert.assertEquals(5, cache.get("/a", MediaType.valueOf("text/*")).getCached().length);
+        Assert.assertEquals(20, cache.get("/a", MediaType.APPLICATION_JSON_TYPE).getCached().length);
+        Assert.assertNotNull(cache.get("/a", MediaType.WILDCARD_TYPE));
+
+        Assert.assertNotNull(cache.remove("/a", MediaType.APPLICATION_JSON_TYPE));
+        Assert.assertEquals(5, cache.getByteCount());
+        cache.clear();
+        Assert.assertEquals(0, cache.getByteCount());
+        Assert.assertNull(cache.getAny("/a"));
+    }
+
+    @Test
+    public void testExpiredEntries() {
+        final BoundedBrowserCache cache = new BoundedBrowserCache(100);
+        // expired and can not be revalidated
+        put(cache, "/a", MediaType.TEXT_PLAIN_TYPE, 10, -1);
+        Assert.assertEquals(0, cache.size());
+
+        // expired but can be revalidated with its ETag
+        cache.put("/b", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), new byte[10], 0, "\"1\"", null);
+        final BrowserCache.Entry entry = cache.get("/b", MediaType.TEXT_PLAIN_TYPE);
+        Assert.assertNotNull(entry);
+        Assert.assertTrue(entry.expired());
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testOffHeap() {
+        final BoundedBrowserCache cache = new BoundedBrowserCache(100, true);
+        final byte[] body = "hello".getBytes();
+        cache.put("/a", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), body, 60, null, null);
+        body[0] = 'j';
+        final BrowserCache.Entry entry = cache.get("/a", MediaType.TEXT_PLAIN_TYPE);
+        Assert.assertEquals("hello", new String(entry.getCached()));
+        Assert.assertEquals(MediaType.TEXT_PLAIN_TYPE, entry.getMediaType());
+        Assert.assertEquals(5, cache.getByteCount());
+    }
+
+    private static void put(final BrowserCache cache, final String key, final MediaType mediaType, final int size,
+            final int expires) {
+        cache.put(key, mediaType, new MultivaluedMapImpl<>(), new byte[size], expires, null, null);
+    }
+}
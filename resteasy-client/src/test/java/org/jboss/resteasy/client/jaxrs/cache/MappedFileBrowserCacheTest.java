@@ -0,0 +1,119 @@
+package org.jboss.resteasy.client.jaxrs.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedFileBrowserCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEntriesSurviveRestart() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("cache.dat");
+        try (MappedFileBrowserCache cache = new MappedFileBrowserCache(file, 64 * 1024)) {
+            final MultivaluedMap<String, String> headers = new MultivaluedMapImpl<>();
+            headers.add("Content-Type", "text/plain");
+            headers.add("X-Multi", "1");
+            headers.add("X-Multi", "2");
+            cache.put("/a", MediaType.TEXT_PLAIN_TYPE, headers, bytes("fresh"), 60, null, null);
+            cache.put("/b", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), bytes("stale"), 0, "\"1\"", null);
+            cache.put("/c", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), bytes("removed"), 60, null, null);
+            cache.put("/a", MediaType.APPLICATION_JSON_TYPE, new MultivaluedMapImpl<>(), bytes("{}"), 60, null, null);
+            cache.remove("/c", MediaType.TEXT_PLAIN_TYPE);
+        }
+        try (MappedFileBrowserCache cache = new MappedFileBrowserCache(file, 64 * 1024)) {
+            Assert.assertEquals(3, cache.size());
+            final BrowserCache.Entry a = cache.get("/a", MediaType.TEXT_PLAIN_TYPE);
+            Assert.assertEquals("fresh", new String(a.getCached(), StandardCharsets.UTF_8));
+            Assert.assertFalse(a.expired());
+            Assert.assertEquals(2, a.getHeaders().get("X-Multi").size());
+            Assert.assertEquals("{}", new String(cache.get("/a", MediaType.valueOf("application/*")).getCached(),
+                    StandardCharsets.UTF_8));
+
+            final BrowserCache.Entry b = cache.getAny("/b");
+            Assert.assertTrue(b.expired());
+            Assert.assertEquals("If-None-Match", b.getValidationHeaders()[0].getName());
+            Assert.assertEquals("\"1\"", b.getValidationHeaders()[0].getValue());
+
+            Assert.assertNull(cache.getAny("/c"));
+
+            // the interceptor removes the entry before revalidating it, its body must still be readable
+            cache.remove("/b", MediaType.TEXT_PLAIN_TYPE);
+            cache.put("/d", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), new byte[1000], 60, null, null);
+            Assert.assertEquals("stale", new String(b.getCached(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testFileIsLockedWhileOpen() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("cache.dat");
+        final BrowserCache.Entry entry;
+        try (MappedFileBrowserCache cache = new MappedFileBrowserCache(file, 16 * 1024)) {
+            try {
+                new MappedFileBrowserCache(file, 16 * 1024).close();
+                Assert.fail("A second cache must not open a locked file");
+            } catch (IOException expected) {
+            }
+            cache.put("/a", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), bytes("a"), 60, null, null);
+            entry = cache.getAny("/a");
+        }
+        // the entries handed out stay readable once the file is unmapped
+        Assert.assertEquals("a", new String(entry.getCached(), StandardCharsets.UTF_8));
+        // the lock is released on close
+        Files.delete(file);
+        try (MappedFileBrowserCache cache = new MappedFileBrowserCache(file, 16 * 1024)) {
+            Assert.assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void testDiskUsageIsBounded() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("cache.dat");
+        try (MappedFileBrowserCache cache = new MappedFileBrowserCache(file, 16 * 1024)) {
+            for (int i = 0; i < 100; i++) {
+                final byte[] body = new byte[1000];
+                body[0] = (byte) i;
+                cache.put("/" + i, MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), body, 60, null, null);
+                // keep the first entry in use so it is not evicted
+                Assert.assertNotNull(cache.getAny("/0"));
+            }
+            Assert.assertTrue(cache.getByteCount() <= 16 * 1024);
+            Assert.assertEquals(0, cache.getAny("/0").getCached()[0]);
+            Assert.assertEquals(99, cache.getAny("/99").getCached()[0]);
+            Assert.assertNull(cache.getAny("/50"));
+        }
+        Assert.assertEquals(16 * 1024, file.toFile().length());
+        try (MappedFileBrowserCache cache = new MappedFileBrowserCache(file, 16 * 1024)) {
+            Assert.assertEquals(0, cache.getAny("/0").getCached()[0]);
+            Assert.assertEquals(99, cache.getAny("/99").getCached()[0]);
+        }
+    }
+
+    @Test
+    public void testExpiredEntriesAreNotStored() throws Exception {
+        try (MappedFileBrowserCache cache = new MappedFileBrowserCache(folder.newFile().toPath(), 1024)) {
+            final BrowserCache.Entry entry = cache.put("/a", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(),
+                    bytes("a"), -1, null, null);
+            Assert.assertEquals("a", new String(entry.getCached(), StandardCharsets.UTF_8));
+            Assert.assertEquals(0, cache.size());
+            cache.put("/b", MediaType.TEXT_PLAIN_TYPE, new MultivaluedMapImpl<>(), new byte[2000], 60, null, null);
+            Assert.assertEquals(0, cache.size());
+        }
+    }
+
+    private static byte[] bytes(final String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,156 @@
+package org.jboss.resteasy.client.jaxrs.engines;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class JdkHttpClientEngineTest {
+
+    private HttpServer server;
+    private ResteasyClient client;
+    private String baseUri;
+
+    @Before
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", JdkHttpClientEngineTest::echo);
+        server.createContext("/reject", exchange -> {
+            // responds without reading the request entity
+            exchange.sendResponseHeaders(413, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUri = "http://localhost:" + server.getAddress().getPort();
+        final ResteasyClientBuilder builder = new ResteasyClientBuilderImpl();
+        builder.readTimeout(10, TimeUnit.SECONDS);
+        client = builder.httpEngine(new JdkHttpClientEngineBuilder().resteasyClientBuilder(builder).build()).build();
+    }
+
+    @After
+    public void stop() {
+        client.close();
+        server.stop(0);
+    }
+
+    private static void echo(final HttpExchange exchange) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(body);
+        }
+        final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        exchange.getResponseHeaders().add("Content-Type", contentType == null ? MediaType.TEXT_PLAIN : contentType);
+        exchange.getResponseHeaders().add("X-Method", exchange.getRequestMethod());
+        exchange.getResponseHeaders().add("X-Test", String.valueOf(exchange.getRequestHeaders().getFirst("X-Test")));
+        final String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null) {
+            exchange.getResponseHeaders().add("X-Content-Length", length);
+        }
+        final byte[] bytes = body.size() == 0 ? "empty".getBytes(StandardCharsets.UTF_8) : body.toByteArray();
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    public void testGet() {
+        try (Response response = client.target(baseUri + "/echo").request().header("X-Test", "value").get()) {
+            assertEquals(200, response.getStatus());
+            assertEquals("GET", response.getHeaderString("X-Method"));
+            assertEquals("value", response.getHeaderString("x-test"));
+            assertEquals("empty", response.readEntity(String.class));
+        }
+    }
+
+    @Test
+    public void testPostWithContentLength() {
+        try (Response response = client.target(baseUri + "/echo").request()
+                .post(Entity.entity("hello", MediaType.TEXT_PLAIN))) {
+            assertEquals(200, response.getStatus());
+            assertEquals("5", response.getHeaderString("X-Content-Length"));
+            assertEquals("hello", response.readEntity(String.class));
+        }
+    }
+
+    @Test
+    public void testPostStreamed() {
+        final byte[] entity = new byte[1024 * 1024];
+        Arrays.fill(entity, (byte) 'a');
+        try (Response response = client.target(baseUri + "/echo").request()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM))) {
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeaderString("X-Content-Length"));
+            assertEquals(new String(entity, StandardCharsets.US_ASCII), response.readEntity(String.class));
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testEarlyResponse() {
+        final byte[] entity = new byte[16 * 1024 * 1024];
+        try (Response response = client.target(baseUri + "/reject").request()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM))) {
+            assertEquals(413, response.getStatus());
+        } catch (ProcessingException e) {
+            // the connection may be reset before the response is read, but the entity must not wait for a reader
+        }
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        final String result = client.target(baseUri + "/echo").request().async()
+                .put(Entity.entity("async", MediaType.TEXT_PLAIN), String.class)
+                .get(10, TimeUnit.SECONDS);
+        assertEquals("async", result);
+        final String rx = client.target(baseUri + "/echo").request().rx()
+                .post(Entity.entity("rx", MediaType.TEXT_PLAIN), String.class)
+                .toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals("rx", rx);
+    }
+
+    @Test
+    public void testSubmitOnExecutorService() throws Exception {
+        final AtomicInteger executed = new AtomicInteger();
+        final ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(() -> {
+            executed.incrementAndGet();
+            task.run();
+        }));
+        try {
+            final ClientInvocation invocation = (ClientInvocation) client.target(baseUri + "/echo").request()
+                    .build("POST", Entity.entity("executor", MediaType.TEXT_PLAIN));
+            final String result = ((AsyncClientHttpEngine) client.httpEngine())
+                    .submit(invocation, true, response -> response.readEntity(String.class), executor)
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals("executor", result);
+            assertEquals(1, executed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -19,6 +19,10 @@
 
 package org.jboss.resteasy.concurrent;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -55,6 +59,11 @@ public class ContextualExecutors {
 
     private static final Map<String, Boolean> JNDI_LOOKUPS = new ConcurrentHashMap<>();
 
+    // The contexts loaded from services for each context class loader, this avoids a service lookup for each task.
+    // The keys are weak and the values soft so that the cache does not keep a deployment's class loader reachable.
+    private static final Map<LoaderKey, Reference<ThreadContexts>> DEFAULT_THREAD_CONTEXTS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<ClassLoader> COLLECTED_LOADERS = new ReferenceQueue<>();
+
     /**
      * An executor which executes tasks in the current thread
      *
@@ -88,6 +97,24 @@ public class ContextualExecutors {
         return wrap(delegate, true);
     }
 
+    /**
+     * Creates a new {@link ContextualExecutorService} which executes each task on a new virtual thread. The returned
+     * executor is not managed and should be shutdown when it is no longer needed.
+     * <p>
+     * Virtual threads are cheap to create and block, so this executor is suited for running blocking tasks, like
+     * requests to blocking resource methods, without the need to size a thread pool.
+     * </p>
+     *
+     * @return a new contextual executor or {@code null} if the JVM does not support virtual threads
+     *
+     * @see VirtualThreads
+     * @since 6.3
+     */
+    public static ContextualExecutorService virtualThreadPerTask() {
+        final ExecutorService delegate = VirtualThreads.newThreadPerTaskExecutor();
+        return delegate == null ? null : wrap(delegate, false);
+    }
+
     /**
      * Creates a new {@link ContextualScheduledExecutorService} or wraps the default {@code ManagedScheduledExecutorService}
      * in a Jakarta EE environment.
@@ -321,9 +348,9 @@ public class ContextualExecutors {
         // Load any registered providers
         ThreadContexts threadContexts = ResteasyProviderFactory.getInstance()
                 .getContextData(ThreadContexts.class);
-        // Create a new ThreadContexts which will load at least the ones from services
+        // Use the ThreadContexts which are loaded from services
         if (threadContexts == null) {
-            threadContexts = new ThreadContexts();
+            threadContexts = getDefaultThreadContexts();
         }
         for (ThreadContext<Object> context : threadContexts.getThreadContexts()) {
             contexts.put(context, context.capture());
@@ -331,6 +358,25 @@ public class ContextualExecutors {
         return contexts;
     }
 
+    private static ThreadContexts getDefaultThreadContexts() {
+        final ClassLoader tccl = SecurityActions.getTccl();
+        // services are loaded from the system class loader if there is no context class loader
+        final ClassLoader cl = tccl == null ? ClassLoader.getSystemClassLoader() : tccl;
+        final Reference<ThreadContexts> ref = DEFAULT_THREAD_CONTEXTS.get(new LoaderKey(cl, null));
+        ThreadContexts threadContexts = ref == null ? null : ref.get();
+        if (threadContexts == null) {
+            Reference<? extends ClassLoader> collected;
+            while ((collected = COLLECTED_LOADERS.poll()) != null) {
+                // a cleared key is only equal to itself
+                DEFAULT_THREAD_CONTEXTS.remove(collected);
+            }
+            // concurrent lookups may load the contexts more than once, only one of them is kept
+            threadContexts = new ThreadContexts();
+            DEFAULT_THREAD_CONTEXTS.put(new LoaderKey(cl, COLLECTED_LOADERS), new SoftReference<>(threadContexts));
+        }
+        return threadContexts;
+    }
+
     private static void reset(final Map<ThreadContext<Object>, Object> contexts) {
         Throwable error = null;
         for (Map.Entry<ThreadContext<Object>, Object> context : contexts.entrySet()) {
@@ -375,4 +421,27 @@ public class ContextualExecutors {
         return null;
     }
 
+    private static final class LoaderKey extends WeakReference<ClassLoader> {
+        private final int hash;
+
+        private LoaderKey(final ClassLoader loader, final ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            hash = System.identityHashCode(loader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this)
+                return true;
+            if (!(obj instanceof LoaderKey))
+                return false;
+            final ClassLoader loader = get();
+            return loader != null && loader == ((LoaderKey) obj).get();
+        }
+    }
 }
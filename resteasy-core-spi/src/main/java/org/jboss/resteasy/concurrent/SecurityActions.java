@@ -59,6 +59,14 @@ class SecurityActions {
         }
     }
 
+    static ClassLoader getTccl() {
+        if (System.getSecurityManager() == null) {
+            return Thread.currentThread().getContextClassLoader();
+        }
+        return AccessController
+                .doPrivileged((PrivilegedAction<ClassLoader>) () -> Thread.currentThread().getContextClassLoader());
+    }
+
     private static String getSystemProperty(final String name) {
         if (System.getSecurityManager() == null) {
             return System.getProperty(name);
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the virtual threads of the JVM. RESTEasy is compiled for Java 11, so the virtual thread API is looked up
+ * once when this class is initialized. On a JVM without virtual threads {@link #isSupported()} returns {@code false},
+ * {@link #isVirtual(Thread)} always returns {@code false} and {@link #newThreadPerTaskExecutor()} returns
+ * {@code null}.
+ *
+ * @since 6.3
+ */
+public final class VirtualThreads {
+    private static final MethodHandle NEW_EXECUTOR;
+    private static final MethodHandle IS_VIRTUAL;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle newExecutor;
+        MethodHandle isVirtual;
+        try {
+            newExecutor = lookup.findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            newExecutor = null;
+            isVirtual = null;
+        }
+        NEW_EXECUTOR = newExecutor;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Indicates whether the JVM supports virtual threads.
+     *
+     * @return {@code true} if virtual threads can be created
+     */
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Checks whether the thread is a virtual thread.
+     *
+     * @param thread the thread to check
+     *
+     * @return {@code true} if the thread is a virtual thread
+     */
+    public static boolean isVirtual(final Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task. The caller is responsible for shutting the
+     * executor down.
+     *
+     * @return a new executor or {@code null} if virtual threads are not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor() {
+        if (NEW_EXECUTOR == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
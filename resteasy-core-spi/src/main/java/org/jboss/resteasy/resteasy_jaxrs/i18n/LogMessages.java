@@ -327,6 +327,10 @@ public interface LogMessages extends BasicLogger {
     @Message(id = BASE + 370, value = "Failed to load: %s")
     void failedToLoad(@Cause Throwable cause, String resourceName);
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = BASE + 376, value = "Virtual threads are not supported by this JVM, %s will use its default executor.")
+    void virtualThreadsNotSupported(String server);
+
     @LogMessage(level = Level.ERROR)
     @Message(id = BASE + 375, value = "Error processing unknown request.")
     void defaultExceptionMapper(@Cause Throwable cause);
@@ -1,6 +1,9 @@
 package org.jboss.resteasy.spi;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -34,4 +37,90 @@ public abstract class AsyncOutputStream extends OutputStream {
      * @return a {@link CompletionStage} notified on completion of the write operation.
      */
     public abstract CompletionStage<Void> asyncWrite(byte[] bytes, int offset, int length);
+
+    /**
+     * Writes the remaining bytes of the buffer to this async output stream. The position of the buffer is advanced to
+     * its limit, but like the array of {@link #asyncWrite(byte[], int, int)} the bytes must not be modified until the
+     * returned {@link CompletionStage} is completed: implementations may hand a direct or pooled buffer to the
+     * connection without copying it.
+     * <p>
+     * The default implementation writes the array backing the buffer, or a copy of the bytes if there is none.
+     * </p>
+     *
+     * @param buffer the bytes to write
+     * @return a {@link CompletionStage} notified on completion of the write operation.
+     */
+    public CompletionStage<Void> asyncWrite(ByteBuffer buffer) {
+        final int length = buffer.remaining();
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.limit());
+            return asyncWrite(buffer.array(), offset, length);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return asyncWrite(bytes, 0, length);
+    }
+
+    /**
+     * Writes the remaining bytes of the buffers, in order, to this async output stream, see
+     * {@link #asyncWrite(ByteBuffer)}. Implementations may gather the buffers into a single write to the connection.
+     * <p>
+     * The default implementation writes the buffers one after the other.
+     * </p>
+     *
+     * @param buffers the bytes to write
+     * @return a {@link CompletionStage} notified on completion of the write operation.
+     */
+    public CompletionStage<Void> asyncWrite(ByteBuffer[] buffers) {
+        CompletionStage<Void> ret = CompletableFuture.completedFuture(null);
+        for (ByteBuffer buffer : buffers) {
+            ret = ret.thenCompose(v -> asyncWrite(buffer));
+        }
+        return ret;
+    }
+
+    /**
+     * Whether the calling thread may wait for the {@link CompletionStage} returned by a write of this stream. The writes
+     * of a container usually complete on its I/O threads, so a thread which has to return to the container before the
+     * write can make progress must not wait, otherwise it never completes. Streams which cannot tell return
+     * {@code false}, which is the default.
+     *
+     * @return {@code true} if the current thread may block until a write completes
+     */
+    public boolean isBlockingAllowed() {
+        return false;
+    }
+
+    /**
+     * Whether this stream can write a region of a file without copying it through the heap, see
+     * {@link #asyncTransferFrom(FileChannel, long, long)}. Streams which transform the bytes written to them, or whose
+     * container cannot hand a file to the connection, return {@code false}, which is the default.
+     *
+     * @return {@code true} if {@link #asyncTransferFrom(FileChannel, long, long)} is supported
+     */
+    public boolean isFileTransferSupported() {
+        return false;
+    }
+
+    /**
+     * Writes a region of a file to this async output stream, letting the container transfer the bytes to the
+     * connection directly, for example with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+     * Anything written before is sent first. The position of the channel is not changed and the channel is not
+     * closed: it has to stay open until the returned {@link CompletionStage} is completed.
+     * <p>
+     * Only call this method if {@link #isFileTransferSupported()} returns {@code true}, the default implementation
+     * fails with an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @param channel  the file to write
+     * @param position the position in the file of the first byte to write
+     * @param count    the number of bytes to write
+     * @return a {@link CompletionStage} notified on completion of the write operation.
+     */
+    public CompletionStage<Void> asyncTransferFrom(FileChannel channel, long position, long count) {
+        CompletableFuture<Void> ret = new CompletableFuture<>();
+        ret.completeExceptionally(new UnsupportedOperationException());
+        return ret;
+    }
 }
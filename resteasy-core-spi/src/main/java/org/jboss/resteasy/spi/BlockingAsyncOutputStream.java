@@ -37,6 +37,14 @@ public class BlockingAsyncOutputStream extends AsyncOutputStream {
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * The writes are performed before they return, so there is nothing to wait for.
+     */
+    @Override
+    public boolean isBlockingAllowed() {
+        return true;
+    }
+
     public void write(int b) throws IOException {
         outputStream.write(b);
     }
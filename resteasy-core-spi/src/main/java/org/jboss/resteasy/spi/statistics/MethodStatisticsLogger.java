@@ -50,4 +50,24 @@ public interface MethodStatisticsLogger {
     default long getTotalExecutionTime() {
         return -1;
     }
+
+    /**
+     * Longest recorded execution time in nanoseconds
+     *
+     * @return the longest execution time or -1 if not recorded
+     */
+    default long getMaxExecutionTime() {
+        return -1;
+    }
+
+    /**
+     * Approximation of a percentile of the recorded execution times in nanoseconds. The value is taken from a
+     * log-bucketed histogram and is accurate to within 12.5%.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the execution time below which the given percentage of invocations completed or -1 if not recorded
+     */
+    default long getExecutionTimePercentile(final double percentile) {
+        return -1;
+    }
 }
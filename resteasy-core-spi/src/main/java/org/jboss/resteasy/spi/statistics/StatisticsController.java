@@ -8,4 +8,13 @@ public interface StatisticsController {
     void setEnabled(boolean b);
 
     void reset();
+
+    /**
+     * Whether statistics are currently collected
+     *
+     * @return {@code true} if the resource invokers record statistics
+     */
+    default boolean isEnabled() {
+        return false;
+    }
 }
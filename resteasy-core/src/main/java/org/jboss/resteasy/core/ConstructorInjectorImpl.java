@@ -1,6 +1,7 @@
 package org.jboss.resteasy.core;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Parameter;
@@ -35,19 +36,30 @@ public class ConstructorInjectorImpl implements ConstructorInjector {
     @SuppressWarnings("rawtypes")
     protected Constructor constructor;
     protected ValueInjector[] params;
+    private final MethodHandle constructorHandle;
 
     public ConstructorInjectorImpl(final ResourceConstructor constructor, final ResteasyProviderFactory factory) {
+        this(constructor, factory, MethodHandleInvokers.ENABLED);
+    }
+
+    ConstructorInjectorImpl(final ResourceConstructor constructor, final ResteasyProviderFactory factory,
+            final boolean methodHandles) {
         this.constructor = constructor.getConstructor();
         params = new ValueInjector[constructor.getParams().length];
         int i = 0;
         for (ConstructorParameter parameter : constructor.getParams()) {
             params[i++] = factory.getInjectorFactory().createParameterExtractor(parameter, factory);
         }
-
+        this.constructorHandle = methodHandles ? MethodHandleInvokers.forConstructor(this.constructor) : null;
     }
 
     public ConstructorInjectorImpl(@SuppressWarnings("rawtypes") final Constructor constructor,
             final ResteasyProviderFactory factory) {
+        this(constructor, factory, MethodHandleInvokers.ENABLED);
+    }
+
+    ConstructorInjectorImpl(@SuppressWarnings("rawtypes") final Constructor constructor,
+            final ResteasyProviderFactory factory, final boolean methodHandles) {
         this.constructor = constructor;
         params = new ValueInjector[constructor.getParameterCount()];
         Parameter[] reflectionParameters = constructor.getParameters();
@@ -59,6 +71,7 @@ public class ConstructorInjectorImpl implements ConstructorInjector {
             params[i] = factory.getInjectorFactory().createParameterExtractor(constructor.getDeclaringClass(), constructor,
                     name, type, genericType, annotations, factory);
         }
+        this.constructorHandle = methodHandles ? MethodHandleInvokers.forConstructor(constructor) : null;
     }
 
     @SuppressWarnings("unchecked")
@@ -149,6 +162,19 @@ public class ConstructorInjectorImpl implements ConstructorInjector {
     }
 
     protected Object constructInRequest(Object[] args) {
+        if (constructorHandle != null) {
+            try {
+                return (Object) constructorHandle.invokeExact(args);
+            } catch (Throwable t) {
+                if (!MethodHandleInvokers.isApplicable(constructor.getParameterTypes(), args)) {
+                    throw new InternalServerErrorException(badArguments(args), t);
+                }
+                if (t instanceof WebApplicationException) {
+                    throw (WebApplicationException) t;
+                }
+                throw new ApplicationException(Messages.MESSAGES.failedToConstruct(constructor.toString()), t);
+            }
+        }
         try {
             return constructor.newInstance(args);
         } catch (InstantiationException e) {
@@ -163,21 +189,7 @@ public class ConstructorInjectorImpl implements ConstructorInjector {
             throw new ApplicationException(Messages.MESSAGES.failedToConstruct(
                     constructor.toString()), e.getCause());
         } catch (IllegalArgumentException e) {
-            String msg = Messages.MESSAGES.badArguments(constructor.toString() + "  (");
-            boolean first = false;
-            for (Object arg : args) {
-                if (!first) {
-                    first = true;
-                } else {
-                    msg += ",";
-                }
-                if (arg == null) {
-                    msg += " null";
-                    continue;
-                }
-                msg += " " + arg;
-            }
-            throw new InternalServerErrorException(msg, e);
+            throw new InternalServerErrorException(badArguments(args), e);
         }
     }
 
@@ -197,6 +209,16 @@ public class ConstructorInjectorImpl implements ConstructorInjector {
     }
 
     protected Object constructOutsideRequest(Object[] args) {
+        if (constructorHandle != null) {
+            try {
+                return (Object) constructorHandle.invokeExact(args);
+            } catch (Throwable t) {
+                if (!MethodHandleInvokers.isApplicable(constructor.getParameterTypes(), args)) {
+                    throw new RuntimeException(badArguments(args), t);
+                }
+                throw new RuntimeException(Messages.MESSAGES.failedToConstruct(constructor.toString()), t);
+            }
+        }
         try {
             Object target = null;
             if (System.getSecurityManager() == null) {
@@ -221,7 +243,13 @@ public class ConstructorInjectorImpl implements ConstructorInjector {
         } catch (InvocationTargetException e) {
             throw new RuntimeException(Messages.MESSAGES.failedToConstruct(constructor.toString()), e.getCause());
         } catch (IllegalArgumentException e) {
-            String msg = Messages.MESSAGES.badArguments(constructor.toString() + "  (");
+            throw new RuntimeException(badArguments(args), e);
+        }
+    }
+
+    private String badArguments(Object[] args) {
+        String msg = Messages.MESSAGES.badArguments(constructor.toString() + "  (");
+        if (args != null) {
             boolean first = false;
             for (Object arg : args) {
                 if (!first) {
@@ -235,7 +263,7 @@ public class ConstructorInjectorImpl implements ConstructorInjector {
                 }
                 msg += " " + arg;
             }
-            throw new RuntimeException(msg, e);
         }
+        return msg;
     }
 }
@@ -0,0 +1,242 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The context data of one level of {@link ResteasyContext}.
+ * <p>
+ * The context types pushed for every request are stored in a fixed slot of an array, the slot of a type is resolved
+ * once per type. Any other type is stored in a {@link HashMap} which is only created when such a type is pushed.
+ * </p>
+ *
+ * @since 6.3
+ */
+final class ContextDataMap extends AbstractMap<Class<?>, Object> {
+
+    // Looked up by name so optional APIs, like the Servlet API, are not loaded
+    private static final String[] SLOT_TYPES = {
+            "org.jboss.resteasy.spi.HttpRequest",
+            "org.jboss.resteasy.spi.HttpResponse",
+            "jakarta.ws.rs.core.HttpHeaders",
+            "jakarta.ws.rs.core.UriInfo",
+            "jakarta.ws.rs.core.Request",
+            "org.jboss.resteasy.spi.ResteasyAsynchronousContext",
+            "jakarta.ws.rs.container.ResourceContext",
+            "org.jboss.resteasy.core.PostResourceMethodInvokers",
+            "org.jboss.resteasy.plugins.server.Cleanables",
+            "jakarta.ws.rs.container.ResourceInfo",
+            "jakarta.ws.rs.core.Configuration",
+            "jakarta.ws.rs.core.Configurable",
+            "jakarta.ws.rs.ext.Providers",
+            "jakarta.ws.rs.core.SecurityContext",
+            "jakarta.ws.rs.core.Application",
+            "org.jboss.resteasy.spi.Registry",
+            "org.jboss.resteasy.spi.Dispatcher",
+            "org.jboss.resteasy.core.InternalDispatcher",
+            "org.jboss.resteasy.spi.ResteasyDeployment",
+            "org.jboss.resteasy.spi.ResteasyProviderFactory",
+            "jakarta.servlet.http.HttpServletRequest",
+            "jakarta.servlet.http.HttpServletResponse",
+            "jakarta.servlet.ServletContext",
+            "jakarta.servlet.ServletConfig",
+    };
+
+    private static final ClassValue<Integer> SLOTS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            final String name = type.getName();
+            for (int i = 0; i < SLOT_TYPES.length; i++) {
+                if (SLOT_TYPES[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    };
+
+    // Distinguishes a null value from an empty slot
+    private static final Object NULL = new Object();
+
+    // The key of a slot is at index 2 * slot and its value at 2 * slot + 1
+    private final Object[] entries = new Object[SLOT_TYPES.length << 1];
+    private int slotCount;
+    private Map<Class<?>, Object> others;
+
+    /**
+     * Returns the slot holding the key, or the free slot of the key if it is put, otherwise -1. A class of another
+     * class loader with the name of a slot type is stored in the map of the other types if the slot is taken.
+     */
+    private int slot(final Object key, final boolean put) {
+        if (!(key instanceof Class)) {
+            return -1;
+        }
+        final int slot = SLOTS.get((Class<?>) key);
+        if (slot < 0) {
+            return -1;
+        }
+        final Object current = entries[slot << 1];
+        return current == key || (put && current == null) ? slot : -1;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int slot = slot(key, false);
+        if (slot >= 0) {
+            return unmask(entries[(slot << 1) + 1]);
+        }
+        return others == null ? null : others.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final int slot = slot(key, false);
+        if (slot >= 0) {
+            return entries[slot << 1] != null;
+        }
+        return others != null && others.containsKey(key);
+    }
+
+    @Override
+    public Object put(final Class<?> key, final Object value) {
+        final int slot = slot(key, true);
+        if (slot >= 0) {
+            final int index = slot << 1;
+            final Object previous = entries[index + 1];
+            entries[index] = key;
+            entries[index + 1] = value == null ? NULL : value;
+            if (previous == null) {
+                slotCount++;
+            }
+            return unmask(previous);
+        }
+        if (others == null) {
+            others = new HashMap<>();
+        }
+        return others.put(key, value);
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        final int slot = slot(key, false);
+        if (slot >= 0) {
+            final int index = slot << 1;
+            final Object previous = entries[index + 1];
+            if (previous != null) {
+                entries[index] = null;
+                entries[index + 1] = null;
+                slotCount--;
+            }
+            return unmask(previous);
+        }
+        return others == null ? null : others.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return slotCount + (others == null ? 0 : others.size());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(entries, null);
+        slotCount = 0;
+        others = null;
+    }
+
+    @Override
+    public Set<Entry<Class<?>, Object>> entrySet() {
+        return new AbstractSet<Entry<Class<?>, Object>>() {
+            @Override
+            public Iterator<Entry<Class<?>, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ContextDataMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                ContextDataMap.this.clear();
+            }
+        };
+    }
+
+    private static Object unmask(final Object value) {
+        return value == NULL ? null : value;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Class<?>, Object>> {
+        private final Iterator<Entry<Class<?>, Object>> othersIterator = others == null ? null
+                : others.entrySet().iterator();
+        private int next = advance(0);
+        private int current = -1;
+        private boolean inOthers;
+
+        private int advance(int index) {
+            while (index < entries.length && entries[index] == null) {
+                index += 2;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < entries.length || (othersIterator != null && othersIterator.hasNext());
+        }
+
+        @Override
+        public Entry<Class<?>, Object> next() {
+            if (next < entries.length) {
+                current = next;
+                next = advance(next + 2);
+                return new SimpleImmutableEntry<>((Class<?>) entries[current], unmask(entries[current + 1]));
+            }
+            if (othersIterator == null) {
+                throw new NoSuchElementException();
+            }
+            inOthers = true;
+            return othersIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (inOthers) {
+                othersIterator.remove();
+            } else if (current >= 0 && entries[current] != null) {
+                entries[current] = null;
+                entries[current + 1] = null;
+                slotCount--;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
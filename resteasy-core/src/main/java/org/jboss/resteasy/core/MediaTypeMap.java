@@ -1,20 +1,28 @@
 package org.jboss.resteasy.core;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import jakarta.ws.rs.core.MediaType;
 
 import org.jboss.resteasy.plugins.delegates.MediaTypeHeaderDelegate;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
 import org.jboss.resteasy.util.MediaTypeHelper;
 
 /**
@@ -255,75 +263,112 @@ public class MediaTypeMap<T> {
         return newList;
     }
 
-    private static class CachedMediaTypeAndClass {
-        // we need a weak reference because of possible hot deployment
-        // Although, these reference should get cleared up with any add() invocation
-        private WeakReference<Class<?>> clazz;
-        private MediaType mediaType;
-        private final int hash;
-
-        @SuppressWarnings({ "rawtypes", "unchecked" })
-        private CachedMediaTypeAndClass(final Class clazz, final MediaType mediaType) {
-            this.clazz = new WeakReference(clazz);
-            this.mediaType = mediaType;
-            int result = clazz.hashCode();
-            result = 31 * result + (mediaType.getType() != null ? mediaType.getType().hashCode() : 0)
-                    + (mediaType.getSubtype() != null ? mediaType.getSubtype().hashCode() : 0);
-            hash = result;
+    /**
+     * The candidates of {@link #getPossible(MediaType, Class)} indexed by the class and then by the type and the subtype
+     * of the media type as they were passed in, so that a lookup is a few lock-free reads. Once the cache holds
+     * {@code maxSize} lists further results are computed but no longer cached, the lists added at deployment time are
+     * never evicted by request traffic.
+     * <p>
+     * The classes are weakly referenced, so the cache doesn't keep the class loader of an undeployed application alive,
+     * and the lists are owned by this map rather than attached to the classes, so a class of the JDK doesn't keep the
+     * providers, and through them the deployment, alive either.
+     * </p>
+     */
+    private static final class ClassCache<T> {
+        private final ConcurrentHashMap<ClassKey, ConcurrentHashMap<String, ConcurrentHashMap<String, List<T>>>> cache = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Class<?>> collected = new ReferenceQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final int maxSize;
+
+        private ClassCache(final int maxSize) {
+            this.maxSize = maxSize;
         }
 
-        private Class<?> getClazz() {
-            return clazz.get();
+        private List<T> get(final Class<?> type, final MediaType mediaType) {
+            final ConcurrentHashMap<String, ConcurrentHashMap<String, List<T>>> types = cache.get(new ClassKey(type, null));
+            if (types == null)
+                return null;
+            final ConcurrentHashMap<String, List<T>> subtypes = types.get(mediaType.getType());
+            return subtypes == null ? null : subtypes.get(mediaType.getSubtype());
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (o == null || getClass() != o.getClass())
-                return false;
-
-            CachedMediaTypeAndClass that = (CachedMediaTypeAndClass) o;
-
-            // WeakReference may have GC'd
-            Class<?> clazz = getClazz();
-            if (clazz == null || that.getClazz() == null)
-                return false;
+        private void put(final Class<?> type, final MediaType mediaType, final List<T> list) {
+            expunge();
+            if (size.get() >= maxSize) {
+                return;
+            }
+            if (cache.computeIfAbsent(new ClassKey(type, collected), k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(mediaType.getType(), k -> new ConcurrentHashMap<>())
+                    .putIfAbsent(mediaType.getSubtype(), list) == null) {
+                size.incrementAndGet();
+            }
+        }
 
-            if (!clazz.equals(that.getClazz()))
-                return false;
+        private void expunge() {
+            Reference<? extends Class<?>> ref;
+            while ((ref = collected.poll()) != null) {
+                // a cleared key is only equal to itself
+                final ConcurrentHashMap<String, ConcurrentHashMap<String, List<T>>> types = cache.remove(ref);
+                if (types != null) {
+                    size.addAndGet(-types.values().stream().mapToInt(Map::size).sum());
+                }
+            }
+        }
 
-            if (mediaType.getType() != null) {
-                if (!mediaType.getType().equals(that.mediaType.getType()))
-                    return false;
-            } else if ((mediaType.getType() != that.mediaType.getType()))
-                return false;
+        private int size() {
+            expunge();
+            return size.get();
+        }
+    }
 
-            if (mediaType.getSubtype() != null) {
-                if (!mediaType.getSubtype().equals(that.mediaType.getSubtype()))
-                    return false;
-            } else if ((mediaType.getSubtype() != that.mediaType.getSubtype()))
-                return false;
+    private static final class ClassKey extends WeakReference<Class<?>> {
+        private final int hash;
 
-            return true;
+        private ClassKey(final Class<?> type, final ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            hash = System.identityHashCode(type);
         }
 
         @Override
         public int hashCode() {
             return hash;
         }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this)
+                return true;
+            if (!(obj instanceof ClassKey))
+                return false;
+            final Class<?> type = get();
+            return type != null && type == ((ClassKey) obj).get();
+        }
+    }
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    private static int CACHE_SIZE = 4096;
+    static {
+        if (System.getSecurityManager() == null) {
+            CACHE_SIZE = Integer.getInteger(ResteasyContextParameters.RESTEASY_MEDIA_TYPE_MAP_CACHE_SIZE, 4096);
+        } else {
+            CACHE_SIZE = AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer
+                    .getInteger(ResteasyContextParameters.RESTEASY_MEDIA_TYPE_MAP_CACHE_SIZE, 4096));
+        }
     }
 
     private volatile Map<String, SubtypeMap<T>> index;
-    private volatile Map<CachedMediaTypeAndClass, List<T>> classCache;
+    private volatile ClassCache<T> classCache;
     private volatile List<Entry<T>> wildcards;
     private volatile List<Entry<T>> everything;
     private boolean lockSnapshots;
+    private volatile long version;
 
     public MediaTypeMap() {
         index = new HashMap<>();
         wildcards = new ArrayList<>();
         everything = new ArrayList<>();
+        classCache = new ClassCache<>(CACHE_SIZE);
+        version = VERSIONS.incrementAndGet();
     }
 
     /**
@@ -337,6 +382,7 @@ public class MediaTypeMap<T> {
         wildcards = mediaTypeMap.wildcards;
         everything = mediaTypeMap.everything;
         classCache = mediaTypeMap.classCache;
+        version = VERSIONS.incrementAndGet();
     }
 
     /**
@@ -465,7 +511,8 @@ public class MediaTypeMap<T> {
             everything.add(entry);
             Collections.sort(everything);
         }
-        classCache = null;
+        classCache = new ClassCache<>(CACHE_SIZE);
+        version = VERSIONS.incrementAndGet();
     }
 
     private static <T> List<T> convert(List<Entry<T>> list) {
@@ -508,44 +555,64 @@ public class MediaTypeMap<T> {
     public static boolean useCache = true;
 
     public List<T> getPossible(MediaType accept, Class<?> type) {
-        List<T> cached = null;
-        CachedMediaTypeAndClass cacheEntry = null;
+        final ClassCache<T> cache = classCache;
         if (useCache) {
-            cacheEntry = new CachedMediaTypeAndClass(type, accept);
-            if (classCache != null) {
-                cached = classCache.get(cacheEntry);
-                if (cached != null)
-                    return cached;
-            }
+            final List<T> cached = cache.get(type, accept);
+            if (cached != null)
+                return cached;
         }
 
-        accept = new MediaType(accept.getType().toLowerCase(), accept.getSubtype().toLowerCase(), accept.getParameters());
+        final MediaType lowerCased = new MediaType(accept.getType().toLowerCase(), accept.getSubtype().toLowerCase(),
+                accept.getParameters());
         List<Entry<T>> matches = new ArrayList<Entry<T>>();
-        if (accept.isWildcardType()) {
+        if (lowerCased.isWildcardType()) {
             matches.addAll(everything);
         } else {
-            SubtypeMap<T> indexed = index.get(accept.getType());
+            SubtypeMap<T> indexed = index.get(lowerCased.getType());
             if (indexed != null) {
-                matches.addAll(indexed.getPossible(accept));
+                matches.addAll(indexed.getPossible(lowerCased));
             }
             matches.addAll(wildcards);
         }
         Collections.sort(matches, new TypedEntryComparator(type));
-        cached = convert(matches);
+        final List<T> possible = convert(matches);
         if (useCache) {
-            Map<CachedMediaTypeAndClass, List<T>> cache = classCache;
-            if (cache == null) {
-                synchronized (this) {
-                    if (classCache == null) {
-                        classCache = new HashMap<>();
-                    }
-                    cache = classCache;
-                }
-            }
-            cache.put(cacheEntry, cached);
+            cache.put(type, accept, possible);
+        }
+        return possible;
+
+    }
+
+    /**
+     * Computes and caches the candidates of {@link #getPossible(MediaType, Class)} ahead of time, e.g. for the entity
+     * types and media types of the resource methods of a deployment.
+     *
+     * @param type       the entity class
+     * @param mediaTypes the media types
+     */
+    public void precompute(final Class<?> type, final MediaType... mediaTypes) {
+        if (!useCache || type == null || mediaTypes == null)
+            return;
+        for (MediaType mediaType : mediaTypes) {
+            getPossible(mediaType, type);
         }
-        return cached;
+    }
 
+    /**
+     * @return the number of candidate lists currently cached
+     */
+    public int getCacheSize() {
+        return classCache.size();
+    }
+
+    /**
+     * Returns a number which is unique to this map and changes whenever an entry is added, so that results derived
+     * from the map can tell whether they are stale.
+     *
+     * @return the current version of this map
+     */
+    public long getVersion() {
+        return version;
     }
 
 }
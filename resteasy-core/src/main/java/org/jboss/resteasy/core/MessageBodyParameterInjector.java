@@ -11,10 +11,11 @@ import java.util.Map.Entry;
 
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
 import jakarta.ws.rs.ext.ReaderInterceptor;
 
-import org.jboss.resteasy.core.interception.jaxrs.AbstractReaderInterceptorContext;
 import org.jboss.resteasy.core.interception.jaxrs.ServerReaderInterceptorContext;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 import org.jboss.resteasy.spi.HttpRequest;
@@ -29,6 +30,7 @@ import org.jboss.resteasy.spi.interception.JaxrsInterceptorRegistryListener;
 import org.jboss.resteasy.spi.util.Types;
 import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
 import org.jboss.resteasy.util.InputStreamToByteArray;
+import org.jboss.resteasy.util.MediaTypeHelper;
 import org.jboss.resteasy.util.ThreadLocalStack;
 
 /**
@@ -67,6 +69,7 @@ public class MessageBodyParameterInjector implements ValueInjector, JaxrsInterce
     private AccessibleObject target;
     private ReaderInterceptor[] interceptors;
     private boolean isMarshalledEntity;
+    private volatile ResolvedReader resolvedReader;
 
     public MessageBodyParameterInjector(final Class declaringClass, final AccessibleObject target, final Class type,
             final Type genericType, final Annotation[] annotations, final ResteasyProviderFactory factory) {
@@ -102,6 +105,30 @@ public class MessageBodyParameterInjector implements ValueInjector, JaxrsInterce
                         declaringClass, target);
     }
 
+    /**
+     * Resolves the reader of the body ahead of time for the only media type the resource method consumes. The reader is
+     * used for requests with that media type until a new reader is registered.
+     *
+     * @param mediaType the media type the resource method consumes, without parameters
+     */
+    @SuppressWarnings("unchecked")
+    public void resolveReader(MediaType mediaType) {
+        if (!(factory instanceof ResteasyProviderFactoryImpl))
+            return;
+        ResteasyProviderFactoryImpl providerFactory = (ResteasyProviderFactoryImpl) factory;
+        long version = providerFactory.getServerMessageBodyReadersVersion();
+        MessageBodyReader reader;
+        try {
+            reader = providerFactory.getServerMessageBodyReader(type, genericType, annotations, mediaType,
+                    RESTEasyTracingLogger.empty());
+        } catch (RuntimeException e) {
+            // isReadable() may depend on the request, the reader is looked up for each request instead
+            LogMessages.LOGGER.debugf(e, "Could not resolve the message body reader of %s at deployment", target);
+            return;
+        }
+        resolvedReader = reader == null ? null : new ResolvedReader(reader, mediaType, version);
+    }
+
     protected ReaderInterceptor[] getReaderInterceptors() {
         return this.interceptors;
     }
@@ -177,11 +204,16 @@ public class MessageBodyParameterInjector implements ValueInjector, JaxrsInterce
                 is = new InputStreamToByteArray(is);
 
             }
-            AbstractReaderInterceptorContext messageBodyReaderContext = new ServerReaderInterceptorContext(
+            ServerReaderInterceptorContext messageBodyReaderContext = new ServerReaderInterceptorContext(
                     getReaderInterceptors(), factory, type,
                     genericType, annotations, mediaType, request
                             .getMutableHeaders(),
                     is, request);
+            ResolvedReader resolved = resolvedReader;
+            if (resolved != null && MediaTypeHelper.isSameIgnoringCharset(mediaType, resolved.mediaType)
+                    && resolved.version == ((ResteasyProviderFactoryImpl) factory).getServerMessageBodyReadersVersion()) {
+                messageBodyReaderContext.setResolvedReader(resolved.reader);
+            }
 
             RESTEasyTracingLogger tracingLogger = RESTEasyTracingLogger.getInstance(request);
             final long timestamp = tracingLogger.timestamp("RI_SUMMARY");
@@ -224,4 +256,16 @@ public class MessageBodyParameterInjector implements ValueInjector, JaxrsInterce
     public Object inject(boolean unwrapAsync) {
         throw new RuntimeException(Messages.MESSAGES.illegalToInjectMessageBody(this.target));
     }
+
+    private static final class ResolvedReader {
+        private final MessageBodyReader reader;
+        private final MediaType mediaType;
+        private final long version;
+
+        private ResolvedReader(final MessageBodyReader reader, final MediaType mediaType, final long version) {
+            this.reader = reader;
+            this.mediaType = mediaType;
+            this.version = version;
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package org.jboss.resteasy.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+
+/**
+ * Creates the method handles which resource methods, constructors, fields and setters are invoked with when
+ * {@link ResteasyContextParameters#RESTEASY_METHOD_HANDLE_INVOKERS} is enabled. Unlike the reflective calls, the
+ * handles do not check their arguments on every call and can be inlined by the JIT into the dispatch path.
+ * <p>
+ * The injectors only create handles when the backend is enabled, which defaults to {@link #ENABLED}. Every factory
+ * method returns {@code null} when the member can not be looked up, in which case the
+ * caller falls back to reflection. As a handle does not wrap the exceptions thrown by its target,
+ * {@link #isApplicable(Class[], Object[])} is used on failure to tell bad arguments apart from exceptions thrown by
+ * the application.
+ * </p>
+ */
+final class MethodHandleInvokers {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    static final boolean ENABLED;
+    static {
+        if (System.getSecurityManager() == null) {
+            ENABLED = Boolean.getBoolean(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOKERS);
+        } else {
+            ENABLED = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean
+                    .getBoolean(ResteasyContextParameters.RESTEASY_METHOD_HANDLE_INVOKERS));
+        }
+    }
+
+    private MethodHandleInvokers() {
+    }
+
+    /**
+     * @return a handle of type {@code (Object target, Object[] args)Object} which returns {@code null} for void methods
+     */
+    static MethodHandle forMethod(final Method method) {
+        if (method == null || Modifier.isStatic(method.getModifiers()))
+            return null;
+        try {
+            final int count = method.getParameterCount();
+            return LOOKUP.unreflect(method)
+                    .asType(MethodType.genericMethodType(count + 1))
+                    .asSpreader(Object[].class, count);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle of type {@code (Object[] args)Object}
+     */
+    static MethodHandle forConstructor(final Constructor<?> constructor) {
+        if (constructor == null || Modifier.isAbstract(constructor.getDeclaringClass().getModifiers()))
+            return null;
+        try {
+            final int count = constructor.getParameterCount();
+            return LOOKUP.unreflectConstructor(constructor)
+                    .asType(MethodType.genericMethodType(count))
+                    .asSpreader(Object[].class, count);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle of type {@code (Object target, Object value)void}
+     */
+    static MethodHandle forField(final Field field) {
+        if (Modifier.isStatic(field.getModifiers()))
+            return null;
+        try {
+            return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle of type {@code (Object target, Object value)void}
+     */
+    static MethodHandle forSetter(final Method setter) {
+        if (Modifier.isStatic(setter.getModifiers()) || setter.getParameterCount() != 1)
+            return null;
+        try {
+            return LOOKUP.unreflect(setter).asType(SETTER_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the arguments could have been passed to a member with the given parameter types by reflection.
+     */
+    static boolean isApplicable(final Class<?>[] types, final Object[] args) {
+        if (args == null)
+            return types.length == 0;
+        if (args.length != types.length)
+            return false;
+        for (int i = 0; i < types.length; i++) {
+            if (!isApplicable(types[i], args[i]))
+                return false;
+        }
+        return true;
+    }
+
+    static boolean isApplicable(final Class<?> type, final Object arg) {
+        if (!type.isPrimitive())
+            return arg == null || type.isInstance(arg);
+        if (arg == null)
+            return false;
+        return MethodType.methodType(type).wrap().returnType().isInstance(arg);
+    }
+}
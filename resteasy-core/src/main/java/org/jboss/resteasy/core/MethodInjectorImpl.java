@@ -1,5 +1,6 @@
 package org.jboss.resteasy.core;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.concurrent.CompletableFuture;
@@ -32,12 +33,23 @@ public class MethodInjectorImpl implements MethodInjector {
     protected ResourceLocator method;
     protected Method interfaceBasedMethod;
     protected boolean expectsBody;
+    private final MethodHandle methodHandle;
+    private final MethodHandle interfaceBasedMethodHandle;
 
     public MethodInjectorImpl(final ResourceLocator resourceMethod, final ResteasyProviderFactory factory) {
+        this(resourceMethod, factory, MethodHandleInvokers.ENABLED);
+    }
+
+    MethodInjectorImpl(final ResourceLocator resourceMethod, final ResteasyProviderFactory factory,
+            final boolean methodHandles) {
         this.factory = factory;
         this.method = resourceMethod;
         this.interfaceBasedMethod = findInterfaceBasedMethod(resourceMethod.getResourceClass().getClazz(),
                 resourceMethod.getMethod());
+        this.methodHandle = methodHandles ? MethodHandleInvokers.forMethod(resourceMethod.getMethod()) : null;
+        this.interfaceBasedMethodHandle = !methodHandles || interfaceBasedMethod == resourceMethod.getMethod()
+                ? methodHandle
+                : MethodHandleInvokers.forMethod(interfaceBasedMethod);
         params = new ValueInjector[resourceMethod.getParams().length];
         int i = 0;
         for (MethodParameter parameter : resourceMethod.getParams()) {
@@ -136,6 +148,7 @@ public class MethodInjectorImpl implements MethodInjector {
         }
 
         Method invokedMethod = method.getMethod();
+        MethodHandle handle = methodHandle;
         if (!invokedMethod.getDeclaringClass().isAssignableFrom(resource.getClass())) {
             // invokedMethod is for when the target object might be a proxy and
             // resteasy is getting the bean class to introspect.
@@ -147,11 +160,37 @@ public class MethodInjectorImpl implements MethodInjector {
             // }
             //
             invokedMethod = interfaceBasedMethod;
+            handle = interfaceBasedMethodHandle;
         }
 
         Object result = null;
+        if (handle != null) {
+            try {
+                result = (Object) handle.invokeExact(resource, args);
+            } catch (Throwable t) {
+                if (!invokedMethod.getDeclaringClass().isInstance(resource)
+                        || !MethodHandleInvokers.isApplicable(invokedMethod.getParameterTypes(), args)) {
+                    throw badArguments(args, t);
+                }
+                if (validator instanceof GeneralValidatorCDI) {
+                    GeneralValidatorCDI.class.cast(validator).checkForConstraintViolations(request,
+                            new InvocationTargetException(t));
+                }
+                throw new ApplicationException(t);
+            }
+        } else {
+            result = invokeMethod(request, invokedMethod, validator, resource, args);
+        }
+        if (validator != null) {
+            validator.validateReturnValue(request, resource, method.getMethod(), result);
+        }
+        return result;
+    }
+
+    private Object invokeMethod(HttpRequest request, Method invokedMethod, GeneralValidator validator, Object resource,
+            Object[] args) {
         try {
-            result = invokedMethod.invoke(resource, args);
+            return invokedMethod.invoke(resource, args);
         } catch (IllegalAccessException e) {
             throw new InternalServerErrorException(Messages.MESSAGES.notAllowedToReflectOnMethod(method.toString()), e);
         } catch (InvocationTargetException e) {
@@ -161,29 +200,29 @@ public class MethodInjectorImpl implements MethodInjector {
             }
             throw new ApplicationException(cause);
         } catch (IllegalArgumentException e) {
-            String msg = Messages.MESSAGES.badArguments(method.toString() + "  (");
-            if (args != null) {
-                boolean first = false;
-                for (Object arg : args) {
-                    if (!first) {
-                        first = true;
-                    } else {
-                        msg += ",";
-                    }
-                    if (arg == null) {
-                        msg += " null";
-                        continue;
-                    }
-                    msg += " " + arg.getClass().getName() + " " + arg;
+            throw badArguments(args, e);
+        }
+    }
+
+    private InternalServerErrorException badArguments(Object[] args, Throwable e) {
+        String msg = Messages.MESSAGES.badArguments(method.toString() + "  (");
+        if (args != null) {
+            boolean first = false;
+            for (Object arg : args) {
+                if (!first) {
+                    first = true;
+                } else {
+                    msg += ",";
+                }
+                if (arg == null) {
+                    msg += " null";
+                    continue;
                 }
+                msg += " " + arg.getClass().getName() + " " + arg;
             }
-            msg += " )";
-            throw new InternalServerErrorException(msg, e);
-        }
-        if (validator != null) {
-            validator.validateReturnValue(request, resource, method.getMethod(), result);
         }
-        return result;
+        msg += " )";
+        return new InternalServerErrorException(msg, e);
     }
 
 }
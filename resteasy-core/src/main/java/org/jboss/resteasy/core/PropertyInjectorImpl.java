@@ -2,6 +2,7 @@ package org.jboss.resteasy.core;
 
 import java.beans.Introspector;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -35,23 +36,32 @@ import org.jboss.resteasy.spi.util.MethodHashing;
  */
 public class PropertyInjectorImpl implements PropertyInjector {
     protected HashMap<Field, ValueInjector> fieldMap = new HashMap<Field, ValueInjector>();
+    private final Map<Field, MethodHandle> fieldHandles = new HashMap<Field, MethodHandle>();
 
     private static class SetterMethod {
-        private SetterMethod(final Method method, final ValueInjector extractor) {
+        private SetterMethod(final Method method, final ValueInjector extractor, final boolean methodHandles) {
             this.method = method;
             this.extractor = extractor;
+            this.handle = methodHandles ? MethodHandleInvokers.forSetter(method) : null;
         }
 
         public Method method;
         public ValueInjector extractor;
+        private final MethodHandle handle;
     }
 
     protected List<SetterMethod> setters = new ArrayList<SetterMethod>();
     protected HashMap<Long, Method> setterhashes = new HashMap<Long, Method>();
     protected Class<?> clazz;
+    private final boolean methodHandles;
 
     public PropertyInjectorImpl(final Class<?> clazz, final ResteasyProviderFactory factory) {
+        this(clazz, factory, MethodHandleInvokers.ENABLED);
+    }
+
+    PropertyInjectorImpl(final Class<?> clazz, final ResteasyProviderFactory factory, final boolean methodHandles) {
         this.clazz = clazz;
+        this.methodHandles = methodHandles;
 
         populateMap(clazz, factory);
     }
@@ -71,6 +81,10 @@ public class PropertyInjectorImpl implements PropertyInjector {
                     setAccessible(field);
                 }
                 fieldMap.put(field, extractor);
+                MethodHandle handle = methodHandles ? MethodHandleInvokers.forField(field) : null;
+                if (handle != null) {
+                    fieldHandles.put(field, handle);
+                }
             }
         }
         for (Method method : getDeclaredMethods(clazz)) {
@@ -106,7 +120,7 @@ public class PropertyInjectorImpl implements PropertyInjector {
                 if (!Modifier.isPublic(method.getModifiers())) {
                     setAccessible(method);
                 }
-                setters.add(new SetterMethod(method, extractor));
+                setters.add(new SetterMethod(method, extractor, methodHandles));
                 setterhashes.put(hash, method);
             }
 
@@ -137,19 +151,9 @@ public class PropertyInjectorImpl implements PropertyInjector {
                 if (ret == null)
                     ret = CompletableFuture.completedFuture(null);
                 ret = ret.thenCompose(v -> ((CompletionStage<Object>) injectValue)
-                        .thenAccept(value -> {
-                            try {
-                                entry.getKey().set(target, CompletionStageHolder.resolve(value));
-                            } catch (IllegalAccessException e) {
-                                throw new InternalServerErrorException(e);
-                            }
-                        }));
+                        .thenAccept(value -> setField(entry.getKey(), target, CompletionStageHolder.resolve(value))));
             } else {
-                try {
-                    entry.getKey().set(target, CompletionStageHolder.resolve(injectValue));
-                } catch (IllegalAccessException e) {
-                    throw new InternalServerErrorException(e);
-                }
+                setField(entry.getKey(), target, CompletionStageHolder.resolve(injectValue));
             }
         }
         for (SetterMethod setter : setters) {
@@ -158,24 +162,9 @@ public class PropertyInjectorImpl implements PropertyInjector {
                 if (ret == null)
                     ret = CompletableFuture.completedFuture(null);
                 ret = ret.thenCompose(v -> ((CompletionStage<Object>) injectedValue)
-                        .thenAccept(value -> {
-                            try {
-                                setter.method.invoke(target, CompletionStageHolder.resolve(value));
-                            } catch (IllegalAccessException e) {
-                                throw new InternalServerErrorException(e);
-                            } catch (InvocationTargetException e) {
-                                throw new ApplicationException(e.getCause());
-                            }
-                        }));
+                        .thenAccept(value -> invokeSetter(setter, target, CompletionStageHolder.resolve(value))));
             } else {
-                try {
-                    setter.method.invoke(target, CompletionStageHolder.resolve(injectedValue));
-                } catch (IllegalAccessException e) {
-                    throw new InternalServerErrorException(e);
-                } catch (InvocationTargetException e) {
-                    throw new ApplicationException(e.getCause());
-                }
-
+                invokeSetter(setter, target, CompletionStageHolder.resolve(injectedValue));
             }
         }
         return ret;
@@ -191,21 +180,9 @@ public class PropertyInjectorImpl implements PropertyInjector {
                 if (ret == null)
                     ret = CompletableFuture.completedFuture(null);
                 ret = ret.thenCompose(v -> ((CompletionStage<Object>) injectedValue)
-                        .thenAccept(value -> {
-                            try {
-                                entry.getKey().set(target, CompletionStageHolder.resolve(value));
-                            } catch (IllegalAccessException e) {
-                                throw new InternalServerErrorException(e);
-                            }
-                        }));
-
+                        .thenAccept(value -> setField(entry.getKey(), target, CompletionStageHolder.resolve(value))));
             } else {
-                try {
-                    entry.getKey().set(target, CompletionStageHolder.resolve(injectedValue));
-                } catch (IllegalAccessException e) {
-                    throw new InternalServerErrorException(e);
-                }
-
+                setField(entry.getKey(), target, CompletionStageHolder.resolve(injectedValue));
             }
         }
         for (SetterMethod setter : setters) {
@@ -214,28 +191,55 @@ public class PropertyInjectorImpl implements PropertyInjector {
                 if (ret == null)
                     ret = CompletableFuture.completedFuture(null);
                 ret = ret.thenCompose(v -> ((CompletionStage<Object>) injectedValue)
-                        .thenAccept(value -> {
-                            try {
-                                setter.method.invoke(target, CompletionStageHolder.resolve(value));
-                            } catch (IllegalAccessException e) {
-                                throw new InternalServerErrorException(e);
-                            } catch (InvocationTargetException e) {
-                                throw new ApplicationException(e.getCause());
-                            }
-                        }));
-
+                        .thenAccept(value -> invokeSetter(setter, target, CompletionStageHolder.resolve(value))));
             } else {
-                try {
-                    setter.method.invoke(target, CompletionStageHolder.resolve(injectedValue));
-                } catch (IllegalAccessException e) {
-                    throw new InternalServerErrorException(e);
-                } catch (InvocationTargetException e) {
-                    throw new ApplicationException(e.getCause());
+                invokeSetter(setter, target, CompletionStageHolder.resolve(injectedValue));
+            }
+        }
+        return ret;
+    }
+
+    private void setField(Field field, Object target, Object value) {
+        MethodHandle handle = fieldHandles.get(field);
+        if (handle != null) {
+            try {
+                handle.invokeExact(target, value);
+                return;
+            } catch (RuntimeException | Error e) {
+                if (!MethodHandleInvokers.isApplicable(field.getType(), value)) {
+                    throw new IllegalArgumentException(e);
                 }
+                throw e;
+            } catch (Throwable t) {
+                throw new InternalServerErrorException(t);
+            }
+        }
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new InternalServerErrorException(e);
+        }
+    }
 
+    private void invokeSetter(SetterMethod setter, Object target, Object value) {
+        if (setter.handle != null) {
+            try {
+                setter.handle.invokeExact(target, value);
+                return;
+            } catch (Throwable t) {
+                if (!MethodHandleInvokers.isApplicable(setter.method.getParameterTypes()[0], value)) {
+                    throw new IllegalArgumentException(t);
+                }
+                throw new ApplicationException(t);
             }
         }
-        return ret;
+        try {
+            setter.method.invoke(target, value);
+        } catch (IllegalAccessException e) {
+            throw new InternalServerErrorException(e);
+        } catch (InvocationTargetException e) {
+            throw new ApplicationException(e.getCause());
+        }
     }
 
     private Field[] getDeclaredFields(final Class<?> clazz) {
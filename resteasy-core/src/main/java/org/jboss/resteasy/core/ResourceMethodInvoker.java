@@ -2,7 +2,9 @@ package org.jboss.resteasy.core;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,6 +26,7 @@ import jakarta.ws.rs.core.GenericEntity;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.ext.WriterInterceptor;
 import jakarta.ws.rs.sse.SseEventSink;
 
@@ -62,6 +65,7 @@ import org.jboss.resteasy.spi.validation.GeneralValidatorCDI;
 import org.jboss.resteasy.statistics.StatisticsControllerImpl;
 import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
 import org.jboss.resteasy.util.DynamicFeatureContextDelegate;
+import org.jboss.resteasy.util.MediaTypeHelper;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -87,6 +91,7 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
     @SuppressWarnings("rawtypes")
     AsyncStreamProvider asyncStreamProvider;
     protected boolean isSse;
+    private volatile ResolvedWriter resolvedWriter;
     protected boolean isAsyncStreamProvider;
     protected ResourceInfo resourceInfo;
 
@@ -189,6 +194,102 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
         }
         hasProduces = method.getMethod().isAnnotationPresent(Produces.class)
                 || method.getMethod().getClass().isAnnotationPresent(Produces.class);
+        precomputeMessageBodyCandidates();
+        resolveMessageBodyProviders();
+    }
+
+    /**
+     * Fills the reader and writer caches of the provider factory with the entity types and media types of this method,
+     * so that the lookups of the first requests are cache hits as well.
+     */
+    private void precomputeMessageBodyCandidates() {
+        if (!(resourceMethodProviderFactory instanceof ResteasyProviderFactoryImpl))
+            return;
+        final ResteasyProviderFactoryImpl factory = (ResteasyProviderFactoryImpl) resourceMethodProviderFactory;
+        final MediaType[] consumes = method.getConsumes();
+        if (consumes != null && consumes.length > 0 && method.getParams() != null) {
+            for (MethodParameter param : method.getParams()) {
+                if (param.getParamType() == Parameter.ParamType.MESSAGE_BODY) {
+                    factory.precomputeMessageBodyReaders(param.getType(), consumes);
+                }
+            }
+        }
+        final Class<?> returnType = method.getReturnType();
+        final MediaType[] produces = method.getProduces();
+        if (produces != null && produces.length > 0 && returnType != null && returnType != void.class
+                && returnType != Void.class && !Response.class.isAssignableFrom(returnType)
+                && asyncResponseProvider == null && asyncStreamProvider == null) {
+            factory.precomputeMessageBodyWriters(returnType, produces);
+        }
+    }
+
+    /**
+     * Resolves the reader of the body and the writer of the entity of methods which consume or produce a single media
+     * type and, for the writer, return a concrete entity type, so that requests which match them do not have to look
+     * the providers up again.
+     */
+    private void resolveMessageBodyProviders() {
+        final MediaType[] consumes = method.getConsumes();
+        if (consumes != null && consumes.length == 1 && isResolvable(consumes[0])) {
+            for (ValueInjector param : methodInjector.getParams()) {
+                if (param instanceof MessageBodyParameterInjector) {
+                    ((MessageBodyParameterInjector) param).resolveReader(consumes[0]);
+                }
+            }
+        }
+        if (!(parentProviderFactory instanceof ResteasyProviderFactoryImpl) || isSse)
+            return;
+        final Class<?> returnType = method.getReturnType();
+        final MediaType[] produces = method.getProduces();
+        if (produces == null || produces.length != 1 || !isResolvable(produces[0]) || returnType == null
+                || returnType.isPrimitive() || returnType.isInterface()
+                || Modifier.isAbstract(returnType.getModifiers()) || returnType == Object.class || returnType == Void.class
+                || Response.class.isAssignableFrom(returnType) || GenericEntity.class.isAssignableFrom(returnType)
+                || asyncResponseProvider != null || asyncStreamProvider != null) {
+            return;
+        }
+        final ResteasyProviderFactoryImpl factory = (ResteasyProviderFactoryImpl) parentProviderFactory;
+        final long version = factory.getServerMessageBodyWritersVersion();
+        final MessageBodyWriter<?> writer;
+        try {
+            writer = factory.getServerMessageBodyWriter(returnType, method.getGenericReturnType(), methodAnnotations,
+                    produces[0], RESTEasyTracingLogger.empty());
+        } catch (RuntimeException e) {
+            // isWriteable() may depend on the request, the writer is looked up for each response instead
+            LogMessages.LOGGER.debugf(e, "Could not resolve the message body writer of %s at deployment", method);
+            return;
+        }
+        if (writer != null) {
+            resolvedWriter = new ResolvedWriter(writer, produces[0], version);
+        }
+    }
+
+    private static boolean isResolvable(final MediaType mediaType) {
+        return !mediaType.isWildcardType() && !mediaType.isWildcardSubtype() && mediaType.getParameters().isEmpty();
+    }
+
+    /**
+     * Returns the writer resolved for the entity of this method when the response is written with the same
+     * provider factory, the declared entity type and annotations and the produced media type, possibly with a charset.
+     *
+     * @param providerFactory the provider factory the response is written with
+     * @param type            the entity class
+     * @param genericType     the generic entity type
+     * @param annotations     the entity annotations
+     * @param mediaType       the media type of the response
+     * @return the resolved writer or {@code null} if it has to be looked up
+     */
+    public MessageBodyWriter<?> getResolvedMessageBodyWriter(ResteasyProviderFactory providerFactory, Class<?> type,
+            Type genericType, Annotation[] annotations, MediaType mediaType) {
+        final ResolvedWriter resolved = resolvedWriter;
+        if (resolved == null || providerFactory != parentProviderFactory || type != method.getReturnType()
+                || mediaType == null || !method.getGenericReturnType().equals(genericType)
+                || !Arrays.equals(annotations, methodAnnotations)
+                || !MediaTypeHelper.isSameIgnoringCharset(mediaType, resolved.mediaType)
+                || resolved.version != ((ResteasyProviderFactoryImpl) providerFactory).getServerMessageBodyWritersVersion()) {
+            return null;
+        }
+        return resolved.writer;
     }
 
     @Override
@@ -737,4 +838,16 @@ public class ResourceMethodInvoker implements ResourceInvoker, JaxrsInterceptorR
     public MethodStatisticsLogger getMethodStatisticsLogger() {
         return methodStatisticsLogger;
     }
+
+    private static final class ResolvedWriter {
+        private final MessageBodyWriter<?> writer;
+        private final MediaType mediaType;
+        private final long version;
+
+        private ResolvedWriter(final MessageBodyWriter<?> writer, final MediaType mediaType, final long version) {
+            this.writer = writer;
+            this.mediaType = mediaType;
+            this.version = version;
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package org.jboss.resteasy.core;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -85,7 +84,7 @@ public final class ResteasyContext {
     public static Map<Class<?>, Object> getContextDataMap(boolean create) {
         Map<Class<?>, Object> map = contextualData.get();
         if (map == null && create) {
-            contextualData.setLast(map = new HashMap<Class<?>, Object>());
+            contextualData.setLast(map = new ContextDataMap());
         }
         return map;
     }
@@ -95,7 +94,7 @@ public final class ResteasyContext {
             throw new BadRequestException(
                     Messages.MESSAGES.excededMaximumForwards(getContextData(UriInfo.class).getPath()));
         }
-        Map<Class<?>, Object> map = new HashMap<Class<?>, Object>();
+        Map<Class<?>, Object> map = new ContextDataMap();
         contextualData.push(map);
         return map;
     }
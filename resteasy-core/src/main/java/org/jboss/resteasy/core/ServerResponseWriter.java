@@ -26,7 +26,6 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.ext.WriterInterceptor;
 
-import org.jboss.resteasy.core.interception.jaxrs.AbstractWriterInterceptorContext;
 import org.jboss.resteasy.core.interception.jaxrs.ContainerResponseContextImpl;
 import org.jboss.resteasy.core.interception.jaxrs.ResponseContainerRequestContext;
 import org.jboss.resteasy.core.interception.jaxrs.ServerWriterInterceptorContext;
@@ -121,8 +120,11 @@ public class ServerResponseWriter {
                     jaxrsResponse.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, mt);
                 }
             }
-            MessageBodyWriter writer = providerFactory.getMessageBodyWriter(
-                    type, generic, annotations, mt);
+            MessageBodyWriter resolvedWriter = method == null ? null
+                    : method.getResolvedMessageBodyWriter(providerFactory, type, generic, annotations, mt);
+            MessageBodyWriter writer = resolvedWriter != null ? resolvedWriter
+                    : providerFactory.getMessageBodyWriter(
+                            type, generic, annotations, mt);
             if (writer != null)
                 LogMessages.LOGGER.debugf("MessageBodyWriter: %s", writer.getClass().getName());
 
@@ -159,9 +161,12 @@ public class ServerResponseWriter {
             RESTEasyTracingLogger tracingLogger = RESTEasyTracingLogger.getInstance(request);
             final long timestamp = tracingLogger.timestamp("WI_SUMMARY");
 
-            AbstractWriterInterceptorContext writerContext = new ServerWriterInterceptorContext(writerInterceptors,
+            ServerWriterInterceptorContext writerContext = new ServerWriterInterceptorContext(writerInterceptors,
                     providerFactory, entity, type, generic, annotations, mt,
                     jaxrsResponse.getMetadata(), os, request, onWriteComplete);
+            if (resolvedWriter != null) {
+                writerContext.setResolvedWriter(resolvedWriter);
+            }
 
             CompletionStage<Void> writerAction = writerContext.getStarted().whenComplete((v, t) -> {
                 tracingLogger.logDuration("WI_SUMMARY", timestamp, writerContext.getProcessedInterceptorCount());
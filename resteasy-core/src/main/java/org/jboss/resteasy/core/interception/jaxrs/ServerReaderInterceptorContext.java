@@ -29,6 +29,11 @@ import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
 @SuppressWarnings("rawtypes")
 public class ServerReaderInterceptorContext extends AbstractReaderInterceptorContext {
     private HttpRequest request;
+    private MessageBodyReader resolvedReader;
+    private Class resolvedType;
+    private Type resolvedGenericType;
+    private Annotation[] resolvedAnnotations;
+    private MediaType resolvedMediaType;
 
     public ServerReaderInterceptorContext(final ReaderInterceptor[] interceptors, final ResteasyProviderFactory providerFactory,
             final Class type,
@@ -40,8 +45,27 @@ public class ServerReaderInterceptorContext extends AbstractReaderInterceptorCon
         this.request = request;
     }
 
+    /**
+     * Sets a reader which was already resolved for the current type, generic type, annotations and media type. It is
+     * used instead of a lookup as long as no interceptor changes any of them.
+     *
+     * @param reader the resolved reader
+     */
+    public void setResolvedReader(final MessageBodyReader reader) {
+        resolvedReader = reader;
+        resolvedType = type;
+        resolvedGenericType = genericType;
+        resolvedAnnotations = annotations;
+        resolvedMediaType = mediaType;
+    }
+
     @Override
     protected MessageBodyReader resolveReader(MediaType mediaType) {
+        if (resolvedReader != null && type == resolvedType && genericType == resolvedGenericType
+                && annotations == resolvedAnnotations && mediaType == resolvedMediaType
+                && !tracingLogger.isLogEnabled("MBR_FIND")) {
+            return resolvedReader;
+        }
         @SuppressWarnings(value = "unchecked")
         MessageBodyReader reader = ((ResteasyProviderFactoryImpl) providerFactory).getServerMessageBodyReader(type,
                 genericType, annotations, mediaType, tracingLogger);
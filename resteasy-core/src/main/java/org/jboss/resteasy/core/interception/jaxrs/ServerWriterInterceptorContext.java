@@ -33,6 +33,11 @@ import org.jboss.resteasy.tracing.RESTEasyTracingLogger;
 public class ServerWriterInterceptorContext extends AbstractWriterInterceptorContext {
     private HttpRequest request;
     private Consumer<Throwable> onWriteComplete;
+    private MessageBodyWriter resolvedWriter;
+    private Class resolvedType;
+    private Type resolvedGenericType;
+    private Annotation[] resolvedAnnotations;
+    private MediaType resolvedMediaType;
 
     public ServerWriterInterceptorContext(final WriterInterceptor[] interceptors, final ResteasyProviderFactory providerFactory,
             final Object entity, final Class type, final Type genericType, final Annotation[] annotations,
@@ -46,9 +51,28 @@ public class ServerWriterInterceptorContext extends AbstractWriterInterceptorCon
         this.onWriteComplete = onWriteComplete;
     }
 
+    /**
+     * Sets a writer which was already resolved for the current type, generic type, annotations and media type. It is
+     * used instead of a lookup as long as no interceptor changes any of them.
+     *
+     * @param writer the resolved writer
+     */
+    public void setResolvedWriter(final MessageBodyWriter writer) {
+        resolvedWriter = writer;
+        resolvedType = type;
+        resolvedGenericType = genericType;
+        resolvedAnnotations = annotations;
+        resolvedMediaType = mediaType;
+    }
+
     @SuppressWarnings(value = "unchecked")
     @Override
     protected MessageBodyWriter resolveWriter() {
+        if (resolvedWriter != null && type == resolvedType && genericType == resolvedGenericType
+                && annotations == resolvedAnnotations && mediaType == resolvedMediaType
+                && !tracingLogger.isLogEnabled("MBW_FIND")) {
+            return resolvedWriter;
+        }
         return ((ResteasyProviderFactoryImpl) providerFactory).getServerMessageBodyWriter(
                 type, genericType, annotations, mediaType, tracingLogger);
     }
@@ -0,0 +1,37 @@
+package org.jboss.resteasy.core.messagebody;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.plugins.providers.ProviderHelper;
+import org.jboss.resteasy.spi.AsyncMessageBodyWriter;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+
+/**
+ * An {@link AsyncMessageBodyWriter} for writers which serialize incrementally with the blocking
+ * {@link #writeTo(Object, Class, Type, Annotation[], MediaType, MultivaluedMap, java.io.OutputStream)}. Unlike
+ * {@link AsyncBufferedMessageBodyWriter} the entity is not materialized: the output is collected in fixed size chunks
+ * which are written to the {@link AsyncOutputStream} as soon as they are filled, and reused once they were written.
+ * If the stream allows it, the serialization waits when too many chunks are waiting to be written, see
+ * {@link AsyncOutputStream#isBlockingAllowed()}.
+ */
+public interface AsyncChunkedMessageBodyWriter<T> extends AsyncMessageBodyWriter<T> {
+    @Override
+    default CompletionStage<Void> asyncWriteTo(T t, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, AsyncOutputStream entityStream) {
+        ChunkedOutputStream out = new ChunkedOutputStream(entityStream);
+        try {
+            writeTo(t, type, genericType, annotations, mediaType, httpHeaders, out);
+            return out.finish();
+        } catch (WebApplicationException | IOException e) {
+            return out.pending().thenCompose(v -> ProviderHelper.completedException(e));
+        }
+    }
+}
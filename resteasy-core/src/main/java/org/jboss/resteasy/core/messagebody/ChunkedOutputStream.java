@@ -0,0 +1,138 @@
+package org.jboss.resteasy.core.messagebody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+
+import org.jboss.resteasy.spi.AsyncOutputStream;
+
+/**
+ * Collects the output of a blocking writer in chunks of {@link #CHUNK_SIZE} bytes. Each filled chunk is written to the
+ * {@link AsyncOutputStream} after the previous one, so the writes are never reordered, and is returned to a pool when
+ * its write completed.
+ * <p>
+ * When more than {@link #MAX_IN_FLIGHT} chunks wait to be written, the writer waits for the oldest one, so that a slow
+ * client does not make the whole entity pile up in memory. It only waits if the container reports that the current
+ * thread may, see {@link AsyncOutputStream#isBlockingAllowed()}: otherwise the writes may only complete once it returns,
+ * and the chunks are queued, holding as much memory as a buffered entity would.
+ * </p>
+ */
+final class ChunkedOutputStream extends OutputStream {
+    static final int CHUNK_SIZE = 8192;
+    static final int MAX_IN_FLIGHT = 4;
+
+    private final AsyncOutputStream target;
+    private final boolean wait;
+    // completions may happen on an I/O thread
+    private final Queue<byte[]> pool = new ConcurrentLinkedQueue<>();
+    private final Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+    private CompletionStage<Void> pending = CompletableFuture.completedFuture(null);
+    private byte[] chunk;
+    private int count;
+
+    ChunkedOutputStream(final AsyncOutputStream target) {
+        this.target = target;
+        this.wait = target.isBlockingAllowed();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (chunk == null) {
+            chunk = take();
+        }
+        chunk[count++] = (byte) b;
+        if (count == chunk.length) {
+            send();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (chunk == null) {
+                chunk = take();
+            }
+            final int n = Math.min(len, chunk.length - count);
+            System.arraycopy(b, off, chunk, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == chunk.length) {
+                send();
+            }
+        }
+    }
+
+    /**
+     * Writes the partially filled chunk, if any.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            send();
+        }
+    }
+
+    /**
+     * Writes the remaining bytes.
+     *
+     * @return the stage completed when all chunks were written
+     */
+    CompletionStage<Void> finish() throws IOException {
+        flush();
+        return pending;
+    }
+
+    /**
+     * @return the stage completed when the chunks sent so far were written
+     */
+    CompletionStage<Void> pending() {
+        return pending;
+    }
+
+    private byte[] take() {
+        final byte[] pooled = pool.poll();
+        return pooled != null ? pooled : new byte[CHUNK_SIZE];
+    }
+
+    private void send() throws IOException {
+        final byte[] full = chunk;
+        final int length = count;
+        chunk = null;
+        count = 0;
+        pending = pending.thenCompose(v -> target.asyncWrite(full, 0, length))
+                .thenRun(() -> pool.offer(full));
+        if (!wait) {
+            return;
+        }
+        // the writes complete in order, so the chunks in flight are the ones after the first incomplete stage
+        inFlight.add(pending.toCompletableFuture());
+        while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+            inFlight.poll();
+        }
+        if (inFlight.size() > MAX_IN_FLIGHT) {
+            await(inFlight.poll());
+        }
+    }
+
+    private static void await(final CompletableFuture<Void> write) throws IOException {
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
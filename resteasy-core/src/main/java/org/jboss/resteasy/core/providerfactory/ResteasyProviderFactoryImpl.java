@@ -331,6 +331,46 @@ public class ResteasyProviderFactoryImpl extends ResteasyProviderFactory
         return clientHelper.getMessageBodyWriters();
     }
 
+    /**
+     * Computes the candidate server message body readers of an entity type ahead of the first request.
+     *
+     * @param type       the entity type
+     * @param mediaTypes the media types the entity is consumed as
+     */
+    public void precomputeMessageBodyReaders(Class<?> type, MediaType... mediaTypes) {
+        MediaTypeMap<SortedKey<MessageBodyReader>> readers = getServerMessageBodyReaders();
+        if (readers != null)
+            readers.precompute(type, mediaTypes);
+    }
+
+    /**
+     * Computes the candidate server message body writers of an entity type ahead of the first request.
+     *
+     * @param type       the entity type
+     * @param mediaTypes the media types the entity is produced as
+     */
+    public void precomputeMessageBodyWriters(Class<?> type, MediaType... mediaTypes) {
+        MediaTypeMap<SortedKey<MessageBodyWriter>> writers = getServerMessageBodyWriters();
+        if (writers != null)
+            writers.precompute(type, mediaTypes);
+    }
+
+    /**
+     * @return a number which changes whenever a server message body reader is registered, or -1 if there is none
+     */
+    public long getServerMessageBodyReadersVersion() {
+        MediaTypeMap<SortedKey<MessageBodyReader>> readers = getServerMessageBodyReaders();
+        return readers == null ? -1 : readers.getVersion();
+    }
+
+    /**
+     * @return a number which changes whenever a server message body writer is registered, or -1 if there is none
+     */
+    public long getServerMessageBodyWritersVersion() {
+        MediaTypeMap<SortedKey<MessageBodyWriter>> writers = getServerMessageBodyWriters();
+        return writers == null ? -1 : writers.getVersion();
+    }
+
     private Map<Class<?>, SortedKey<ExceptionMapper>> getSortedExceptionMappers() {
         return serverHelper.getExceptionMappers();
     }
@@ -37,29 +37,37 @@ public class ClassNode {
         Collections.sort(potentials);
 
         for (ClassExpression expression : potentials) {
-            Pattern pattern = expression.getPattern();
-            Matcher matcher = pattern.matcher(path);
-            matcher.region(start, path.length());
+            int length;
+            if (expression.isRegexFree()) {
+                int[] offsets = expression.matchTemplate(path, start);
+                if (offsets == null)
+                    continue;
+                length = offsets[offsets.length - 1];
+            } else {
+                Pattern pattern = expression.getPattern();
+                Matcher matcher = pattern.matcher(path);
+                matcher.region(start, path.length());
+                if (!matcher.matches())
+                    continue;
+                length = matcher.start(expression.getNumGroups() + 1);
+            }
 
-            if (matcher.matches()) {
-                ResteasyUriInfo uriInfo = (ResteasyUriInfo) request.getUri();
-                int length = matcher.start(expression.getNumGroups() + 1);
-                if (length == -1) {
-                    uriInfo.pushMatchedURI(path);
-                } else {
-                    String substring = path.substring(0, length);
-                    uriInfo.pushMatchedURI(substring);
-                }
-                RESTEasyTracingLogger logger = RESTEasyTracingLogger.getInstance(request);
-                if (logger.isLogEnabled("MATCH_RUNTIME_RESOURCE")) {
-                    logger.log("MATCH_RUNTIME_RESOURCE",
-                            expression,
-                            expression.getRegex(),
-                            expression.getRoot().root,
-                            expression.getPathExpression());
-                }
-                return expression.getRoot();
+            ResteasyUriInfo uriInfo = (ResteasyUriInfo) request.getUri();
+            if (length == -1) {
+                uriInfo.pushMatchedURI(path);
+            } else {
+                String substring = path.substring(0, length);
+                uriInfo.pushMatchedURI(substring);
+            }
+            RESTEasyTracingLogger logger = RESTEasyTracingLogger.getInstance(request);
+            if (logger.isLogEnabled("MATCH_RUNTIME_RESOURCE")) {
+                logger.log("MATCH_RUNTIME_RESOURCE",
+                        expression,
+                        expression.getRegex(),
+                        expression.getRoot().root,
+                        expression.getPathExpression());
             }
+            return expression.getRoot();
         }
         throw new NotFoundException(Messages.MESSAGES.couldNotFindResourceForFullPath(request.getUri().getRequestUri()));
     }
@@ -1,10 +1,13 @@
 package org.jboss.resteasy.core.registry;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
 import org.jboss.resteasy.util.PathHelper;
 
 /**
@@ -14,6 +17,16 @@ import org.jboss.resteasy.util.PathHelper;
 public abstract class Expression implements Comparable<Expression> {
     // [^?] is in expression to ignore non-capturing group
     public static final Pattern GROUP = Pattern.compile("[^\\\\]\\([^?]");
+    private static final boolean COMPILE_TEMPLATES;
+    static {
+        if (System.getSecurityManager() == null) {
+            COMPILE_TEMPLATES = Boolean.parseBoolean(
+                    System.getProperty(ResteasyContextParameters.RESTEASY_MATCH_TEMPLATE_COMPILATION, "true"));
+        } else {
+            COMPILE_TEMPLATES = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean
+                    .parseBoolean(System.getProperty(ResteasyContextParameters.RESTEASY_MATCH_TEMPLATE_COMPILATION, "true")));
+        }
+    }
     protected String pathExpression;
     protected String regex;
     protected Pattern pattern;
@@ -21,6 +34,7 @@ public abstract class Expression implements Comparable<Expression> {
     protected int literalCharacters;
     protected int numCapturingGroups;
     protected int numNonDefaultGroups;
+    private final PathTemplate template;
 
     public Expression(final String segment, final String additionalRegex) {
         this.pathExpression = segment;
@@ -57,6 +71,7 @@ public abstract class Expression implements Comparable<Expression> {
             buffer.append(additionalRegex);
         regex = buffer.toString();
         pattern = Pattern.compile(getRegex());
+        template = COMPILE_TEMPLATES ? PathTemplate.compile(segment, additionalRegex) : null;
     }
 
     public int compareTo(Expression expression) {
@@ -123,6 +138,28 @@ public abstract class Expression implements Comparable<Expression> {
         return pattern;
     }
 
+    /**
+     * Returns {@code true} if this expression only consists of literal segments and {@code {param}} segments and can
+     * therefore be matched by {@link #matchTemplate(String, int)} instead of its {@link #getPattern() pattern}.
+     *
+     * @return {@code true} if the expression can be matched without a regular expression
+     */
+    public boolean isRegexFree() {
+        return template != null;
+    }
+
+    /**
+     * Matches the path from the given index without using a regular expression.
+     *
+     * @param path  the path to match
+     * @param start the index to start matching at
+     * @return the start and end index of each group followed by the start index of the trailing group, or {@code null}
+     *         if the path does not match or the expression is not {@link #isRegexFree() regex free}
+     */
+    public int[] matchTemplate(String path, int start) {
+        return template == null ? null : template.match(path, start);
+    }
+
     protected static class Group {
         int group;
         String name;
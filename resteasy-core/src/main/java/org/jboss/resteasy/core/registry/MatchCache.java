@@ -3,7 +3,9 @@ package org.jboss.resteasy.core.registry;
 import java.util.List;
 import java.util.Objects;
 
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
 
 import org.jboss.resteasy.specimpl.ResteasyUriInfo;
 import org.jboss.resteasy.spi.HttpRequest;
@@ -12,22 +14,94 @@ import org.jboss.resteasy.spi.ResourceInvoker;
 public class MatchCache {
     public MediaType chosen;
     public SegmentNode.Match match;
+    /**
+     * The expression that was selected when this match was cached. Used to re-extract the path parameters of templated
+     * routes on a cache hit.
+     */
+    public MethodExpression expression;
     public ResourceInvoker invoker;
 
+    /**
+     * Key of the match cache.
+     * <p>
+     * The key refers to the matching path and the raw {@code Content-Type} and {@code Accept} header values of the
+     * request rather than copying or parsing them, and hashes them once. This allows a single key instance to be
+     * {@link #reset(HttpRequest, int) reset} and used as a probe for every lookup, so a cache hit does not allocate. Keys
+     * which are stored in the cache must be {@link #copy() copied} first. Header values are only kept by the cache
+     * entries which refer to them, so they are evicted together.
+     * </p>
+     */
     public static class Key {
+        /**
+         * Requests with longer header values are not cached, so the cache can't be used to hold on to large headers.
+         */
+        static final int MAX_HEADER_LENGTH = 256;
+
         public String path;
         public int start;
         public String method;
-        public MediaType contentType;
-        public List<MediaType> accepts;
+        public String contentType;
+        public String accepts;
+        private int hash;
+
+        public Key() {
+        }
 
         public Key(final HttpRequest request, final int start) {
-            String matchingPath = ((ResteasyUriInfo) request.getUri()).getMatchingPath();
-            this.path = start == 0 ? matchingPath : matchingPath.substring(start);
+            reset(request, start);
+        }
+
+        /**
+         * Re-initializes this key for the given request.
+         *
+         * @param request the request
+         * @param start   the index of the matching path where matching starts
+         * @return {@code false} if the request can not be cached
+         */
+        public boolean reset(final HttpRequest request, final int start) {
+            final MultivaluedMap<String, String> headers = request.getHttpHeaders().getRequestHeaders();
+            this.path = ((ResteasyUriInfo) request.getUri()).getMatchingPath();
             this.start = start;
             this.method = request.getHttpMethod();
-            this.contentType = request.getHttpHeaders().getMediaType();
-            this.accepts = request.getHttpHeaders().getAcceptableMediaTypes();
+            this.contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+            this.accepts = join(headers.get(HttpHeaders.ACCEPT));
+
+            int h = method.hashCode();
+            h = 31 * h + start;
+            h = 31 * h + Objects.hashCode(contentType);
+            h = 31 * h + Objects.hashCode(accepts);
+            for (int i = start; i < path.length(); i++) {
+                h = 31 * h + path.charAt(i);
+            }
+            this.hash = h;
+            return (contentType == null || contentType.length() <= MAX_HEADER_LENGTH)
+                    && (accepts == null || accepts.length() <= MAX_HEADER_LENGTH);
+        }
+
+        /**
+         * Releases the request state referenced by a probe key.
+         */
+        public void clear() {
+            path = null;
+            method = null;
+            contentType = null;
+            accepts = null;
+        }
+
+        /**
+         * Creates a copy of this key which is safe to be stored in the cache.
+         *
+         * @return the copy
+         */
+        public Key copy() {
+            final Key key = new Key();
+            key.path = path;
+            key.start = start;
+            key.method = method;
+            key.contentType = contentType;
+            key.accepts = accepts;
+            key.hash = hash;
+            return key;
         }
 
         @Override
@@ -37,24 +111,27 @@ public class MatchCache {
             if (o == null || getClass() != o.getClass())
                 return false;
             Key key = (Key) o;
-            boolean b = start == key.start &&
-                    path.equals(key.path) &&
-                    method.equals(key.method) &&
-                    Objects.equals(contentType, key.contentType);
-            if (!b)
+            if (hash != key.hash
+                    || start != key.start
+                    || path.length() != key.path.length()
+                    || !method.equals(key.method)
+                    || !Objects.equals(contentType, key.contentType)
+                    || !Objects.equals(accepts, key.accepts))
                 return false;
-            if (accepts.isEmpty() && key.accepts.isEmpty())
-                return true;
-            if (accepts.size() != key.accepts.size())
-                return false;
-            // todo improve this
-            return b &&
-                    accepts.equals(key.accepts);
+            return path.regionMatches(start, key.path, start, path.length() - start);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(path, start, method);
+            return hash;
+        }
+
+        private static String join(final List<String> values) {
+            if (values == null || values.isEmpty())
+                return null;
+            if (values.size() == 1)
+                return values.get(0);
+            return String.join(",", values);
         }
     }
 }
@@ -3,7 +3,6 @@ package org.jboss.resteasy.core.registry;
 import java.util.regex.Matcher;
 
 import jakarta.ws.rs.BadRequestException;
-import jakarta.ws.rs.core.PathSegment;
 
 import org.jboss.resteasy.core.ResourceLocatorInvoker;
 import org.jboss.resteasy.core.ResourceMethodInvoker;
@@ -46,45 +45,83 @@ public class MethodExpression extends Expression {
         this.invoker = invoker;
     }
 
+    /**
+     * Re-runs this expression against the matching path of the request and populates the path parameters. Used when
+     * the expression was taken from the match cache rather than selected by {@link SegmentNode#match(HttpRequest, int)}.
+     *
+     * @param request the current request
+     * @param start   the index in the matching path where this expression starts
+     * @return {@code true} if the expression matched and the parameters were populated
+     */
+    public boolean populatePathParams(HttpRequest request, int start) {
+        String path = ((ResteasyUriInfo) request.getUri()).getMatchingPath();
+        if (start < path.length() && path.charAt(start) == '/')
+            start++;
+        if (isRegexFree()) {
+            int[] offsets = matchTemplate(path, start);
+            if (offsets == null)
+                return false;
+            populatePathParams(request, offsets, path);
+            return true;
+        }
+        Matcher matcher = getPattern().matcher(path);
+        matcher.region(start, path.length());
+        if (!matcher.matches())
+            return false;
+        populatePathParams(request, matcher, path);
+        return true;
+    }
+
+    /**
+     * Populates the path parameters from the offsets returned by {@link #matchTemplate(String, int)}.
+     *
+     * @param request the current request
+     * @param offsets the group offsets
+     * @param path    the matching path
+     */
+    public void populatePathParams(HttpRequest request, int[] offsets, String path) {
+        ResteasyUriInfo uriInfo = (ResteasyUriInfo) request.getUri();
+        for (int i = 0; i < groups.size(); i++) {
+            int index = offsets[i * 2];
+            populatePathParam(request, uriInfo, groups.get(i).name, path.substring(index, offsets[i * 2 + 1]), index, path);
+        }
+    }
+
     public void populatePathParams(HttpRequest request, Matcher matcher, String path) {
         ResteasyUriInfo uriInfo = (ResteasyUriInfo) request.getUri();
         for (Group group : groups) {
-            String value = matcher.group(group.group);
-            uriInfo.addEncodedPathParameter(group.name, value);
-            int index = matcher.start(group.group);
-
-            int start = 0;
-            if (path.charAt(0) == '/')
-                start++;
-            int segmentIndex = 0;
-
-            if (start < path.length()) {
-                int count = 0;
-                for (int i = start; i < index && i < path.length(); i++) {
-                    if (path.charAt(i) == '/')
-                        count++;
-                }
-                segmentIndex = count;
-            }
+            populatePathParam(request, uriInfo, group.name, matcher.group(group.group), matcher.start(group.group), path);
+        }
+    }
 
-            int numSegments = 1;
-            for (int i = 0; i < value.length(); i++) {
-                if (value.charAt(i) == '/')
-                    numSegments++;
-            }
+    private static void populatePathParam(HttpRequest request, ResteasyUriInfo uriInfo, String name, String value,
+            int index, String path) {
+        uriInfo.addEncodedPathParameter(name, value);
 
-            if (segmentIndex + numSegments > request.getUri().getPathSegments().size()) {
-                throw new BadRequestException(Messages.MESSAGES.numberOfMatchedSegments());
-            }
-            PathSegment[] encodedSegments = new PathSegment[numSegments];
-            PathSegment[] decodedSegments = new PathSegment[numSegments];
-            for (int i = 0; i < numSegments; i++) {
-                decodedSegments[i] = request.getUri().getPathSegments().get(segmentIndex + i);
-                encodedSegments[i] = request.getUri().getPathSegments(false).get(segmentIndex + i);
+        int start = 0;
+        if (path.charAt(0) == '/')
+            start++;
+        int segmentIndex = 0;
+
+        if (start < path.length()) {
+            int count = 0;
+            for (int i = start; i < index && i < path.length(); i++) {
+                if (path.charAt(i) == '/')
+                    count++;
             }
-            uriInfo.getEncodedPathParameterPathSegments().add(group.name, encodedSegments);
-            uriInfo.getPathParameterPathSegments().add(group.name, decodedSegments);
+            segmentIndex = count;
+        }
+
+        int numSegments = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '/')
+                numSegments++;
+        }
+
+        if (segmentIndex + numSegments > uriInfo.getPathSegmentCount()) {
+            throw new BadRequestException(Messages.MESSAGES.numberOfMatchedSegments());
         }
+        uriInfo.addPathParameterSegments(name, segmentIndex, numSegments);
     }
 
     public boolean isLocator() {
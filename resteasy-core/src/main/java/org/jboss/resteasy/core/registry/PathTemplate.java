@@ -0,0 +1,139 @@
+package org.jboss.resteasy.core.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.jboss.resteasy.util.PathHelper;
+
+/**
+ * A regex free matcher for path expressions which consist only of literal segments and segments holding a single
+ * {@code {param}} without a user supplied regular expression, e.g. {@code customers/{id}/orders}. These templates are
+ * matched segment by segment and the parameter values are extracted by index. Any other expression is matched through
+ * its {@link java.util.regex.Pattern}.
+ * <p>
+ * The result of a successful {@link #match(String, int)} is an array holding the start and end index of each template
+ * parameter followed by the start index of the trailing group of locator and class expressions, or {@code -1} if the
+ * trailing group did not participate in the match. This mirrors what {@link Matcher#start(int)} and
+ * {@link Matcher#end(int)} return for the equivalent pattern.
+ * </p>
+ */
+final class PathTemplate {
+    private static final int TAIL_NONE = 0;
+    private static final int TAIL_ANY = 1;
+    private static final int TAIL_SUB_PATH = 2;
+
+    /**
+     * The literal segments, or {@code null} at the indexes of parameter segments.
+     */
+    private final String[] segments;
+    private final int numGroups;
+    private final int tail;
+
+    private PathTemplate(final String[] segments, final int numGroups, final int tail) {
+        this.segments = segments;
+        this.numGroups = numGroups;
+        this.tail = tail;
+    }
+
+    /**
+     * Compiles the path expression.
+     *
+     * @param pathExpression  the path expression without leading and trailing slashes
+     * @param additionalRegex the additional regex appended to the expression's pattern, may be {@code null}
+     * @return the template or {@code null} if the expression needs to be matched by its regular expression
+     */
+    static PathTemplate compile(final String pathExpression, final String additionalRegex) {
+        final int tail;
+        if (additionalRegex == null) {
+            tail = TAIL_NONE;
+        } else if ("(.*)".equals(additionalRegex)) {
+            tail = TAIL_ANY;
+        } else if ("(/.+)?".equals(additionalRegex)) {
+            tail = TAIL_SUB_PATH;
+        } else {
+            return null;
+        }
+        if (pathExpression.isEmpty()) {
+            return new PathTemplate(new String[0], 0, tail);
+        }
+        final List<String> segments = new ArrayList<>();
+        int numGroups = 0;
+        int begin = 0;
+        while (begin <= pathExpression.length()) {
+            int end = pathExpression.indexOf('/', begin);
+            if (end < 0)
+                end = pathExpression.length();
+            final String segment = pathExpression.substring(begin, end);
+            if (segment.indexOf('{') < 0 && segment.indexOf('}') < 0) {
+                segments.add(segment);
+            } else {
+                final Matcher matcher = PathHelper.URI_PARAM_PATTERN.matcher(segment);
+                if (!matcher.matches() || matcher.group(3) != null)
+                    return null;
+                segments.add(null);
+                numGroups++;
+            }
+            begin = end + 1;
+        }
+        // a trailing literal may match a prefix of the last segment when anything can follow, keep those on regex
+        if (tail == TAIL_ANY && numGroups > 0)
+            return null;
+        return new PathTemplate(segments.toArray(new String[0]), numGroups, tail);
+    }
+
+    /**
+     * Matches the region of the path starting at {@code start}.
+     *
+     * @param path  the matching path
+     * @param start the index to start matching at
+     * @return the group offsets or {@code null} if the path does not match
+     */
+    int[] match(final String path, final int start) {
+        final int length = path.length();
+        final int[] offsets = new int[numGroups * 2 + 1];
+        int pos = start;
+        int group = 0;
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                if (pos >= length || path.charAt(pos) != '/')
+                    return null;
+                pos++;
+            }
+            final String literal = segments[i];
+            if (literal == null) {
+                int end = path.indexOf('/', pos);
+                if (end < 0)
+                    end = length;
+                if (end == pos)
+                    return null;
+                offsets[group++] = pos;
+                offsets[group++] = end;
+                pos = end;
+            } else {
+                if (!path.startsWith(literal, pos))
+                    return null;
+                pos += literal.length();
+            }
+        }
+        switch (tail) {
+            case TAIL_ANY:
+                offsets[group] = pos;
+                return offsets;
+            case TAIL_SUB_PATH:
+                if (pos == length) {
+                    offsets[group] = -1;
+                    return offsets;
+                }
+                if (path.charAt(pos) != '/' || pos + 1 == length)
+                    return null;
+                offsets[group] = pos;
+                return offsets;
+            default:
+                if (pos != length)
+                    return null;
+                offsets[group] = -1;
+                return offsets;
+        }
+    }
+}
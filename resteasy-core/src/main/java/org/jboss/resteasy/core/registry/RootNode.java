@@ -7,7 +7,6 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -25,7 +24,8 @@ public class RootNode {
     protected SegmentNode root = new SegmentNode("");
     protected int size = 0;
     protected MultivaluedMap<String, MethodExpression> bounded = new MultivaluedHashMap<String, MethodExpression>();
-    protected ConcurrentHashMap<MatchCache.Key, MatchCache> cache = new ConcurrentHashMap<>();
+    protected SegmentedMatchCache cache = new SegmentedMatchCache(CACHE_SIZE);
+    private static final ThreadLocal<MatchCache.Key> PROBE = ThreadLocal.withInitial(MatchCache.Key::new);
     private static int CACHE_SIZE = 2048;
     private static boolean CACHE = true;
     static {
@@ -44,6 +44,15 @@ public class RootNode {
         return size;
     }
 
+    /**
+     * Returns the cache of previously matched requests. Can be used to query the hit, miss and eviction counters.
+     *
+     * @return the match cache
+     */
+    public SegmentedMatchCache getMatchCache() {
+        return cache;
+    }
+
     public MultivaluedMap<String, ResourceInvoker> getBounded() {
         MultivaluedHashMap<String, ResourceInvoker> rtn = new MultivaluedHashMap<String, ResourceInvoker>();
         for (Map.Entry<String, List<MethodExpression>> entry : bounded.entrySet()) {
@@ -59,21 +68,31 @@ public class RootNode {
                 && !request.getHttpHeaders().getMediaType().getParameters().isEmpty())) {
             return root.match(request, start).invoker;
         }
-        MatchCache.Key key = new MatchCache.Key(request, start);
-        MatchCache match = cache.get(key);
-        if (match != null) {
+        MatchCache.Key probe = PROBE.get();
+        if (!probe.reset(request, start)) {
+            probe.clear();
+            return root.match(request, start).invoker;
+        }
+        MatchCache match = cache.get(probe);
+        // the key is copied before matching as the probe may be reused by a nested match on this thread
+        MatchCache.Key key = match == null ? probe.copy() : null;
+        probe.clear();
+        if (match != null && (match.expression == null || match.expression.getNumGroups() == 0
+                || match.expression.populatePathParams(request, start))) {
             //System.out.println("*** cache hit: " + key.method + " " + key.path);
             request.setAttribute(RESTEASY_CHOSEN_ACCEPT, match.chosen);
         } else {
             match = root.match(request, start);
-            if (match.match != null && match.match.expression.getNumGroups() == 0
-                    && match.invoker instanceof ResourceMethodInvoker) {
+            if (key == null)
+                key = new MatchCache.Key(request, start);
+            if (match.match != null && match.invoker instanceof ResourceMethodInvoker) {
                 //System.out.println("*** caching: " + key.method + " " + key.path);
-                match.match = null;
-                if (cache.size() >= CACHE_SIZE) {
-                    cache.clear();
-                }
-                cache.putIfAbsent(key, match);
+                // templated routes are cached by their expression, the path parameters are re-extracted on a hit
+                MatchCache cached = new MatchCache();
+                cached.chosen = match.chosen;
+                cached.invoker = match.invoker;
+                cached.expression = match.match.expression;
+                cache.put(key, cached);
             }
         }
         return match.invoker;
@@ -91,6 +110,7 @@ public class RootNode {
                 if (expressions.size() == 0)
                     bounded.remove(path);
                 size--;
+                cache.clear();
                 if (invoker instanceof ResourceMethodInvoker) {
                     ((ResourceMethodInvoker) invoker).cleanup();
                 }
@@ -103,6 +123,7 @@ public class RootNode {
         MethodExpression expression = addExpression(path, invoker);
         size++;
         bounded.add(path, expression);
+        cache.clear();
     }
 
     protected MethodExpression addExpression(String path, ResourceInvoker invoker) {
@@ -63,11 +63,26 @@ public class SegmentNode {
     protected static class Match {
         MethodExpression expression;
         Matcher matcher;
+        int[] offsets;
 
         public Match(final MethodExpression expression, final Matcher matcher) {
             this.expression = expression;
             this.matcher = matcher;
         }
+
+        public Match(final MethodExpression expression, final Matcher matcher, final int[] offsets) {
+            this.expression = expression;
+            this.matcher = matcher;
+            this.offsets = offsets;
+        }
+
+        void populatePathParams(HttpRequest request, String path) {
+            if (matcher != null) {
+                expression.populatePathParams(request, matcher, path);
+            } else {
+                expression.populatePathParams(request, offsets, path);
+            }
+        }
     }
 
     public MatchCache match(HttpRequest request, int start) {
@@ -90,6 +105,18 @@ public class SegmentNode {
                 continue;
             }
 
+            // simple templates of resource methods are matched segment by segment without a regex
+            if (expression.isRegexFree() && !expression.isLocator()) {
+                int[] offsets = expression.matchTemplate(path, start);
+                if (offsets != null) {
+                    expressionMatched = true;
+                    matches.add(new Match(expression, null, offsets));
+                } else {
+                    logger.log("MATCH_PATH_NOT_MATCHED", expression.getRegex());
+                }
+                continue;
+            }
+
             Pattern pattern = expression.getPattern();
             Matcher matcher = pattern.matcher(path);
             matcher.region(start, path.length());
@@ -142,7 +169,7 @@ public class SegmentNode {
         }
         MatchCache match = match(matches, request.getHttpMethod(), request);
         if (match.match != null) {
-            match.match.expression.populatePathParams(request, match.match.matcher, path);
+            match.match.populatePathParams(request, path);
             logger.log("MATCH_PATH_SELECTED", match.match.expression.getRegex());
         }
         return match;
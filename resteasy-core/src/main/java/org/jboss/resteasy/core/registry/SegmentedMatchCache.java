@@ -0,0 +1,248 @@
+package org.jboss.resteasy.core.registry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of {@link MatchCache} results keyed by {@link MatchCache.Key}.
+ * <p>
+ * The cache is split into lock-striped segments, each of which is a segmented LRU: new entries are admitted into a
+ * probationary area and are only promoted into the protected area once they are hit again. When a segment is full the
+ * least recently used probationary entry is evicted first, so a burst of one-off URLs cannot flush the frequently used
+ * routes out of the cache the way clearing the whole map would. Lookups don't lock: hits are recorded in a read buffer
+ * and applied to the LRU order in batches. Hits of protected entries are only sampled, so the lookups of a hot route
+ * don't contend on a shared counter or buffer.
+ * </p>
+ */
+public class SegmentedMatchCache {
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_STRIPE_CAPACITY = 64;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SegmentedMatchCache(final int capacity) {
+        this.capacity = Math.max(1, capacity);
+        final int count = Math.max(1, Integer.highestOneBit(Math.min(MAX_STRIPES, this.capacity / MIN_STRIPE_CAPACITY)));
+        this.mask = count - 1;
+        this.stripes = new Stripe[count];
+        final int stripeCapacity = (this.capacity + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Looks up a previously cached match.
+     *
+     * @param key the lookup key
+     * @return the cached match or {@code null} if there is none
+     */
+    public MatchCache get(final MatchCache.Key key) {
+        final MatchCache match = stripeFor(key).get(key);
+        if (match == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return match;
+    }
+
+    /**
+     * Caches the match for the given key, evicting the least valuable entry of the key's segment if it is full.
+     *
+     * @param key   the lookup key
+     * @param match the match to cache
+     */
+    public void put(final MatchCache.Key key, final MatchCache match) {
+        if (stripeFor(key).put(key, match)) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Removes all cached entries. The statistics counters are retained.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private Stripe stripeFor(final MatchCache.Key key) {
+        final int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static final class Entry {
+        final MatchCache.Key key;
+        final MatchCache match;
+        // written under the stripe lock, read by lookups to sample the hits of protected entries
+        volatile boolean promoted;
+
+        Entry(final MatchCache.Key key, final MatchCache match) {
+            this.key = key;
+            this.match = match;
+        }
+    }
+
+    /**
+     * Lookups only read the concurrent map and record the hit in a random slot of a lossy buffer. The LRU order is
+     * updated from the buffer under the stripe lock, by a random sample of the lookups if the lock is free, or by the
+     * next put. Every hit of a probationary entry is recorded, as it promotes the entry, but only a sample of the hits
+     * of protected entries, which merely refresh their recency. The random numbers are thread local, so lookups don't
+     * write any shared state unless they record a hit.
+     */
+    private static class Stripe {
+        private static final int READ_BUFFER_SIZE = 64;
+        private static final int DRAIN_THRESHOLD = 16;
+        private static final int PROTECTED_SAMPLE_RATE = 16;
+
+        private final int capacity;
+        private final int protectedCapacity;
+        private final ConcurrentHashMap<MatchCache.Key, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicReferenceArray<Entry> reads = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final ReentrantLock lock = new ReentrantLock();
+        // guarded by lock
+        private final LinkedHashMap<MatchCache.Key, Entry> probation = new LinkedHashMap<>();
+        private final LinkedHashMap<MatchCache.Key, Entry> protect = new LinkedHashMap<>(16, 0.75f, true);
+
+        Stripe(final int capacity) {
+            this.capacity = capacity;
+            // 80% of the segment is reserved for entries which have been hit at least twice
+            this.protectedCapacity = Math.max(1, (capacity * 4) / 5);
+        }
+
+        MatchCache get(final MatchCache.Key key) {
+            final Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            final int random = ThreadLocalRandom.current().nextInt();
+            if (entry.promoted && (random & (PROTECTED_SAMPLE_RATE - 1)) != 0) {
+                return entry.match;
+            }
+            reads.lazySet((random >>> 8) & (READ_BUFFER_SIZE - 1), entry);
+            if (((random >>> 16) & (DRAIN_THRESHOLD - 1)) == 0 && lock.tryLock()) {
+                try {
+                    drainReads();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return entry.match;
+        }
+
+        boolean put(final MatchCache.Key key, final MatchCache match) {
+            lock.lock();
+            try {
+                drainReads();
+                final Entry entry = new Entry(key, match);
+                entries.put(key, entry);
+                if (protect.containsKey(key)) {
+                    entry.promoted = true;
+                    protect.put(key, entry);
+                    return false;
+                }
+                if (probation.remove(key) != null) {
+                    promote(entry);
+                    return false;
+                }
+                probation.put(key, entry);
+                if (probation.size() + protect.size() <= capacity) {
+                    return false;
+                }
+                final Map<MatchCache.Key, Entry> victims = probation.size() > 1 || protect.isEmpty() ? probation : protect;
+                final Iterator<Entry> it = victims.values().iterator();
+                final Entry victim = it.next();
+                it.remove();
+                entries.remove(victim.key, victim);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                    reads.set(i, null);
+                }
+                probation.clear();
+                protect.clear();
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        private void drainReads() {
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                final Entry entry = reads.getAndSet(i, null);
+                if (entry == null) {
+                    continue;
+                }
+                // entries which were replaced or evicted since the lookup are skipped
+                if (protect.get(entry.key) == entry) {
+                    continue;
+                }
+                if (probation.get(entry.key) == entry) {
+                    probation.remove(entry.key);
+                    promote(entry);
+                }
+            }
+        }
+
+        private void promote(final Entry entry) {
+            entry.promoted = true;
+            protect.put(entry.key, entry);
+            if (protect.size() > protectedCapacity) {
+                // demote the least recently used protected entry back to the probationary area
+                final Iterator<Entry> it = protect.values().iterator();
+                final Entry eldest = it.next();
+                it.remove();
+                eldest.promoted = false;
+                probation.put(eldest.key, eldest);
+            }
+        }
+    }
+}
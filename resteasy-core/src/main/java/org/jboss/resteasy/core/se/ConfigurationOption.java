@@ -65,7 +65,9 @@ public enum ConfigurationOption {
     JANDEX_INDEX("org.jboss.resteasy.jandex.index", null, Index.class),
     JANDEX_CLASS_PATH_FILTER("org.jboss.resteasy.jandex.filter", null, Predicate.class),
     REGISTER_BUILT_INS(ResteasyContextParameters.RESTEASY_USE_BUILTIN_PROVIDERS, true, Boolean.class),
-    ;
+    VIRTUAL_THREADS(ResteasyContextParameters.RESTEASY_SERVER_VIRTUAL_THREADS,
+            Boolean.getBoolean(ResteasyContextParameters.RESTEASY_SERVER_VIRTUAL_THREADS), Boolean.class),
+            ;
 
     private static final Map<String, ConfigurationOption> LOOKUP = new HashMap<>();
 
@@ -74,6 +74,12 @@ public class GZIPEncodingInterceptor implements AsyncWriterInterceptor {
             }
         }
 
+        @Override
+        public boolean isFileTransferSupported() {
+            // the bytes have to go through the compressor
+            return false;
+        }
+
         synchronized void finish() throws IOException {
             if (gzip != null) {
                 gzip.finish();
@@ -243,6 +243,9 @@ public class FileProvider implements MessageBodyReader<File>,
     }
 
     protected CompletionStage<Void> writeIt(File uploadFile, AsyncOutputStream entityStream) {
+        if (entityStream.isFileTransferSupported()) {
+            return ProviderHelper.transferFrom(uploadFile, 0, uploadFile.length(), entityStream);
+        }
         try {
             InputStream inputStream = new BufferedInputStream(new FileInputStream(uploadFile));
             return ProviderHelper.writeToAndCloseInput(inputStream, entityStream);
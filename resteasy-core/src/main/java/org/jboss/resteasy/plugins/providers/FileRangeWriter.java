@@ -73,6 +73,11 @@ public class FileRangeWriter implements AsyncMessageBodyWriter<FileRange> {
         long length = (fileRange.getEnd() - fileRange.getBegin()) + 1;
         httpHeaders.putSingle("Content-Range", contentRange);
         httpHeaders.putSingle("Content-Length", length);
+        if (entityStream.isFileTransferSupported()) {
+            // like the copy loop, stop at the end of the file
+            return ProviderHelper.transferFrom(fileRange.getFile(), fileRange.getBegin(),
+                    Math.min(length, fileSize - fileRange.getBegin()), entityStream);
+        }
         try {
             FileInputStream fis = new FileInputStream(fileRange.getFile());
             if (fileRange.getBegin() > 0) {
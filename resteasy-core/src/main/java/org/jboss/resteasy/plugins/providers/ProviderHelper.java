@@ -2,10 +2,13 @@ package org.jboss.resteasy.plugins.providers;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -151,6 +154,32 @@ public final class ProviderHelper {
                 asyncRead(in, buf)).thenApply(v -> null);
     }
 
+    /**
+     * Writes a region of a file with {@link AsyncOutputStream#asyncTransferFrom(FileChannel, long, long)}, so the
+     * stream has to support file transfers. The file is closed once the transfer has completed.
+     *
+     * @param file     the file
+     * @param position the position in the file of the first byte to write
+     * @param count    the number of bytes to write
+     * @param out      output stream
+     */
+    public static CompletionStage<Void> transferFrom(final File file, final long position, final long count,
+            final AsyncOutputStream out) {
+        final FileChannel channel;
+        try {
+            channel = new FileInputStream(file).getChannel();
+        } catch (IOException e) {
+            return completedException(e);
+        }
+        return out.asyncTransferFrom(channel, position, count).whenComplete((v, t) -> {
+            try {
+                channel.close();
+            } catch (IOException x) {
+                throw new RuntimeException(x);
+            }
+        });
+    }
+
     public static int asyncRead(InputStream in, byte[] buf) {
         try {
             return in.read(buf);
@@ -1,18 +1,26 @@
 package org.jboss.resteasy.plugins.providers.sse;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.SseBroadcaster;
 import jakarta.ws.rs.sse.SseEventSink;
@@ -20,9 +28,47 @@ import jakarta.ws.rs.sse.SseEventSink;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
 
+/**
+ * The default {@link SseBroadcaster}.
+ * <p>
+ * By default every broadcast event is handed to each sink right away, leaving it to the sink to queue the events it
+ * can not write yet. A broadcaster created with a queue size instead keeps a bounded queue of pending events for each
+ * sink and only hands a sink its next event once the previous one has been written. When the queue of a slow consumer
+ * is full the {@link SlowConsumerPolicy} decides whether an event is dropped or the sink is disconnected, so one slow
+ * client can neither stall the other sinks nor make the broadcaster buffer an unbounded number of events.
+ * </p>
+ */
 public class SseBroadcasterImpl implements SseBroadcaster {
+    /**
+     * What to do with an event for a sink whose queue of pending events is full.
+     */
+    public enum SlowConsumerPolicy {
+        /**
+         * Discard the oldest pending event of the sink to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Discard the new event.
+         */
+        DROP_NEWEST,
+        /**
+         * Close the sink and unregister it.
+         */
+        DISCONNECT
+    }
+
     private ConcurrentLinkedQueue<SseEventSink> outputQueue = new ConcurrentLinkedQueue<>();
 
+    private final int maxQueuedEvents;
+
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    private final Map<SseEventSink, SinkQueue> sinkQueues = new ConcurrentHashMap<>();
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private final LongAdder disconnectedSinks = new LongAdder();
+
     private final List<BiConsumer<SseEventSink, Throwable>> onErrorConsumers = new CopyOnWriteArrayList<>();
 
     private final List<Consumer<SseEventSink>> closeConsumers = new CopyOnWriteArrayList<>();
@@ -42,9 +88,75 @@ public class SseBroadcasterImpl implements SseBroadcaster {
     private final Lock writeLock;
 
     public SseBroadcasterImpl() {
+        this(0, SlowConsumerPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a broadcaster which queues at most {@code maxQueuedEvents} pending events per sink.
+     *
+     * @param maxQueuedEvents    the maximum number of events waiting to be sent to a single sink, {@code 0} or less
+     *                           to hand events to the sinks without queueing them in the broadcaster
+     * @param slowConsumerPolicy what to do with an event for a sink whose queue is full
+     */
+    public SseBroadcasterImpl(final int maxQueuedEvents, final SlowConsumerPolicy slowConsumerPolicy) {
         ReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
         this.readLock = readWriteLock.readLock();
         this.writeLock = readWriteLock.writeLock();
+        this.maxQueuedEvents = Math.max(0, maxQueuedEvents);
+        this.slowConsumerPolicy = slowConsumerPolicy == null ? SlowConsumerPolicy.DROP_OLDEST : slowConsumerPolicy;
+    }
+
+    public int getMaxQueuedEvents() {
+        return maxQueuedEvents;
+    }
+
+    public SlowConsumerPolicy getSlowConsumerPolicy() {
+        return slowConsumerPolicy;
+    }
+
+    /**
+     * @return the number of events waiting to be sent, summed over all sinks
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (SinkQueue queue : sinkQueues.values()) {
+            depth += queue.depth();
+        }
+        return depth;
+    }
+
+    /**
+     * @return the number of events waiting to be sent to the slowest sink
+     */
+    public int getMaxQueueDepth() {
+        int depth = 0;
+        for (SinkQueue queue : sinkQueues.values()) {
+            depth = Math.max(depth, queue.depth());
+        }
+        return depth;
+    }
+
+    /**
+     * @param sink a registered sink
+     * @return the number of events waiting to be sent to the sink
+     */
+    public int getQueueDepth(final SseEventSink sink) {
+        final SinkQueue queue = sinkQueues.get(sink);
+        return queue == null ? 0 : queue.depth();
+    }
+
+    /**
+     * @return the number of events which have been dropped for slow consumers
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * @return the number of sinks which have been disconnected for being too slow
+     */
+    public long getDisconnectedSinkCount() {
+        return disconnectedSinks.sum();
     }
 
     @Override
@@ -76,6 +188,10 @@ public class SseBroadcasterImpl implements SseBroadcaster {
                 writeLock.unlock();
             }
         }
+        for (SinkQueue queue : sinkQueues.values()) {
+            queue.discard();
+        }
+        sinkQueues.clear();
     }
 
     private void checkClosed() {
@@ -88,6 +204,10 @@ public class SseBroadcasterImpl implements SseBroadcaster {
         // First remove the eventSink from the outputQueue to ensure that
         // concurrent calls to this method will notify listeners only once for a
         // given eventSink instance.
+        final SinkQueue queue = sinkQueues.remove(eventSink);
+        if (queue != null) {
+            queue.discard();
+        }
         if (outputQueue.remove(eventSink)) {
             closeConsumers.forEach(consumer -> {
                 consumer.accept(eventSink);
@@ -126,36 +246,241 @@ public class SseBroadcasterImpl implements SseBroadcaster {
         readLock.lock();
         try {
             checkClosed();
+            if (maxQueuedEvents > 0) {
+                sinkQueues.put(sseEventSink, new SinkQueue(sseEventSink));
+            }
             outputQueue.add(sseEventSink);
         } finally {
             readLock.unlock();
         }
     }
 
+    /**
+     * Sends the event to all registered sinks. The event is serialized once per element media type and writer and the
+     * same frame is written to every sink sharing them. The sends are started at once rather than one after the other,
+     * each sink keeps the order of the events broadcast to it. If the broadcaster queues events, the returned stage
+     * completes once the event has been written to or dropped for every sink.
+     */
     @Override
     public CompletionStage<?> broadcast(OutboundSseEvent event) {
         checkClosed();
-        CompletionStage<?> ret = CompletableFuture.completedFuture(null);
+        final Map<FrameKey, byte[]> frames = new HashMap<>(4);
+        final List<CompletableFuture<?>> sends = new ArrayList<>();
         for (SseEventSink eventSink : outputQueue) {
-            ret = ret.thenCompose(v -> {
-                try {
-                    return eventSink.send(event)
-                            .exceptionally(err -> {
-                                // do not propagate the exception to the returned CF
-                                // apparently, the goal is to close this sink and not report the error
-                                // of the broadcast operation
-                                notifyOnErrorListeners(eventSink, err);
-                                return null;
-                            });
-                } catch (Exception e) {
-                    // do not propagate the exception to the returned CF
-                    // apparently, the goal is to close this sink and not report the error
-                    // of the broadcast operation
-                    notifyOnErrorListeners(eventSink, e);
-                    return CompletableFuture.completedFuture(null);
+            final SinkQueue queue = maxQueuedEvents > 0 ? sinkQueues.get(eventSink) : null;
+            if (queue != null) {
+                final byte[] frame = eventSink instanceof SseEventOutputImpl
+                        && ((SseEventOutputImpl) eventSink).isEncodable()
+                                ? encode(frames, (SseEventOutputImpl) eventSink, event)
+                                : null;
+                sends.add(queue.offer(event, frame));
+                continue;
+            }
+            try {
+                final CompletionStage<?> send;
+                if (eventSink instanceof SseEventOutputImpl && ((SseEventOutputImpl) eventSink).isEncodable()) {
+                    final SseEventOutputImpl output = (SseEventOutputImpl) eventSink;
+                    send = output.send(event, encode(frames, output, event));
+                } else {
+                    send = eventSink.send(event);
                 }
-            });
+                sends.add(send.toCompletableFuture()
+                        .exceptionally(err -> {
+                            // do not propagate the exception to the returned CF
+                            // apparently, the goal is to close this sink and not report the error
+                            // of the broadcast operation
+                            notifyOnErrorListeners(eventSink, err);
+                            return null;
+                        }));
+            } catch (Exception e) {
+                // do not propagate the exception to the returned CF
+                // apparently, the goal is to close this sink and not report the error
+                // of the broadcast operation
+                notifyOnErrorListeners(eventSink, e);
+            }
+        }
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Returns the frame of the event for the sink, serializing it if no sink with the same element media type and
+     * writer has been sent the event yet.
+     *
+     * @return the frame or {@code null} if the sink has to serialize the event itself
+     */
+    private static byte[] encode(final Map<FrameKey, byte[]> frames, final SseEventOutputImpl output,
+            final OutboundSseEvent event) {
+        final FrameKey key;
+        try {
+            key = new FrameKey(output.getEventMediaType(event), output.getWriter());
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (frames.containsKey(key)) {
+            return frames.get(key);
+        }
+        byte[] frame;
+        try {
+            frame = output.encode(event, key.mediaType);
+        } catch (Exception e) {
+            // let each sink report the failure through its own send
+            frame = null;
+        }
+        frames.put(key, frame);
+        return frame;
+    }
+
+    /**
+     * Sends the pending events of a sink one at a time.
+     */
+    private final class SinkQueue {
+        private final SseEventSink sink;
+        private final ArrayDeque<PendingEvent> pending = new ArrayDeque<>();
+        private boolean sending;
+
+        private SinkQueue(final SseEventSink sink) {
+            this.sink = sink;
+        }
+
+        synchronized int depth() {
+            return pending.size();
+        }
+
+        CompletableFuture<Void> offer(final OutboundSseEvent event, final byte[] frame) {
+            final PendingEvent added = new PendingEvent(event, frame);
+            PendingEvent dropped = null;
+            boolean disconnect = false;
+            boolean start = false;
+            synchronized (this) {
+                if (pending.size() < maxQueuedEvents) {
+                    pending.addLast(added);
+                } else if (slowConsumerPolicy == SlowConsumerPolicy.DROP_OLDEST) {
+                    dropped = pending.pollFirst();
+                    pending.addLast(added);
+                } else if (slowConsumerPolicy == SlowConsumerPolicy.DROP_NEWEST) {
+                    dropped = added;
+                } else {
+                    disconnect = true;
+                }
+                if (!sending && !disconnect) {
+                    sending = true;
+                    start = true;
+                }
+            }
+            if (dropped != null) {
+                droppedEvents.increment();
+                dropped.future.complete(null);
+            }
+            if (disconnect) {
+                added.future.complete(null);
+                disconnect();
+            } else if (start) {
+                drain();
+            }
+            return added.future;
+        }
+
+        /**
+         * Completes the pending events without sending them.
+         */
+        void discard() {
+            final List<PendingEvent> discarded;
+            synchronized (this) {
+                discarded = new ArrayList<>(pending);
+                pending.clear();
+            }
+            discarded.forEach(e -> e.future.complete(null));
+        }
+
+        private void disconnect() {
+            disconnectedSinks.increment();
+            LogMessages.LOGGER.debugf("Disconnecting slow SSE consumer %s", sink);
+            try {
+                if (sink instanceof SseEventOutputImpl) {
+                    // do not wait for the queued data of a consumer which is too slow already
+                    ((SseEventOutputImpl) sink).closeNow();
+                } else {
+                    sink.close();
+                }
+            } catch (RuntimeException e) {
+                LogMessages.LOGGER.debug(e.getLocalizedMessage());
+            } finally {
+                notifyOnCloseListeners(sink);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                final PendingEvent next;
+                synchronized (this) {
+                    next = pending.pollFirst();
+                    if (next == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                final CompletableFuture<Void> sent = send(next);
+                if (!sent.isDone()) {
+                    // continue once the sink has written the event, without growing the stack
+                    sent.whenComplete((v, t) -> drain());
+                    return;
+                }
+            }
+        }
+
+        private CompletableFuture<Void> send(final PendingEvent pendingEvent) {
+            try {
+                final CompletionStage<?> send = pendingEvent.frame != null
+                        ? ((SseEventOutputImpl) sink).send(pendingEvent.event, pendingEvent.frame)
+                        : sink.send(pendingEvent.event);
+                return send.toCompletableFuture().handle((v, err) -> {
+                    if (err != null) {
+                        notifyOnErrorListeners(sink, err);
+                    }
+                    pendingEvent.future.complete(null);
+                    return null;
+                });
+            } catch (Exception e) {
+                notifyOnErrorListeners(sink, e);
+                pendingEvent.future.complete(null);
+                return pendingEvent.future;
+            }
+        }
+    }
+
+    private static final class PendingEvent {
+        private final OutboundSseEvent event;
+        private final byte[] frame;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingEvent(final OutboundSseEvent event, final byte[] frame) {
+            this.event = event;
+            this.frame = frame;
+        }
+    }
+
+    private static final class FrameKey {
+        private final MediaType mediaType;
+        private final MessageBodyWriter<?> writer;
+
+        private FrameKey(final MediaType mediaType, final MessageBodyWriter<?> writer) {
+            this.mediaType = mediaType;
+            this.writer = writer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof FrameKey))
+                return false;
+            final FrameKey other = (FrameKey) o;
+            return writer == other.writer && mediaType.equals(other.mediaType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(writer) + mediaType.hashCode();
         }
-        return ret;
     }
 }
@@ -109,6 +109,13 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
         close(true, null);
     }
 
+    /**
+     * Closes the sink without waiting for the data which has already been queued to be written.
+     */
+    void closeNow() {
+        close(false, null);
+    }
+
     @Deprecated
     protected void close(boolean flushBeforeClose) {
         close(flushBeforeClose, null);
@@ -193,6 +200,18 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
 
     @Override
     public CompletionStage<?> send(OutboundSseEvent event) {
+        return send(event, null);
+    }
+
+    /**
+     * Sends an event which has already been serialized by {@link #encode(OutboundSseEvent, MediaType)}, so the same
+     * frame can be written to many sinks without running the {@link MessageBodyWriter} for each of them.
+     *
+     * @param event the event
+     * @param frame the serialized event or {@code null} to serialize it for this sink
+     * @return a stage which completes once the event has been written
+     */
+    CompletionStage<?> send(OutboundSseEvent event, byte[] frame) {
         final int state = this.state.get();
         if (state == CLOSED) {
             // FIXME: should be this
@@ -204,15 +223,15 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
         }
         if (state == PASSTHROUGH) {
             synchronized (lock) {
-                return internalWriteEvent(event);
+                return internalWriteEvent(event, frame);
             }
         } else if (state == PROCESSING) {
-            final FutureEvent futureEvent = new FutureEvent(event);
+            final FutureEvent futureEvent = new FutureEvent(event, frame);
             events.addLast(futureEvent);
             return futureEvent.future
                     .thenRun(this::drainQueue);
         }
-        final FutureEvent futureEvent = new FutureEvent(event);
+        final FutureEvent futureEvent = new FutureEvent(event, frame);
         events.addLast(futureEvent);
         return internalFlushResponseToClient(true)
                 .thenRun(this::drainQueue)
@@ -231,49 +250,86 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
     @Deprecated
     protected CompletionStage<Void> writeEvent(OutboundSseEvent event) {
         synchronized (lock) {
-            return internalWriteEvent(event);
+            return internalWriteEvent(event, null);
+        }
+    }
+
+    /**
+     * Resolves the media type the data of the event is written with on this sink: the media type set on the event or
+     * else the element type of the response.
+     *
+     * @param event the event
+     * @return the media type
+     */
+    MediaType getEventMediaType(final OutboundSseEvent event) {
+        MediaType mediaType = event.getMediaType();
+        boolean mediaTypeSet = !(event instanceof OutboundSseEventImpl)
+                || ((OutboundSseEventImpl) event).isMediaTypeSet();
+        if (mediaType == null || !mediaTypeSet) {
+            Object o = response.getOutputHeaders().getFirst("Content-Type");
+            if (o != null) {
+                if (o instanceof MediaType) {
+                    MediaType mt = (MediaType) o;
+                    String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
+                    if (s != null) {
+                        mediaType = MediaType.valueOf(s);
+                    }
+                } else if (o instanceof String) {
+                    MediaType mt = MediaType.valueOf((String) o);
+                    String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
+                    if (s != null) {
+                        mediaType = MediaType.valueOf(s);
+                    }
+                } else {
+                    throw new RuntimeException(Messages.MESSAGES.expectedStringOrMediaType(o));
+                }
+            }
+        }
+        if (mediaType == null) {
+            mediaType = MediaType.TEXT_PLAIN_TYPE;
         }
+        return mediaType;
     }
 
-    private CompletionStage<Void> internalWriteEvent(final OutboundSseEvent event) {
+    MessageBodyWriter<OutboundSseEvent> getWriter() {
+        return writer;
+    }
+
+    /**
+     * Whether events can be serialized ahead of {@link #send(OutboundSseEvent, byte[])}. This is only the case once the
+     * response has been flushed, as the element media type is not known before.
+     */
+    boolean isEncodable() {
+        return responseFlushed && state.get() != CLOSED;
+    }
+
+    /**
+     * Serializes the event with the writer of this sink.
+     *
+     * @param event     the event
+     * @param mediaType the media type of the event's data, see {@link #getEventMediaType(OutboundSseEvent)}
+     * @return the serialized event
+     * @throws IOException if the event can not be written
+     */
+    byte[] encode(final OutboundSseEvent event, final MediaType mediaType) throws IOException {
+        try (CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextDataMap)) {
+            if (event instanceof OutboundSseEventImpl) {
+                ((OutboundSseEventImpl) event).setMediaType(mediaType);
+            }
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            writer.writeTo(event, event.getClass(), null, new Annotation[] {}, mediaType, null, bout);
+            return bout.toByteArray();
+        }
+    }
+
+    private CompletionStage<Void> internalWriteEvent(final OutboundSseEvent event, final byte[] frame) {
         synchronized (lock) {
             try (CloseableContext c = ResteasyContext.addCloseableContextDataLevel(contextDataMap)) {
                 if (event != null) {
-                    //// Check media type?
-                    ByteArrayOutputStream bout = new ByteArrayOutputStream();
-                    MediaType mediaType = event.getMediaType();
-                    boolean mediaTypeSet = !(event instanceof OutboundSseEventImpl)
-                            || ((OutboundSseEventImpl) event).isMediaTypeSet();
-                    if (mediaType == null || !mediaTypeSet) {
-                        Object o = response.getOutputHeaders().getFirst("Content-Type");
-                        if (o != null) {
-                            if (o instanceof MediaType) {
-                                MediaType mt = (MediaType) o;
-                                String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
-                                if (s != null) {
-                                    mediaType = MediaType.valueOf(s);
-                                }
-                            } else if (o instanceof String) {
-                                MediaType mt = MediaType.valueOf((String) o);
-                                String s = mt.getParameters().get(SseConstants.SSE_ELEMENT_MEDIA_TYPE);
-                                if (s != null) {
-                                    mediaType = MediaType.valueOf(s);
-                                }
-                            } else {
-                                throw new RuntimeException(Messages.MESSAGES.expectedStringOrMediaType(o));
-                            }
-                        }
-                    }
-                    if (mediaType == null) {
-                        mediaType = MediaType.TEXT_PLAIN_TYPE;
-                    }
-                    if (event instanceof OutboundSseEventImpl) {
-                        ((OutboundSseEventImpl) event).setMediaType(mediaType);
-                    }
-                    writer.writeTo(event, event.getClass(), null, new Annotation[] {}, mediaType, null, bout);
+                    final byte[] bytes = frame != null ? frame : encode(event, getEventMediaType(event));
                     AsyncOutputStream aos = response.getAsyncOutputStream();
                     // eager composition to guarantee ordering
-                    return aos.asyncWrite(bout.toByteArray())
+                    return aos.asyncWrite(bytes)
                             .thenCompose(v -> aos.asyncFlush())
                             .exceptionally(e -> {
                                 if (e instanceof CompletionException)
@@ -448,7 +504,7 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
             } else {
                 final OutboundSseEvent e = event.event;
                 final CompletableFuture<Void> future = event.future;
-                internalWriteEvent(e)
+                internalWriteEvent(e, event.frame)
                         .thenRun(() -> future.complete(null))
                         .exceptionally((error) -> {
                             LOG.debugf("Failed to process event %s - %s", future, e);
@@ -464,9 +520,11 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
     private static class FutureEvent {
         final CompletableFuture<Void> future;
         final OutboundSseEvent event;
+        final byte[] frame;
 
-        private FutureEvent(final OutboundSseEvent event) {
+        private FutureEvent(final OutboundSseEvent event, final byte[] frame) {
             this.event = event;
+            this.frame = frame;
             future = new CompletableFuture<>();
         }
     }
@@ -1,9 +1,17 @@
 package org.jboss.resteasy.plugins.providers.sse;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Locale;
+
 import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.Sse;
 import jakarta.ws.rs.sse.SseBroadcaster;
 
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.config.Configuration;
+import org.jboss.resteasy.spi.config.ConfigurationFactory;
+
 public class SseImpl implements Sse {
 
     @Override
@@ -13,6 +21,21 @@ public class SseImpl implements Sse {
 
     @Override
     public SseBroadcaster newBroadcaster() {
-        return new SseBroadcasterImpl();
+        final Configuration config = getConfiguration();
+        final int queueSize = config.getOptionalValue(ResteasyContextParameters.RESTEASY_SSE_BROADCASTER_QUEUE_SIZE,
+                Integer.class).orElse(0);
+        final SseBroadcasterImpl.SlowConsumerPolicy policy = config
+                .getOptionalValue(ResteasyContextParameters.RESTEASY_SSE_BROADCASTER_SLOW_CONSUMER_POLICY, String.class)
+                .map(value -> SseBroadcasterImpl.SlowConsumerPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT)))
+                .orElse(SseBroadcasterImpl.SlowConsumerPolicy.DROP_OLDEST);
+        return new SseBroadcasterImpl(queueSize, policy);
+    }
+
+    private static Configuration getConfiguration() {
+        if (System.getSecurityManager() == null) {
+            return ConfigurationFactory.getInstance().getConfiguration();
+        }
+        return AccessController
+                .doPrivileged((PrivilegedAction<Configuration>) () -> ConfigurationFactory.getInstance().getConfiguration());
     }
 }
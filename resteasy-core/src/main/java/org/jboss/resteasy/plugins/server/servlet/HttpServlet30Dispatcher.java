@@ -1,16 +1,33 @@
 package org.jboss.resteasy.plugins.server.servlet;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.NewCookie;
 
 import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
 import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.EntityOutputStream;
 import org.jboss.resteasy.spi.HttpRequest;
 import org.jboss.resteasy.spi.HttpResponse;
 
@@ -25,6 +42,54 @@ import org.jboss.resteasy.spi.HttpResponse;
 @WebServlet(asyncSupported = true, value = "/RESTEASY_HttpServlet30Dispatcher")
 public class HttpServlet30Dispatcher extends HttpServletDispatcher {
     ScheduledExecutorService asyncCancelScheduler = Executors.newScheduledThreadPool(0); // this is to get around TCK tests that call setTimeout in a separate thread which is illegal.
+    private static final String ENTITY_ATTRIBUTE = HttpServlet30Dispatcher.class.getName() + ".entity";
+
+    private boolean nonBlockingRead;
+
+    @Override
+    public void init(ServletConfig servletConfig) throws ServletException {
+        super.init(servletConfig);
+        nonBlockingRead = Boolean.parseBoolean(new ServletBootstrap(servletConfig)
+                .getParameter(ResteasyContextParameters.RESTEASY_SERVLET_NONBLOCKING_READ));
+    }
+
+    /**
+     * If {@link ResteasyContextParameters#RESTEASY_SERVLET_NONBLOCKING_READ} is enabled, the entity of a request is read
+     * with a {@link ReadListener} into an {@link EntityOutputStream} and the request is dispatched once it has been
+     * read completely. No container thread waits for the entity while it is sent, and resources read it from memory, or
+     * from a file if it exceeds the memory threshold.
+     */
+    @Override
+    public void service(String httpMethod, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final BufferedEntity entity = (BufferedEntity) request.getAttribute(ENTITY_ATTRIBUTE);
+        if (entity != null) {
+            request.removeAttribute(ENTITY_ATTRIBUTE);
+            super.service(entity.httpMethod, new BufferedEntityRequest(request, entity.entity), response);
+        } else if (nonBlockingRead && isReadNonBlocking(request)) {
+            // keeps the request and response wrappers of the filters for the dispatch
+            final AsyncContext asyncContext = request.startAsync(request, response);
+            final ServletInputStream in = request.getInputStream();
+            in.setReadListener(new EntityReader(httpMethod, asyncContext, in));
+        } else {
+            super.service(httpMethod, request, response);
+        }
+    }
+
+    private static boolean isReadNonBlocking(HttpServletRequest request) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !request.isAsyncSupported()) {
+            return false;
+        }
+        if (request.getContentLengthLong() <= 0 && request.getHeader("Transfer-Encoding") == null) {
+            return false;
+        }
+        // the container reads forms itself for the request parameters and parts
+        final String contentType = request.getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        final String type = contentType.toLowerCase(Locale.ROOT);
+        return !type.startsWith(MediaType.APPLICATION_FORM_URLENCODED) && !type.startsWith(MediaType.MULTIPART_FORM_DATA);
+    }
 
     @Override
     protected HttpRequest createHttpRequest(String httpMethod, HttpServletRequest httpServletRequest,
@@ -43,4 +108,146 @@ public class HttpServlet30Dispatcher extends HttpServletDispatcher {
             }
         };
     }
+
+    private static class BufferedEntity {
+        final String httpMethod;
+        final InputStream entity;
+
+        BufferedEntity(final String httpMethod, final InputStream entity) {
+            this.httpMethod = httpMethod;
+            this.entity = entity;
+        }
+    }
+
+    /**
+     * Reads the entity while the container reports it is available, and dispatches the request again once it has been
+     * read.
+     */
+    private static class EntityReader implements ReadListener {
+        private final String httpMethod;
+        private final AsyncContext asyncContext;
+        private final ServletInputStream in;
+        private final EntityOutputStream entity = new EntityOutputStream();
+        private final byte[] buffer = new byte[8192];
+        private volatile boolean tooLarge;
+
+        EntityReader(final String httpMethod, final AsyncContext asyncContext, final ServletInputStream in) {
+            this.httpMethod = httpMethod;
+            this.asyncContext = asyncContext;
+            this.in = in;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            int read;
+            while (in.isReady() && (read = in.read(buffer)) != -1) {
+                try {
+                    entity.write(buffer, 0, read);
+                } catch (IllegalStateException e) {
+                    // the file threshold has been reached
+                    tooLarge = true;
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            asyncContext.getRequest().setAttribute(ENTITY_ATTRIBUTE, new BufferedEntity(httpMethod, entity.toInputStream()));
+            asyncContext.dispatch();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // deletes the file the entity may have been written to
+            try (InputStream ignored = entity.toInputStream()) {
+                LogMessages.LOGGER.debugf(t, "Failed to read the entity of %s", asyncContext.getRequest());
+            } catch (IOException | IllegalStateException e) {
+                LogMessages.LOGGER.tracef(e, "Failed to discard the entity of %s", asyncContext.getRequest());
+            }
+            try {
+                final HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+                if (!response.isCommitted()) {
+                    response.sendError(tooLarge ? HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE
+                            : HttpServletResponse.SC_BAD_REQUEST);
+                }
+            } catch (IOException e) {
+                LogMessages.LOGGER.tracef(e, "Failed to send the error response for %s", asyncContext.getRequest());
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
+
+    /**
+     * A request whose entity has already been read.
+     */
+    private static class BufferedEntityRequest extends HttpServletRequestWrapper {
+        private final ServletInputStream in;
+
+        BufferedEntityRequest(final HttpServletRequest request, final InputStream entity) {
+            super(request);
+            in = new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    final int b = entity.read();
+                    finished = b == -1;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    final int read = entity.read(b, off, len);
+                    finished = read == -1;
+                    return read;
+                }
+
+                @Override
+                public int available() throws IOException {
+                    return entity.available();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    entity.close();
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return in;
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            final String encoding = getCharacterEncoding();
+            if (encoding == null) {
+                return new BufferedReader(new InputStreamReader(in, StandardCharsets.ISO_8859_1));
+            }
+            return new BufferedReader(new InputStreamReader(in, encoding));
+        }
+    }
 }
@@ -101,6 +101,22 @@ public interface ResteasyContextParameters {
     String RESTEASY_FAIL_FAST_ON_MULTIPLE_RESOURCES_MATCHING = "resteasy.fail.fast.on.multiple.resources.matching";
     String RESTEASY_MATCH_CACHE_ENABLED = "resteasy.match.cache.enabled";
     String RESTEASY_MATCH_CACHE_SIZE = "resteasy.match.cache.size";
+    String RESTEASY_MATCH_TEMPLATE_COMPILATION = "resteasy.match.template.compilation";
+    String RESTEASY_MEDIA_TYPE_MAP_CACHE_SIZE = "resteasy.media.type.map.cache.size";
+    String RESTEASY_SSE_BROADCASTER_QUEUE_SIZE = "resteasy.sse.broadcaster.queue.size";
+    String RESTEASY_SSE_BROADCASTER_SLOW_CONSUMER_POLICY = "resteasy.sse.broadcaster.slow.consumer.policy";
+    String RESTEASY_METHOD_HANDLE_INVOKERS = "resteasy.method.handle.invokers";
+    String RESTEASY_SERVER_VIRTUAL_THREADS = "resteasy.server.virtual.threads";
+    /**
+     * If {@code true}, {@code HttpServlet30Dispatcher} reads request entities with a {@code ReadListener} before
+     * dispatching them. Default is {@code false}.
+     * <p>
+     * The request is dispatched again with {@code AsyncContext.dispatch()} once the entity has been read. Filters which
+     * wrap the request or the response, or which have to run for the dispatched request, must therefore be mapped with
+     * the {@code ASYNC} dispatcher type as well.
+     * </p>
+     */
+    String RESTEASY_SERVLET_NONBLOCKING_READ = "resteasy.servlet.nonblocking.read";
 
     // Added for non-quarkus servers - to enable generated proxies to implement all interfaces of delegate object.
     String RESTEASY_PROXY_IMPLEMENT_ALL_INTERFACES = "resteasy.proxy.implement.all.interfaces"; // default is false
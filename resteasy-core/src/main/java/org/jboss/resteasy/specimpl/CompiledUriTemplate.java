@@ -0,0 +1,142 @@
+package org.jboss.resteasy.specimpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.jboss.resteasy.resteasy_jaxrs.i18n.Messages;
+import org.jboss.resteasy.util.Encode;
+
+/**
+ * A component of a URI template, like the path of a {@link ResteasyUriBuilderImpl}, parsed once into its literal text
+ * and its template parameters.
+ * <p>
+ * The literal text of a template is already encoded, so expanding the template only appends the literals and the
+ * encoded parameter values to a {@link StringBuilder}. Instances are immutable and are shared by the clones of a
+ * builder.
+ * </p>
+ *
+ * @since 6.3
+ */
+final class CompiledUriTemplate {
+
+    private static final Pattern VALUE_REGEX = Pattern.compile("\\{[^/\\$]*");
+
+    private final String template;
+    // the literal i precedes the parameter i, the last literal follows the last parameter
+    private final String[] literals;
+    private final String[] names;
+    // the text of each parameter, kept when a template is only partially resolved
+    private final String[] parameters;
+    private final String valueRegex;
+    private final Pattern valuePattern;
+
+    private CompiledUriTemplate(final String template, final String[] literals, final String[] names,
+            final String[] parameters, final String valueRegex, final Pattern valuePattern) {
+        this.template = template;
+        this.literals = literals;
+        this.names = names;
+        this.parameters = parameters;
+        this.valueRegex = valueRegex;
+        this.valuePattern = valuePattern;
+    }
+
+    static CompiledUriTemplate compile(final String template) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<String> parameters = new ArrayList<>();
+        final Matcher matcher = ResteasyUriBuilderImpl.createUriParamMatcher(template);
+        int start = 0;
+        while (matcher.find()) {
+            literals.add(template.substring(start, matcher.start()));
+            names.add(matcher.group(1));
+            parameters.add(matcher.group());
+            start = matcher.end();
+        }
+        literals.add(template.substring(start));
+
+        // Like the builder always did, the regex of the first parameter, if it is not followed by a '/', restricts the
+        // values of all parameters
+        String valueRegex = null;
+        Pattern valuePattern = null;
+        final Matcher regex = VALUE_REGEX.matcher(template);
+        if (regex.find()) {
+            final String group = regex.group();
+            if (group.indexOf(':') != -1 && group.endsWith("}")) {
+                valueRegex = group.substring(group.indexOf(':') + 1, group.length() - 1).trim();
+                try {
+                    valuePattern = Pattern.compile(valueRegex);
+                } catch (PatternSyntaxException e) {
+                    // reported when a value is substituted, as before
+                }
+            }
+        }
+        return new CompiledUriTemplate(template, literals.toArray(new String[0]), names.toArray(new String[0]),
+                parameters.toArray(new String[0]), valueRegex, valuePattern);
+    }
+
+    /**
+     * @param template a template
+     * @return whether this was compiled from the template
+     */
+    boolean isCompiledFrom(final String template) {
+        return this.template.equals(template);
+    }
+
+    /**
+     * Appends the template with its parameters replaced by the encoded values.
+     *
+     * @param values         the values of the parameters
+     * @param fromEncodedMap whether the values are already encoded
+     * @param isTemplate     whether parameters without a value are kept, otherwise they are rejected
+     * @param encodeSlash    whether a '/' in a value is encoded
+     * @param builder        the builder the expanded template is appended to
+     * @return the builder
+     */
+    StringBuilder expand(final Map<String, ? extends Object> values, final boolean fromEncodedMap,
+            final boolean isTemplate, final boolean encodeSlash, final StringBuilder builder) {
+        for (int i = 0; i < names.length; i++) {
+            builder.append(literals[i]);
+            final String param = names[i];
+            if (!values.containsKey(param)) {
+                if (isTemplate) {
+                    builder.append(parameters[i]);
+                    continue;
+                }
+                throw new IllegalArgumentException(Messages.MESSAGES.pathParameterNotProvided(param));
+            }
+            final Object value = values.get(param);
+            if (value == null) {
+                throw new IllegalArgumentException(Messages.MESSAGES.templateParameterNull(param));
+            }
+            String stringValue = value.toString();
+            checkValue(param, stringValue);
+            if (!fromEncodedMap) {
+                if (encodeSlash)
+                    stringValue = Encode.encodePathSegmentAsIs(stringValue);
+                else
+                    stringValue = Encode.encodePathAsIs(stringValue);
+            } else {
+                if (encodeSlash)
+                    stringValue = Encode.encodePathSegmentSaveEncodings(stringValue);
+                else
+                    stringValue = Encode.encodePathSaveEncodings(stringValue);
+            }
+            builder.append(stringValue);
+        }
+        return builder.append(literals[names.length]);
+    }
+
+    private void checkValue(final String param, final String value) {
+        if (valueRegex == null) {
+            return;
+        }
+        final Pattern pattern = valuePattern != null ? valuePattern : Pattern.compile(valueRegex);
+        if (!pattern.matcher(value).matches()) {
+            throw new IllegalArgumentException(Messages.MESSAGES.regexPathParameterResultEmpty(param, valueRegex));
+        }
+    }
+}
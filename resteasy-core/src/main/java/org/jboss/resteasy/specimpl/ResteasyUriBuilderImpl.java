@@ -83,6 +83,8 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
     private String fragment;
     private String ssp;
     private String authority;
+    // the parsed path template, shared with the clones of this builder
+    private CompiledUriTemplate compiledPath;
 
     public ResteasyUriBuilderImpl() {
     }
@@ -116,10 +118,29 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
         impl.fragment = fragment;
         impl.ssp = ssp;
         impl.authority = authority;
+        if (path != null && path.indexOf('{') != -1)
+            impl.compiledPath = compiledPath();
 
         return impl;
     }
 
+    private CompiledUriTemplate compiledPath() {
+        CompiledUriTemplate compiled = compiledPath;
+        if (compiled == null || !compiled.isCompiledFrom(path)) {
+            compiled = CompiledUriTemplate.compile(path);
+            compiledPath = compiled;
+        }
+        return compiled;
+    }
+
+    private StringBuilder replacePathParameters(Map<String, ? extends Object> paramMap, boolean fromEncodedMap,
+            boolean isTemplate, StringBuilder builder, boolean encodeSlash) {
+        if (path.indexOf('{') == -1) {
+            return builder.append(path);
+        }
+        return compiledPath().expand(paramMap, fromEncodedMap, isTemplate, encodeSlash, builder);
+    }
+
     private static final Pattern hostPortPattern = Pattern.compile("([^/:]+):(\\d+)");
     private static final Pattern squareHostBrackets = Pattern
             .compile("(\\[(([0-9A-Fa-f]{0,4}:){2,7})([0-9A-Fa-f]{0,4})%?.*\\]):(\\d+)");
@@ -565,13 +586,12 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
             replaceParameter(paramMap, fromEncodedMap, isTemplate, authority, builder, encodeSlash);
         }
         if (path != null) {
-            StringBuilder tmp = new StringBuilder();
-            replaceParameter(paramMap, fromEncodedMap, isTemplate, path, tmp, encodeSlash);
+            int start = builder.length();
+            replacePathParameters(paramMap, fromEncodedMap, isTemplate, builder, encodeSlash);
             if (userInfo != null || host != null) {
-                if (tmp.length() > 0 && tmp.charAt(0) != '/')
-                    builder.append("/");
+                if (builder.length() > start && builder.charAt(start) != '/')
+                    builder.insert(start, '/');
             }
-            builder.append(tmp);
         }
         if (query != null) {
             builder.append("?");
@@ -1083,7 +1103,7 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
             throw new IllegalArgumentException(Messages.MESSAGES.templateValuesParamNull());
         if (templateValues.containsKey(null))
             throw new IllegalArgumentException(Messages.MESSAGES.mapKeyNull());
-        return uriTemplate(buildCharSequence(templateValues, false, true, true));
+        return resolve(templateValues, false, true);
     }
 
     @Override
@@ -1094,7 +1114,7 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
             throw new IllegalArgumentException(Messages.MESSAGES.valueParamIsNull());
         HashMap<String, Object> vals = new HashMap<String, Object>();
         vals.put(name, value);
-        return uriTemplate(buildCharSequence(vals, false, true, encodeSlashInPath));
+        return resolve(vals, false, encodeSlashInPath);
     }
 
     @Override
@@ -1105,7 +1125,7 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
             throw new IllegalArgumentException(Messages.MESSAGES.valueParamIsNull());
         HashMap<String, Object> vals = new HashMap<String, Object>();
         vals.put(name, value);
-        return uriTemplate(buildCharSequence(vals, true, true, true));
+        return resolve(vals, true, true);
     }
 
     @Override
@@ -1115,7 +1135,7 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
             throw new IllegalArgumentException(Messages.MESSAGES.templateValuesParamNull());
         if (templateValues.containsKey(null))
             throw new IllegalArgumentException(Messages.MESSAGES.mapKeyNull());
-        return uriTemplate(buildCharSequence(templateValues, false, true, encodeSlashInPath));
+        return resolve(templateValues, false, encodeSlashInPath);
     }
 
     @Override
@@ -1124,7 +1144,36 @@ public class ResteasyUriBuilderImpl extends ResteasyUriBuilder {
             throw new IllegalArgumentException(Messages.MESSAGES.templateValuesParamNull());
         if (templateValues.containsKey(null))
             throw new IllegalArgumentException(Messages.MESSAGES.mapKeyNull());
-        return uriTemplate(buildCharSequence(templateValues, true, true, true));
+        return resolve(templateValues, true, true);
+    }
+
+    /**
+     * Replaces the template parameters which have a value. Parameters in the path and the query are replaced in place,
+     * a resolved value is encoded so it cannot change how the URI splits into its components. Otherwise the resolved
+     * template is parsed again.
+     */
+    private UriBuilder resolve(Map<String, ? extends Object> templateValues, boolean fromEncodedMap, boolean encodeSlash) {
+        if (ssp != null || "".equals(host) || hasParameter(scheme) || hasParameter(userInfo) || hasParameter(host)
+                || hasParameter(authority) || hasParameter(fragment)) {
+            return uriTemplate(buildCharSequence(templateValues, fromEncodedMap, true, encodeSlash));
+        }
+        if (path != null) {
+            if (path.indexOf('{') != -1) {
+                path = replacePathParameters(templateValues, fromEncodedMap, true, new StringBuilder(), encodeSlash)
+                        .toString();
+            }
+            if ((userInfo != null || host != null) && !path.isEmpty() && path.charAt(0) != '/') {
+                path = "/" + path;
+            }
+        }
+        if (query != null && query.indexOf('{') != -1) {
+            query = replaceQueryStringParameter(templateValues, fromEncodedMap, true, query, new StringBuilder()).toString();
+        }
+        return this;
+    }
+
+    private static boolean hasParameter(String component) {
+        return component != null && component.indexOf('{') != -1;
     }
 
     /**
@@ -1,12 +1,8 @@
 package org.jboss.resteasy.specimpl;
 
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -21,6 +17,11 @@ import org.jboss.resteasy.util.PathHelper;
 
 /**
  * UriInfo implementation with some added extra methods to help process requests.
+ * <p>
+ * Only the encoded path and the path used for matching are computed when the instance is created. The decoded path,
+ * the path segments, the query parameters and the path segments of path parameters are computed from the offsets into
+ * the request URI the first time they are requested.
+ * </p>
  *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
@@ -31,10 +32,13 @@ public class ResteasyUriInfo implements UriInfo {
     private String matchingPath;
     private MultivaluedMap<String, String> queryParameters;
     private MultivaluedMap<String, String> encodedQueryParameters;
+    private MultivaluedMap<String, String> unmodifiableQueryParameters;
+    private MultivaluedMap<String, String> unmodifiableEncodedQueryParameters;
     private MultivaluedMap<String, String> pathParameters;
     private MultivaluedMap<String, String> encodedPathParameters;
     private MultivaluedMap<String, PathSegment[]> pathParameterPathSegments;
     private MultivaluedMap<String, PathSegment[]> encodedPathParameterPathSegments;
+    private List<SegmentRange> pendingPathParameterSegments;
 
     private List<PathSegment> pathSegments;
     private List<PathSegment> encodedPathSegments;
@@ -43,7 +47,7 @@ public class ResteasyUriInfo implements UriInfo {
     private URI baseURI;
     private List<String> matchedUris;
     private List<String> encodedMatchedUris;
-    private List<String> encodedMatchedPaths = new LinkedList<String>();
+    private List<String> encodedMatchedPaths;
     private List<Object> ancestors;
     private String absoluteString;
     private String contextPath;
@@ -68,7 +72,11 @@ public class ResteasyUriInfo implements UriInfo {
         this.contextPath = contextPath;
 
         if (initData == null) {
-            initData = new InitData(absoluteUri, contextPath);
+            this.pathStart = pathStart(absoluteUri);
+            this.queryIdx = absoluteUri.indexOf('?', pathStart);
+            this.encodedPath = encodedPath(absoluteUri, pathStart, queryIdx, contextPath);
+            processPath();
+            return;
         }
         this.queryIdx = initData.getQueryIdx();
         this.pathStart = initData.getPathStart();
@@ -84,6 +92,8 @@ public class ResteasyUriInfo implements UriInfo {
                 .createUriBuilder()).uriFromCharSequence((CharSequence) absoluteUri);
         absolutePath = absoluteBuilder.build();
         requestURI = absoluteBuilder.replaceQuery(queryString).build();
+        // the offsets into the previous request URI no longer apply
+        absoluteString = null;
         encodedPath = PathHelper.getEncodedPathInfo(absolutePath.getRawPath(), contextPath);
         baseURI = absolutePath;
         if (!encodedPath.trim().equals("")) {
@@ -100,8 +110,8 @@ public class ResteasyUriInfo implements UriInfo {
         if (encodedPath.length() == 0 || encodedPath.charAt(0) != '/') {
             encodedPath = "/" + encodedPath;
         }
-        path = UriBuilder.fromPath(encodedPath).build().getPath();
         processPath();
+        path = UriBuilder.fromPath(encodedPath).build().getPath();
     }
 
     public ResteasyUriInfo(final URI base, final URI relative) {
@@ -121,7 +131,9 @@ public class ResteasyUriInfo implements UriInfo {
         requestURI = requestUriBuilder.build();
         absolutePath = requestUriBuilder.replaceQuery(null).build();
         baseURI = base;
+        String decodedPath = path;
         processPath();
+        path = decodedPath;
     }
 
     public void setUri(URI base, URI relative) {
@@ -134,20 +146,26 @@ public class ResteasyUriInfo implements UriInfo {
     }
 
     protected void processPath() {
-        ProcessPathResult processPathResult = doProcessPath(encodedPath);
-        this.encodedPathSegments = processPathResult.getEncodedPathSegments();
-        this.pathSegments = processPathResult.getPathSegments();
-        this.matchingPath = processPathResult.getMatchingPath();
+        path = null;
+        pathSegments = null;
+        if (encodedPath.indexOf(';') < 0) {
+            // without matrix parameters the segments are only parsed if they are requested
+            encodedPathSegments = null;
+            matchingPath = encodedPath;
+            if (matchingPath.length() > 1 && matchingPath.endsWith("/")) {
+                matchingPath = matchingPath.substring(0, matchingPath.length() - 1);
+            }
+        } else {
+            encodedPathSegments = PathSegmentImpl.parseSegments(encodedPath, false);
+            matchingPath = doExtractMatchingPath(encodedPathSegments);
+        }
     }
 
     private static ProcessPathResult doProcessPath(String encodedPath) {
         PathSegmentImpl.SegmentParse parse = PathSegmentImpl.parseSegmentsOptimization(encodedPath, false);
         List<PathSegment> encodedPathSegments = parse.segments;
 
-        List<PathSegment> pathSegments = new ArrayList<>(encodedPathSegments.size());
-        for (PathSegment segment : encodedPathSegments) {
-            pathSegments.add(new PathSegmentImpl(((PathSegmentImpl) segment).getOriginal(), true));
-        }
+        List<PathSegment> pathSegments = decodeSegments(encodedPathSegments);
 
         String matchingPath;
         if (parse.hasMatrixParams) {
@@ -161,6 +179,14 @@ public class ResteasyUriInfo implements UriInfo {
         return new ProcessPathResult(encodedPathSegments, pathSegments, matchingPath);
     }
 
+    private static List<PathSegment> decodeSegments(List<PathSegment> encodedPathSegments) {
+        List<PathSegment> pathSegments = new ArrayList<>(encodedPathSegments.size());
+        for (PathSegment segment : encodedPathSegments) {
+            pathSegments.add(new PathSegmentImpl(((PathSegmentImpl) segment).getOriginal(), true));
+        }
+        return pathSegments;
+    }
+
     private static class ProcessPathResult {
         private final List<PathSegment> encodedPathSegments;
         private final List<PathSegment> pathSegments;
@@ -186,6 +212,21 @@ public class ResteasyUriInfo implements UriInfo {
         }
     }
 
+    /**
+     * A path parameter whose path segments are resolved when they are requested.
+     */
+    private static class SegmentRange {
+        private final String name;
+        private final int index;
+        private final int count;
+
+        private SegmentRange(final String name, final int index, final int count) {
+            this.name = name;
+            this.index = index;
+            this.count = count;
+        }
+    }
+
     public ResteasyUriInfo(final URI requestURI) {
         initializeFromRequest(requestURI);
 
@@ -203,7 +244,9 @@ public class ResteasyUriInfo implements UriInfo {
         this.requestURI = requestURI;
         baseURI = UriBuilder.fromUri(requestURI).replacePath("").build();
         absolutePath = UriBuilder.fromUri(requestURI).replaceQuery(null).build();
+        String decodedPath = path;
         processPath();
+        path = decodedPath;
     }
 
     private static String doExtractMatchingPath(List<PathSegment> encodedPathSegments) {
@@ -242,6 +285,9 @@ public class ResteasyUriInfo implements UriInfo {
     }
 
     public String getPath() {
+        if (path == null) {
+            path = Encode.decodePath(encodedPath);
+        }
         return path;
     }
 
@@ -252,15 +298,40 @@ public class ResteasyUriInfo implements UriInfo {
     }
 
     public List<PathSegment> getPathSegments() {
+        if (pathSegments == null) {
+            pathSegments = decodeSegments(getPathSegments(false));
+        }
         return pathSegments;
     }
 
     public List<PathSegment> getPathSegments(boolean decode) {
         if (decode)
             return getPathSegments();
+        if (encodedPathSegments == null) {
+            encodedPathSegments = PathSegmentImpl.parseSegments(encodedPath, false);
+        }
         return encodedPathSegments;
     }
 
+    /**
+     * Returns the number of path segments without parsing them.
+     *
+     * @return the number of path segments
+     */
+    public int getPathSegmentCount() {
+        if (encodedPathSegments != null) {
+            return encodedPathSegments.size();
+        }
+        // same as PathSegmentImpl.parseSegments: a leading and a trailing '/' do not start a segment
+        int count = 1;
+        for (int i = encodedPath.startsWith("/") ? 1 : 0; i < encodedPath.length() - 1; i++) {
+            if (encodedPath.charAt(i) == '/') {
+                count++;
+            }
+        }
+        return count;
+    }
+
     public URI getRequestUri() {
         if (requestURI == null) {
             requestURI = URI.create(absoluteString);
@@ -322,6 +393,7 @@ public class ResteasyUriInfo implements UriInfo {
     }
 
     public MultivaluedMap<String, PathSegment[]> getEncodedPathParameterPathSegments() {
+        resolvePathParameterSegments();
         if (encodedPathParameterPathSegments == null) {
             encodedPathParameterPathSegments = new MultivaluedMapImpl<String, PathSegment[]>();
         }
@@ -329,12 +401,50 @@ public class ResteasyUriInfo implements UriInfo {
     }
 
     public MultivaluedMap<String, PathSegment[]> getPathParameterPathSegments() {
+        resolvePathParameterSegments();
         if (pathParameterPathSegments == null) {
             pathParameterPathSegments = new MultivaluedMapImpl<String, PathSegment[]>();
         }
         return pathParameterPathSegments;
     }
 
+    /**
+     * Adds the path segments of a path parameter. The segments are only parsed when the path segments of the path
+     * parameters are requested.
+     *
+     * @param name         the name of the path parameter
+     * @param segmentIndex the index of the first segment of the parameter
+     * @param numSegments  the number of segments of the parameter
+     */
+    public void addPathParameterSegments(String name, int segmentIndex, int numSegments) {
+        if (pendingPathParameterSegments == null) {
+            pendingPathParameterSegments = new ArrayList<>(4);
+        }
+        pendingPathParameterSegments.add(new SegmentRange(name, segmentIndex, numSegments));
+    }
+
+    private void resolvePathParameterSegments() {
+        if (pendingPathParameterSegments == null) {
+            return;
+        }
+        final List<SegmentRange> pending = pendingPathParameterSegments;
+        pendingPathParameterSegments = null;
+        final List<PathSegment> encoded = getPathSegments(false);
+        final List<PathSegment> decoded = getPathSegments(true);
+        final MultivaluedMap<String, PathSegment[]> encodedSegments = getEncodedPathParameterPathSegments();
+        final MultivaluedMap<String, PathSegment[]> decodedSegments = getPathParameterPathSegments();
+        for (SegmentRange range : pending) {
+            PathSegment[] encodedRange = new PathSegment[range.count];
+            PathSegment[] decodedRange = new PathSegment[range.count];
+            for (int i = 0; i < range.count; i++) {
+                encodedRange[i] = encoded.get(range.index + i);
+                decodedRange[i] = decoded.get(range.index + i);
+            }
+            encodedSegments.add(range.name, encodedRange);
+            decodedSegments.add(range.name, decodedRange);
+        }
+    }
+
     public MultivaluedMap<String, String> getPathParameters(boolean decode) {
         if (decode)
             return getPathParameters();
@@ -342,17 +452,23 @@ public class ResteasyUriInfo implements UriInfo {
     }
 
     public MultivaluedMap<String, String> getQueryParameters() {
-        if (queryParameters == null) {
-            extractParameters();
+        if (unmodifiableQueryParameters == null) {
+            if (queryParameters == null) {
+                extractParameters(true);
+            }
+            unmodifiableQueryParameters = new UnmodifiableMultivaluedMap<>(queryParameters);
         }
-        return new UnmodifiableMultivaluedMap<>(queryParameters);
+        return unmodifiableQueryParameters;
     }
 
     protected MultivaluedMap<String, String> getEncodedQueryParameters() {
-        if (encodedQueryParameters == null) {
-            extractParameters();
+        if (unmodifiableEncodedQueryParameters == null) {
+            if (encodedQueryParameters == null) {
+                extractParameters(false);
+            }
+            unmodifiableEncodedQueryParameters = new UnmodifiableMultivaluedMap<>(encodedQueryParameters);
         }
-        return new UnmodifiableMultivaluedMap<>(encodedQueryParameters);
+        return unmodifiableEncodedQueryParameters;
     }
 
     public MultivaluedMap<String, String> getQueryParameters(boolean decode) {
@@ -365,38 +481,61 @@ public class ResteasyUriInfo implements UriInfo {
     private void clearQueryParameters(boolean decode) {
         queryParameters = null;
         encodedQueryParameters = null;
+        unmodifiableQueryParameters = null;
+        unmodifiableEncodedQueryParameters = null;
     }
 
     protected void extractParameters() {
-        queryParameters = new MultivaluedMapImpl<>();
-        encodedQueryParameters = new MultivaluedMapImpl<>();
-        String queryString = getRequestUri().getRawQuery();
-        if (queryString == null || queryString.equals(""))
+        extractParameters(true);
+        extractParameters(false);
+    }
+
+    private void extractParameters(boolean decode) {
+        MultivaluedMap<String, String> parameters = new MultivaluedMapImpl<>();
+        if (decode) {
+            queryParameters = parameters;
+        } else {
+            encodedQueryParameters = parameters;
+        }
+        String queryString = getRawQuery();
+        if (queryString == null || queryString.isEmpty())
             return;
 
-        String[] params = queryString.split("&");
-
-        for (String param : params) {
-            if (param.indexOf('=') >= 0) {
-                String[] nv = param.split("=", 2);
-                try {
-                    String name = URLDecoder.decode(nv[0], StandardCharsets.UTF_8.name());
-                    String val = nv.length > 1 ? nv[1] : "";
-                    encodedQueryParameters.add(name, val);
-                    queryParameters.add(name, URLDecoder.decode(val, StandardCharsets.UTF_8.name()));
-                } catch (UnsupportedEncodingException e) {
-                    throw new RuntimeException(e);
-                }
+        // trailing empty parameters are ignored
+        int length = queryString.length();
+        while (length > 0 && queryString.charAt(length - 1) == '&') {
+            length--;
+        }
+        int start = 0;
+        while (start < length) {
+            int end = queryString.indexOf('&', start);
+            if (end < 0 || end > length) {
+                end = length;
+            }
+            int eq = queryString.indexOf('=', start);
+            if (eq >= 0 && eq < end) {
+                String name = Encode.decode(queryString.substring(start, eq));
+                String val = queryString.substring(eq + 1, end);
+                parameters.add(name, decode ? Encode.decode(val) : val);
             } else {
-                try {
-                    String name = URLDecoder.decode(param, StandardCharsets.UTF_8.name());
-                    encodedQueryParameters.add(name, "");
-                    queryParameters.add(name, "");
-                } catch (UnsupportedEncodingException e) {
-                    throw new RuntimeException(e);
-                }
+                parameters.add(Encode.decode(queryString.substring(start, end)), "");
             }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * The raw query of the request, taken from the offsets into the request URI if the {@link URI} was not created.
+     */
+    private String getRawQuery() {
+        if (absoluteString == null || requestURI != null) {
+            return getRequestUri().getRawQuery();
+        }
+        if (queryIdx < 0) {
+            return null;
         }
+        int fragment = absoluteString.indexOf('#', queryIdx);
+        return absoluteString.substring(queryIdx + 1, fragment < 0 ? absoluteString.length() : fragment);
     }
 
     public List<String> getMatchedURIs(boolean decode) {
@@ -404,7 +543,7 @@ public class ResteasyUriInfo implements UriInfo {
             if (matchedUris == null) {
                 if (encodedMatchedUris != null) {
                     // This method is rarely called in user code, so just decode it on demand.
-                    matchedUris = new LinkedList<String>();
+                    matchedUris = new ArrayList<String>(encodedMatchedUris.size());
                     for (String match : encodedMatchedUris) {
                         String decoded = Encode.decode(match);
                         matchedUris.add(decoded);
@@ -427,21 +566,25 @@ public class ResteasyUriInfo implements UriInfo {
 
     public List<Object> getMatchedResources() {
         if (ancestors == null)
-            ancestors = new LinkedList<Object>();
+            ancestors = new ArrayList<Object>(4);
         return ancestors;
     }
 
     public void pushCurrentResource(Object resource) {
         if (ancestors == null)
-            ancestors = new LinkedList<Object>();
+            ancestors = new ArrayList<Object>(4);
         ancestors.add(0, resource);
     }
 
     public void pushMatchedPath(String encoded) {
+        if (encodedMatchedPaths == null)
+            encodedMatchedPaths = new ArrayList<String>(4);
         encodedMatchedPaths.add(0, encoded);
     }
 
     public List<String> getEncodedMatchedPaths() {
+        if (encodedMatchedPaths == null)
+            return Collections.emptyList();
         return encodedMatchedPaths;
     }
 
@@ -454,7 +597,7 @@ public class ResteasyUriInfo implements UriInfo {
         int end = (encoded.endsWith("/")) ? encoded.length() - 1 : encoded.length();
         encoded = start < end ? encoded.substring(start, end) : "";
         if (encodedMatchedUris == null)
-            encodedMatchedUris = new LinkedList<String>();
+            encodedMatchedUris = new ArrayList<String>(4);
         encodedMatchedUris.add(0, encoded);
         // Don't decode and add to matchedUris as getMatchedURIs() is rarely called in user code
         // So, we just clear matchedUris every time its invoked.
@@ -477,6 +620,29 @@ public class ResteasyUriInfo implements UriInfo {
         return ResteasyUriBuilderImpl.relativize(from, to);
     }
 
+    private static int pathStart(String absoluteUri) {
+        int pathIdx = absoluteUri.indexOf('/');
+        if (pathIdx > 0 && absoluteUri.length() > 3) {
+            if (absoluteUri.charAt(pathIdx - 1) == ':' && absoluteUri.charAt(pathIdx + 1) == '/') {
+                pathIdx = pathIdx + 2;
+                int tmp = absoluteUri.indexOf('/', pathIdx);
+                if (tmp > -1)
+                    pathIdx = tmp;
+            }
+        }
+        return pathIdx > -1 ? pathIdx : 0;
+    }
+
+    private static String encodedPath(String absoluteUri, int pathStart, int queryIdx, String contextPath) {
+        int endPath = queryIdx > -1 ? queryIdx : absoluteUri.length();
+        String encodedPath = endPath > pathStart ? absoluteUri.substring(pathStart, endPath) : "";
+        encodedPath = PathHelper.getEncodedPathInfo(encodedPath, contextPath);
+        if (encodedPath.length() == 0 || encodedPath.charAt(0) != '/') {
+            encodedPath = "/" + encodedPath;
+        }
+        return encodedPath;
+    }
+
     /**
      * Holds the data that is needed to initialize ResteasyUriInfo
      * The reason to extract this data into a separate class is that it's expensive
@@ -492,25 +658,9 @@ public class ResteasyUriInfo implements UriInfo {
         private final String matchingPath;
 
         public InitData(final String absoluteUri, final String contextPath) {
-            int pathIdx = absoluteUri.indexOf('/');
-            if (pathIdx > 0 && absoluteUri.length() > 3) {
-                if (absoluteUri.charAt(pathIdx - 1) == ':' && absoluteUri.charAt(pathIdx + 1) == '/') {
-                    pathIdx = pathIdx + 2;
-                    int tmp = absoluteUri.indexOf('/', pathIdx);
-                    if (tmp > -1)
-                        pathIdx = tmp;
-                }
-            }
-            queryIdx = pathIdx > -1 ? absoluteUri.indexOf('?', pathIdx) : absoluteUri.indexOf('?');
-            int endPath = queryIdx > -1 ? queryIdx : absoluteUri.length();
-            pathStart = pathIdx > -1 ? pathIdx : 0;
-
-            String tmpEncodedPath = pathStart >= 0 && endPath > pathStart ? absoluteUri.substring(pathStart, endPath) : "";
-            tmpEncodedPath = PathHelper.getEncodedPathInfo(tmpEncodedPath, contextPath);
-            if (tmpEncodedPath.length() == 0 || tmpEncodedPath.charAt(0) != '/') {
-                tmpEncodedPath = "/" + tmpEncodedPath;
-            }
-            encodedPath = tmpEncodedPath;
+            pathStart = pathStart(absoluteUri);
+            queryIdx = absoluteUri.indexOf('?', pathStart);
+            encodedPath = ResteasyUriInfo.encodedPath(absoluteUri, pathStart, queryIdx, contextPath);
 
             path = Encode.decodePath(encodedPath);
             ProcessPathResult processPathResult = doProcessPath(encodedPath);
@@ -43,6 +43,11 @@ public class StatisticsControllerImpl implements StatisticsController {
         }
     }
 
+    @Override
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
     @Override
     public void reset() {
         for (ResourceInvoker invoker : registry) {
@@ -1,6 +1,8 @@
 package org.jboss.resteasy.util;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.CompletionStage;
 
 import org.jboss.resteasy.spi.AsyncOutputStream;
@@ -80,4 +82,32 @@ public class CommitHeaderAsyncOutputStream extends AsyncOutputStream {
         return delegate.asyncWrite(bytes, offset, length);
     }
 
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer buffer) {
+        commit();
+        return delegate.asyncWrite(buffer);
+    }
+
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer[] buffers) {
+        commit();
+        return delegate.asyncWrite(buffers);
+    }
+
+    @Override
+    public boolean isBlockingAllowed() {
+        return delegate.isBlockingAllowed();
+    }
+
+    @Override
+    public boolean isFileTransferSupported() {
+        return delegate.isFileTransferSupported();
+    }
+
+    @Override
+    public CompletionStage<Void> asyncTransferFrom(FileChannel channel, long position, long count) {
+        commit();
+        return delegate.asyncTransferFrom(channel, position, count);
+    }
+
 }
@@ -1,8 +1,13 @@
 package org.jboss.resteasy.util;
 
+import java.util.concurrent.ExecutorService;
+
 import jakarta.ws.rs.ApplicationPath;
 
+import org.jboss.resteasy.concurrent.VirtualThreads;
+import org.jboss.resteasy.plugins.server.embedded.EmbeddedServer;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedServers;
+import org.jboss.resteasy.resteasy_jaxrs.i18n.LogMessages;
 import org.jboss.resteasy.spi.ResteasyDeployment;
 
 public class EmbeddedServerHelper {
@@ -26,4 +31,21 @@ public class EmbeddedServerHelper {
         return EmbeddedServers.checkContextPath(contextPath);
     }
 
+    /**
+     * Creates an executor which runs each request of the server on a new virtual thread. If the JVM does not support
+     * virtual threads a warning is logged and {@code null} is returned, in which case the server uses its default
+     * executor.
+     *
+     * @param server the server the executor is created for
+     *
+     * @return a new executor or {@code null}
+     */
+    public ExecutorService createVirtualThreadExecutor(final EmbeddedServer server) {
+        final ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor();
+        if (executor == null) {
+            LogMessages.LOGGER.virtualThreadsNotSupported(server.getClass().getSimpleName());
+        }
+        return executor;
+    }
+
 }
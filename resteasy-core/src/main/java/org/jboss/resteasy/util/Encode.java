@@ -6,9 +6,8 @@ import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -19,12 +18,22 @@ import jakarta.ws.rs.core.MultivaluedMap;
 import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
 
 /**
+ * Percent-encoding and decoding of URI components.
+ * <p>
+ * Characters are encoded and decoded with lookup tables in a single pass. A value which does not need to be encoded
+ * or decoded is returned as is.
+ * </p>
+ *
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
  * @version $Revision: 1 $
  */
 public class Encode {
     private static final String UTF_8 = StandardCharsets.UTF_8.name();
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    // the value of a hexadecimal digit, -1 for any other character
+    private static final byte[] HEX_VALUES = new byte[128];
+
     private static final Pattern PARAM_REPLACEMENT = Pattern.compile("_resteasy_uri_parameter");
 
     private static final String[] pathEncoding = new String[128];
@@ -34,6 +43,11 @@ public class Encode {
     private static final String[] queryStringEncoding = new String[128];
 
     static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+            HEX_VALUES[Character.toLowerCase(HEX_DIGITS[i])] = (byte) i;
+        }
         /*
          * Encode via <a href="http://ietf.org/rfc/rfc3986.txt">RFC 3986</a>. PCHAR is allowed allong with '/'
          *
@@ -208,45 +222,69 @@ public class Encode {
         return encodeValue(value, queryNameValueEncoding);
     }
 
-    //private static final Pattern nonCodes = Pattern.compile("%([^a-fA-F0-9]|$)");
-    private static final Pattern nonCodes = Pattern.compile("%([^a-fA-F0-9]|[a-fA-F0-9]$|$|[a-fA-F0-9][^a-fA-F0-9])");
-    private static final Pattern encodedChars = Pattern.compile("%([a-fA-F0-9][a-fA-F0-9])");
-    private static final Pattern encodedCharsMulti = Pattern.compile("((%[a-fA-F0-9][a-fA-F0-9])+)");
-
     public static String decodePath(String path) {
-        if (path.indexOf('%') == -1) {
+        int i = path.indexOf('%');
+        if (i == -1) {
             return path;
         }
-        Matcher matcher = encodedCharsMulti.matcher(path);
+        final int length = path.length();
+        StringBuilder builder = null;
+        byte[] bytes = null;
         int start = 0;
-        StringBuilder builder = new StringBuilder();
-        CharsetDecoder decoder = Charset.forName(UTF_8).newDecoder();
-        while (matcher.find()) {
-            builder.append(path, start, matcher.start());
-            decoder.reset();
-            String decoded = decodeBytes(matcher.group(1), decoder);
-            builder.append(decoded);
-            start = matcher.end();
+        while (i != -1) {
+            if (!isEncoded(path, i)) {
+                i = path.indexOf('%', i + 1);
+                continue;
+            }
+            if (builder == null) {
+                builder = new StringBuilder(length);
+                bytes = new byte[(length - i) / 3];
+            }
+            builder.append(path, start, i);
+            // a sequence of encoded bytes is decoded at once, a character may be encoded in several bytes
+            int count = 0;
+            boolean ascii = true;
+            do {
+                byte b = (byte) (HEX_VALUES[path.charAt(i + 1)] << 4 | HEX_VALUES[path.charAt(i + 2)]);
+                ascii &= b >= 0;
+                bytes[count++] = b;
+                i += 3;
+            } while (i < length && path.charAt(i) == '%' && isEncoded(path, i));
+            if (ascii) {
+                for (int j = 0; j < count; j++) {
+                    builder.append((char) bytes[j]);
+                }
+            } else {
+                builder.append(decodeBytes(bytes, count));
+            }
+            start = i;
+            i = path.indexOf('%', i);
         }
-        builder.append(path, start, path.length());
-        return builder.toString();
+        if (builder == null) {
+            return path;
+        }
+        return builder.append(path, start, length).toString();
     }
 
-    private static String decodeBytes(String enc, CharsetDecoder decoder) {
-        Matcher matcher = encodedChars.matcher(enc);
-        ByteBuffer bytes = ByteBuffer.allocate(enc.length() / 3);
-        while (matcher.find()) {
-            int b = Integer.parseInt(matcher.group(1), 16);
-            bytes.put((byte) b);
-        }
-        bytes.flip();
+    private static String decodeBytes(byte[] bytes, int count) {
         try {
-            return decoder.decode(bytes).toString();
+            return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes, 0, count)).toString();
         } catch (CharacterCodingException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * @return whether the '%' at the index starts an encoded byte
+     */
+    private static boolean isEncoded(String string, int index) {
+        return index + 2 < string.length() && isHexDigit(string.charAt(index + 1)) && isHexDigit(string.charAt(index + 2));
+    }
+
+    private static boolean isHexDigit(char c) {
+        return c < 128 && HEX_VALUES[c] >= 0;
+    }
+
     /**
      * Encode '%' if it is not an encoding sequence
      *
@@ -254,23 +292,26 @@ public class Encode {
      * @return encoded value
      */
     public static String encodeNonCodes(String string) {
-        Matcher matcher = nonCodes.matcher(string);
-        StringBuilder builder = new StringBuilder();
-
-        // FYI: we do not use the no-arg matcher.find()
-        //      coupled with matcher.appendReplacement()
-        //      because the matched text may contain
-        //      a second % and we must make sure we
-        //      encode it (if necessary).
-        int idx = 0;
-        while (matcher.find(idx)) {
-            int start = matcher.start();
-            builder.append(string.substring(idx, start));
-            builder.append("%25");
-            idx = start + 1;
+        int i = string.indexOf('%');
+        if (i == -1) {
+            return string;
         }
-        builder.append(string.substring(idx));
-        return builder.toString();
+        StringBuilder builder = null;
+        int start = 0;
+        for (; i != -1; i = string.indexOf('%', i + 1)) {
+            if (isEncoded(string, i)) {
+                continue;
+            }
+            if (builder == null) {
+                builder = new StringBuilder(string.length() + 8);
+            }
+            builder.append(string, start, i).append("%25");
+            start = i + 1;
+        }
+        if (builder == null) {
+            return string;
+        }
+        return builder.append(string, start, string.length()).toString();
     }
 
     public static boolean savePathParams(String segmentString, StringBuilder newSegment, List<String> params) {
@@ -300,20 +341,39 @@ public class Encode {
      * @return encoded value
      */
     public static String encodeValue(String segment, String[] encoding) {
-        ArrayList<String> params = new ArrayList<String>();
-        boolean foundParam = false;
-        StringBuilder newSegment = new StringBuilder();
-        if (savePathParams(segment, newSegment, params)) {
-            foundParam = true;
-            segment = newSegment.toString();
+        if (segment.indexOf('{') == -1) {
+            return encode(segment, encoding, false, true);
         }
-        String result = encodeFromArray(segment, encoding, false);
-        result = encodeNonCodes(result);
-        segment = result;
-        if (foundParam) {
-            segment = pathParamReplacement(segment, params);
+        // Regular expressions can have '{' and '}' characters.  Replace them to find the parameters
+        CharSequence params = PathHelper.replaceEnclosedCurlyBracesCS(segment);
+        StringBuilder result = new StringBuilder(segment.length() + 16);
+        int start = 0;
+        int open = indexOf(params, '{', 0);
+        while (open != -1) {
+            int close = indexOf(params, '}', open + 1);
+            if (close == -1) {
+                break;
+            }
+            if (close == open + 1) {
+                open = indexOf(params, '{', close);
+                continue;
+            }
+            appendEncoded(segment, start, open, encoding, false, true, result);
+            result.append(segment, open, close + 1);
+            start = close + 1;
+            open = indexOf(params, '{', start);
         }
-        return segment;
+        appendEncoded(segment, start, segment.length(), encoding, false, true, result);
+        return result.toString();
+    }
+
+    private static int indexOf(CharSequence string, char c, int from) {
+        for (int i = from; i < string.length(); i++) {
+            if (string.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -338,9 +398,7 @@ public class Encode {
      * @return encoded value
      */
     public static String encodePathSaveEncodings(String segment) {
-        String result = encodeFromArray(segment, pathEncoding, false);
-        result = encodeNonCodes(result);
-        return result;
+        return encode(segment, pathEncoding, false, true);
     }
 
     /**
@@ -365,9 +423,7 @@ public class Encode {
      * @return encoded value
      */
     public static String encodePathSegmentSaveEncodings(String segment) {
-        String result = encodeFromArray(segment, pathSegmentEncoding, false);
-        result = encodeNonCodes(result);
-        return result;
+        return encode(segment, pathSegmentEncoding, false, true);
     }
 
     /**
@@ -387,9 +443,7 @@ public class Encode {
      * @return encoded value
      */
     public static String encodeQueryParamSaveEncodings(String segment) {
-        String result = encodeFromArray(segment, queryNameValueEncoding, false);
-        result = encodeNonCodes(result);
-        return result;
+        return encode(segment, queryNameValueEncoding, false, true);
     }
 
     public static String encodeFragmentAsIs(String nameOrValue) {
@@ -397,46 +451,68 @@ public class Encode {
     }
 
     protected static String encodeFromArray(String segment, String[] encodingMap, boolean encodePercent) {
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < segment.length(); i++) {
-            char currentChar = segment.charAt(i);
-            if (!encodePercent && currentChar == '%') {
-                result.append(currentChar);
-                continue;
+        return encode(segment, encodingMap, encodePercent, false);
+    }
+
+    /**
+     * @param segment       value to encode
+     * @param encodingMap   the encodings of the ASCII characters, {@code null} for a character which is not encoded
+     * @param encodePercent whether '%' is encoded like any other character
+     * @param saveEncodings whether a '%' which does not start an encoded byte is encoded, if '%' is not encoded
+     * @return the encoded value, or the value if nothing was encoded
+     */
+    private static String encode(String segment, String[] encodingMap, boolean encodePercent, boolean saveEncodings) {
+        final int length = segment.length();
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            boolean encoded;
+            if (c == '%' && !encodePercent) {
+                encoded = saveEncodings && !isEncoded(segment, i);
+            } else {
+                encoded = c >= encodingMap.length || encodingMap[c] != null;
             }
-            if (Character.isHighSurrogate(currentChar)) {
-                String part = segment.substring(i, i + 2);
-                try {
-                    result.append(URLEncoder.encode(part, StandardCharsets.UTF_8.name()));
-                } catch (UnsupportedEncodingException e) {
-                    throw new RuntimeException(e);
+            if (encoded) {
+                StringBuilder result = new StringBuilder(length + 16).append(segment, 0, i);
+                return appendEncoded(segment, i, length, encodingMap, encodePercent, saveEncodings, result).toString();
+            }
+        }
+        return segment;
+    }
+
+    private static StringBuilder appendEncoded(String segment, int start, int end, String[] encodingMap,
+            boolean encodePercent, boolean saveEncodings, StringBuilder result) {
+        for (int i = start; i < end; i++) {
+            char c = segment.charAt(i);
+            if (c == '%' && !encodePercent) {
+                result.append(saveEncodings && !isEncoded(segment, i) ? "%25" : "%");
+            } else if (c < encodingMap.length) {
+                String encoding = encodingMap[c];
+                if (encoding == null) {
+                    result.append(c);
+                } else {
+                    result.append(encoding);
                 }
+            } else if (Character.isHighSurrogate(c) && i + 1 < end) {
+                result.append(encodeString(segment.substring(i, i + 2)));
                 ++i;
-                continue;
-            }
-            String encoding = encode(currentChar, encodingMap);
-            if (encoding == null) {
-                result.append(currentChar);
+            } else if (Character.isSurrogate(c)) {
+                result.append(encodeString(Character.toString(c)));
             } else {
-                result.append(encoding);
+                // UTF-8 encoding of a character of the basic multilingual plane
+                if (c < 0x800) {
+                    appendEncodedByte(0xC0 | c >> 6, result);
+                } else {
+                    appendEncodedByte(0xE0 | c >> 12, result);
+                    appendEncodedByte(0x80 | (c >> 6 & 0x3F), result);
+                }
+                appendEncodedByte(0x80 | (c & 0x3F), result);
             }
         }
-        return result.toString();
+        return result;
     }
 
-    /**
-     * @param zhar        integer representation of character
-     * @param encodingMap encoding map
-     * @return URL encoded character
-     */
-    private static String encode(int zhar, String[] encodingMap) {
-        String encoded;
-        if (zhar < encodingMap.length) {
-            encoded = encodingMap[zhar];
-        } else {
-            encoded = encodeString(Character.toString((char) zhar));
-        }
-        return encoded;
+    private static void appendEncodedByte(int b, StringBuilder result) {
+        result.append('%').append(HEX_DIGITS[b >> 4 & 0xF]).append(HEX_DIGITS[b & 0xF]);
     }
 
     /**
@@ -476,18 +552,7 @@ public class Encode {
      * @return decoded map
      */
     public static MultivaluedMap<String, String> decode(MultivaluedMap<String, String> map) {
-        MultivaluedMapImpl<String, String> decoded = new MultivaluedMapImpl<String, String>();
-        for (Map.Entry<String, List<String>> entry : map.entrySet()) {
-            List<String> values = entry.getValue();
-            for (String value : values) {
-                try {
-                    decoded.add(URLDecoder.decode(entry.getKey(), UTF_8), URLDecoder.decode(value, UTF_8));
-                } catch (UnsupportedEncodingException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        }
-        return decoded;
+        return decode(map, StandardCharsets.UTF_8);
     }
 
     /**
@@ -499,17 +564,21 @@ public class Encode {
      */
     public static MultivaluedMap<String, String> decode(MultivaluedMap<String, String> map, String charset) {
         if (charset == null) {
-            charset = UTF_8;
+            return decode(map, StandardCharsets.UTF_8);
         }
+        try {
+            return decode(map, Charset.forName(charset));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(new UnsupportedEncodingException(charset));
+        }
+    }
+
+    private static MultivaluedMap<String, String> decode(MultivaluedMap<String, String> map, Charset charset) {
         MultivaluedMapImpl<String, String> decoded = new MultivaluedMapImpl<String, String>();
         for (Map.Entry<String, List<String>> entry : map.entrySet()) {
-            List<String> values = entry.getValue();
-            for (String value : values) {
-                try {
-                    decoded.add(URLDecoder.decode(entry.getKey(), charset), URLDecoder.decode(value, charset));
-                } catch (UnsupportedEncodingException e) {
-                    throw new RuntimeException(e);
-                }
+            String key = decode(entry.getKey(), charset);
+            for (String value : entry.getValue()) {
+                decoded.add(key, decode(value, charset));
             }
         }
         return decoded;
@@ -531,11 +600,48 @@ public class Encode {
     }
 
     public static String decode(String string) {
-        try {
-            return URLDecoder.decode(string, UTF_8);
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
+        return decode(string, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes like {@link URLDecoder#decode(String, Charset)}.
+     */
+    private static String decode(String string, Charset charset) {
+        final int length = string.length();
+        int i = 0;
+        while (i < length && string.charAt(i) != '%' && string.charAt(i) != '+') {
+            i++;
+        }
+        if (i == length) {
+            return string;
         }
+        StringBuilder builder = new StringBuilder(length).append(string, 0, i);
+        byte[] bytes = null;
+        while (i < length) {
+            char c = string.charAt(i);
+            if (c == '+') {
+                builder.append(' ');
+                i++;
+            } else if (c == '%') {
+                if (bytes == null) {
+                    bytes = new byte[(length - i) / 3];
+                }
+                int count = 0;
+                while (i < length && string.charAt(i) == '%' && isEncoded(string, i)) {
+                    bytes[count++] = (byte) (HEX_VALUES[string.charAt(i + 1)] << 4 | HEX_VALUES[string.charAt(i + 2)]);
+                    i += 3;
+                }
+                if (count == 0) {
+                    // an invalid escape, URLDecoder reports it or decodes it like it always did
+                    return URLDecoder.decode(string, charset);
+                }
+                builder.append(new String(bytes, 0, count, charset));
+            } else {
+                builder.append(c);
+                i++;
+            }
+        }
+        return builder.toString();
     }
 
 }
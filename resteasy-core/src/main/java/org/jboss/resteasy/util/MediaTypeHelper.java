@@ -268,6 +268,23 @@ public class MediaTypeHelper {
         return true;
     }
 
+    /**
+     * Checks whether a media type is the given media type without parameters, possibly with a charset parameter added.
+     *
+     * @param mediaType the media type to check
+     * @param plain     a media type without parameters
+     * @return {@code true} if the type and subtype match and the only parameter, if any, is the charset
+     */
+    public static boolean isSameIgnoringCharset(MediaType mediaType, MediaType plain) {
+        if (mediaType == plain)
+            return true;
+        if (!mediaType.getType().equalsIgnoreCase(plain.getType())
+                || !mediaType.getSubtype().equalsIgnoreCase(plain.getSubtype()))
+            return false;
+        Map<String, String> params = mediaType.getParameters();
+        return params.isEmpty() || (params.size() == 1 && params.containsKey(MediaType.CHARSET_PARAMETER));
+    }
+
     public static boolean isTextLike(MediaType mediaType) {
         return "text".equalsIgnoreCase(mediaType.getType())
                 || ("application".equalsIgnoreCase(mediaType.getType())
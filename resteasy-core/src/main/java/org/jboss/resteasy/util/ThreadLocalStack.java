@@ -1,74 +1,108 @@
 package org.jboss.resteasy.util;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.jboss.resteasy.concurrent.VirtualThreads;
 
 /**
- * Comment
+ * A stack of values bound to the current thread.
+ * <p>
+ * The values are held in a small array which is reused for the lifetime of a platform thread. When the stack of a
+ * virtual thread becomes empty the thread local is removed, as virtual threads are usually created per task and
+ * should not keep the stack alive.
+ * </p>
  *
  * @author <a href="mailto:bill@jboss.org">Bill Burke</a>
  * @version $Revision$
  */
 public class ThreadLocalStack<T> {
-    private ThreadLocal<ArrayList<T>> local = new ThreadLocal<ArrayList<T>>();
+    private final ThreadLocal<Stack<T>> local = new ThreadLocal<Stack<T>>();
 
     public void push(T obj) {
-        getStack(true).add(obj);
+        getStack(true).push(obj);
     }
 
-    private ArrayList<T> getStack(boolean create) {
-        ArrayList<T> stack = local.get();
+    private Stack<T> getStack(boolean create) {
+        Stack<T> stack = local.get();
         if (stack == null && create) {
-            stack = new ArrayList<T>();
+            stack = new Stack<T>();
             local.set(stack);
         }
         return stack;
     }
 
     public T get() {
-        ArrayList<T> stack = local.get();
-        if (stack == null || stack.isEmpty())
+        Stack<T> stack = local.get();
+        if (stack == null || stack.size == 0)
             return null;
-        return stack.get(stack.size() - 1);
+        return stack.elements[stack.size - 1];
     }
 
     public T pop() {
-        ArrayList<T> stack = local.get();
-        if (stack == null || stack.isEmpty())
+        Stack<T> stack = local.get();
+        if (stack == null || stack.size == 0)
             return null;
-        return stack.remove(stack.size() - 1);
+        final T obj = stack.pop();
+        if (stack.size == 0 && VirtualThreads.isVirtual(Thread.currentThread())) {
+            local.remove();
+        }
+        return obj;
     }
 
     public void setLast(T obj) {
-        ArrayList<T> stack = getStack(true);
-        if (stack.isEmpty()) {
-            stack.add(obj);
+        Stack<T> stack = getStack(true);
+        if (stack.size == 0) {
+            stack.push(obj);
         } else {
-            stack.set(stack.size() - 1, obj);
+            stack.elements[stack.size - 1] = obj;
         }
     }
 
     public boolean isEmpty() {
-        ArrayList<T> stack = getStack(false);
-        return stack == null || stack.isEmpty();
+        Stack<T> stack = getStack(false);
+        return stack == null || stack.size == 0;
     }
 
     public int size() {
-        ArrayList<T> stack = getStack(false);
-        return stack == null ? 0 : stack.size();
+        Stack<T> stack = getStack(false);
+        return stack == null ? 0 : stack.size;
     }
 
     public void clear() {
-        local.set(null);
+        local.remove();
     }
 
     public T get(int i) {
-        ArrayList<T> stack = getStack(false);
+        Stack<T> stack = getStack(false);
         if (stack == null) {
             return null;
         }
-        if (i < 0 || i > size()) {
+        if (i < 0 || i >= stack.size) {
             return null;
         }
-        return stack.get(i);
+        return stack.elements[i];
+    }
+
+    private static class Stack<T> {
+        private T[] elements;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private Stack() {
+            elements = (T[]) new Object[4];
+        }
+
+        private void push(final T obj) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size << 1);
+            }
+            elements[size++] = obj;
+        }
+
+        private T pop() {
+            final T obj = elements[--size];
+            elements[size] = null;
+            return obj;
+        }
     }
 }
@@ -0,0 +1,158 @@
+package org.jboss.resteasy.concurrent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.resteasy.spi.concurrent.ThreadContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContextualExecutorsTest {
+    public static final List<Object> PUSHED = new CopyOnWriteArrayList<>();
+
+    /**
+     * A thread context which is only visible to the class loader of a deployment.
+     */
+    public static class DeployedContext implements ThreadContext<Object> {
+        @Override
+        public Object capture() {
+            return "captured";
+        }
+
+        @Override
+        public void push(final Object context) {
+            PUSHED.add(context);
+        }
+
+        @Override
+        public void reset(final Object context) {
+        }
+    }
+
+    private Path services;
+
+    @Before
+    public void setup() throws Exception {
+        services = Files.createTempFile("thread-context", ".services");
+        Files.write(services, DeployedContext.class.getName().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        PUSHED.clear();
+        Files.deleteIfExists(services);
+    }
+
+    /**
+     * The thread contexts loaded for the context class loader of an undeployed application must not keep the class
+     * loader alive.
+     */
+    @Test
+    public void testDefaultContextsDoNotPinClassLoader() throws Exception {
+        final WeakReference<ClassLoader> ref = runInOwnLoader();
+        Assert.assertEquals(Collections.singletonList("captured"), PUSHED);
+        // the cached contexts are only released when the memory is needed
+        clearSoftReferences();
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull("The context class loader was not collected", ref.get());
+    }
+
+    /**
+     * The thread contexts are not loaded again for each task, even if a garbage collection happened in between.
+     */
+    @Test
+    public void testDefaultContextsAreCached() throws Exception {
+        final DeploymentClassLoader loader = new DeploymentClassLoader(services.toUri().toURL());
+        run(loader);
+        System.gc();
+        run(loader);
+        Assert.assertEquals(Arrays.asList("captured", "captured"), PUSHED);
+        Assert.assertEquals(1, loader.lookups.get());
+    }
+
+    private WeakReference<ClassLoader> runInOwnLoader() throws Exception {
+        final ClassLoader loader = new DeploymentClassLoader(services.toUri().toURL());
+        run(loader);
+        return new WeakReference<>(loader);
+    }
+
+    private static void run(final ClassLoader loader) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader current = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            ContextualExecutors.runnable(() -> {
+            }).run();
+        } finally {
+            thread.setContextClassLoader(current);
+        }
+    }
+
+    private static void clearSoftReferences() {
+        // all soft references are cleared before an OutOfMemoryError is thrown
+        final List<long[]> memory = new ArrayList<>();
+        try {
+            while (true) {
+                memory.add(new long[1024 * 1024]);
+            }
+        } catch (OutOfMemoryError e) {
+            memory.clear();
+        }
+    }
+
+    private static class DeploymentClassLoader extends ClassLoader {
+        private static final String SERVICES = "META-INF/services/" + ThreadContext.class.getName();
+        private final URL services;
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        private DeploymentClassLoader(final URL services) {
+            super(ContextualExecutorsTest.class.getClassLoader());
+            this.services = services;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(DeployedContext.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                final Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    final byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            if (name.equals(SERVICES)) {
+                lookups.incrementAndGet();
+                return Collections.enumeration(Collections.singletonList(services));
+            }
+            return super.getResources(name);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.jboss.resteasy.core;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.UriInfo;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextDataMapTest {
+
+    @Test
+    public void testSlotTypesExist() throws Exception {
+        final Field field = ContextDataMap.class.getDeclaredField("SLOT_TYPES");
+        field.setAccessible(true);
+        for (String type : (String[]) field.get(null)) {
+            Class.forName(type, false, ContextDataMapTest.class.getClassLoader());
+        }
+    }
+
+    @Test
+    public void testMapContract() {
+        final Map<Class<?>, Object> map = new ContextDataMap();
+        final Map<Class<?>, Object> expected = new HashMap<>();
+        for (Map<Class<?>, Object> m : List.of(map, expected)) {
+            m.put(UriInfo.class, "uriInfo");
+            m.put(HttpHeaders.class, null);
+            m.put(String.class, "string");
+            m.put(Integer.class, 1);
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        Assert.assertTrue(map.containsKey(HttpHeaders.class));
+        Assert.assertNull(map.get(HttpHeaders.class));
+        Assert.assertEquals("uriInfo", map.put(UriInfo.class, "other"));
+        Assert.assertEquals("other", map.get(UriInfo.class));
+
+        Assert.assertEquals("other", map.remove(UriInfo.class));
+        Assert.assertFalse(map.containsKey(UriInfo.class));
+        Assert.assertEquals("string", map.remove(String.class));
+        Assert.assertEquals(2, map.size());
+
+        for (Iterator<Map.Entry<Class<?>, Object>> it = map.entrySet().iterator(); it.hasNext();) {
+            it.next();
+            it.remove();
+        }
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(HttpHeaders.class));
+        Assert.assertNull(map.get(Integer.class));
+    }
+
+    @Test
+    public void testContextLevels() {
+        ResteasyContext.addContextDataLevel();
+        try {
+            ResteasyContext.pushContext(UriInfo.class, null);
+            ResteasyContext.pushContext(String.class, "outer");
+            ResteasyContext.addContextDataLevel();
+            try {
+                ResteasyContext.pushContext(String.class, "inner");
+                Assert.assertEquals("inner", ResteasyContext.getContextData(String.class));
+                Assert.assertNull(ResteasyContext.getContextData(UriInfo.class));
+                Assert.assertEquals("inner", ResteasyContext.searchContextData(String.class));
+                Assert.assertTrue(ResteasyContext.getContextDataMap() instanceof ContextDataMap);
+            } finally {
+                ResteasyContext.removeContextDataLevel();
+            }
+            Assert.assertEquals("outer", ResteasyContext.getContextData(String.class));
+            Assert.assertTrue(ResteasyContext.getContextDataMap().containsKey(UriInfo.class));
+        } finally {
+            ResteasyContext.removeContextDataLevel();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.jboss.resteasy.core;
+
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.core.MediaType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MediaTypeMapTest {
+
+    @Test
+    public void testCachedLookup() {
+        final MediaTypeMap<String> map = new MediaTypeMap<>();
+        map.add(MediaType.APPLICATION_JSON_TYPE, "json");
+        map.add(MediaType.valueOf("application/*+json"), "composite");
+        map.add(MediaType.valueOf("text/*"), "text");
+        map.addWildcard("any");
+
+        map.precompute(String.class, MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_PLAIN_TYPE);
+        Assert.assertEquals(2, map.getCacheSize());
+
+        final List<String> json = map.getPossible(MediaType.APPLICATION_JSON_TYPE, String.class);
+        Assert.assertEquals(Arrays.asList("json", "composite", "any"), json);
+        // parameters are not part of the key
+        Assert.assertSame(json, map.getPossible(MediaType.valueOf("application/json;charset=UTF-8"), String.class));
+        Assert.assertEquals(Arrays.asList("text", "any"), map.getPossible(MediaType.TEXT_PLAIN_TYPE, String.class));
+        Assert.assertEquals(2, map.getCacheSize());
+
+        // a new provider invalidates the cache
+        map.add(MediaType.APPLICATION_JSON_TYPE, "json2");
+        Assert.assertEquals(0, map.getCacheSize());
+        Assert.assertTrue(map.getPossible(MediaType.APPLICATION_JSON_TYPE, String.class).contains("json2"));
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        final MediaTypeMap<String> map = new MediaTypeMap<>();
+        map.add(MediaType.APPLICATION_JSON_TYPE, "json");
+        map.addWildcard("any");
+        final Class<?>[] types = { String.class, Integer.class, Long.class, Double.class, List.class };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        final List<String> possible = map.getPossible(MediaType.APPLICATION_JSON_TYPE,
+                                types[i % types.length]);
+                        Assert.assertEquals(Arrays.asList("json", "any"), possible);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(types.length, map.getCacheSize());
+    }
+
+    public static class Deployed {
+    }
+
+    /**
+     * A class of an undeployed application must not be kept alive by the cache of a provider factory which outlives it.
+     */
+    @Test
+    public void testCacheDoesNotPinClasses() throws Exception {
+        final MediaTypeMap<String> map = new MediaTypeMap<>();
+        map.add(MediaType.APPLICATION_JSON_TYPE, "json");
+        final WeakReference<Class<?>> ref = lookUpInOwnLoader(map);
+        Assert.assertEquals(1, map.getCacheSize());
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull("The cached class was not collected", ref.get());
+    }
+
+    private static WeakReference<Class<?>> lookUpInOwnLoader(final MediaTypeMap<String> map) throws Exception {
+        final String name = Deployed.class.getName();
+        final byte[] bytes;
+        try (InputStream in = Deployed.class.getResourceAsStream("/" + name.replace('.', '/') + ".class")) {
+            bytes = in.readAllBytes();
+        }
+        final ClassLoader loader = new ClassLoader(MediaTypeMapTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException {
+                return className.equals(name) ? defineClass(name, bytes, 0, bytes.length)
+                        : super.loadClass(className, resolve);
+            }
+        };
+        final Class<?> type = loader.loadClass(name);
+        Assert.assertNotSame(Deployed.class, type);
+        Assert.assertEquals(Arrays.asList("json"), map.getPossible(MediaType.APPLICATION_JSON_TYPE, type));
+        return new WeakReference<>(type);
+    }
+
+    /**
+     * A provider which refers back to its factory, e.g. through an injected {@code Providers} proxy.
+     */
+    private static class ReferringProvider {
+        private final MediaTypeMap<ReferringProvider> map;
+
+        private ReferringProvider(final MediaTypeMap<ReferringProvider> map) {
+            this.map = map;
+        }
+    }
+
+    /**
+     * Looking up the providers of a class of the JDK, which is never unloaded, must not keep the providers and the map
+     * alive.
+     */
+    @Test
+    public void testCacheDoesNotPinProviders() throws Exception {
+        final WeakReference<MediaTypeMap<ReferringProvider>> ref = lookUpReferringProvider();
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull("The map was not collected", ref.get());
+    }
+
+    private static WeakReference<MediaTypeMap<ReferringProvider>> lookUpReferringProvider() {
+        final MediaTypeMap<ReferringProvider> map = new MediaTypeMap<>();
+        final ReferringProvider provider = new ReferringProvider(map);
+        map.add(MediaType.TEXT_PLAIN_TYPE, provider);
+        Assert.assertEquals(Arrays.asList(provider), map.getPossible(MediaType.TEXT_PLAIN_TYPE, String.class));
+        Assert.assertEquals(1, map.getCacheSize());
+        return new WeakReference<>(map);
+    }
+}
@@ -0,0 +1,152 @@
+package org.jboss.resteasy.core;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.ConstructorInjector;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.MethodInjector;
+import org.jboss.resteasy.spi.PropertyInjector;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.jboss.resteasy.spi.metadata.ResourceClass;
+import org.jboss.resteasy.spi.metadata.ResourceConstructor;
+import org.jboss.resteasy.spi.metadata.ResourceLocator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests resource invocation with the method handle backend enabled.
+ */
+public class MethodHandleInvokersTest {
+    @Path("/")
+    public static class Resource {
+        private final String prefix;
+
+        @QueryParam("field")
+        private String field;
+
+        private int setter;
+
+        public Resource(@QueryParam("prefix") final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @QueryParam("setter")
+        public void setSetter(int setter) {
+            this.setter = setter;
+        }
+
+        @GET
+        @Path("sum/{a}/{b}")
+        @Produces("text/plain")
+        public String sum(@PathParam("a") int a, @PathParam("b") long b) {
+            return prefix + (a + b) + ":" + field + ":" + setter;
+        }
+
+        @GET
+        @Path("missing")
+        public void missing() {
+            throw new NotFoundException();
+        }
+
+        @GET
+        @Path("fail")
+        @Produces("text/plain")
+        public String fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+
+    /**
+     * Creates the injectors with the method handle backend enabled, whatever the system property is set to.
+     */
+    private static class MethodHandleInjectorFactory extends InjectorFactoryImpl {
+        @SuppressWarnings("rawtypes")
+        @Override
+        public ConstructorInjector createConstructor(Constructor constructor, ResteasyProviderFactory providerFactory) {
+            return new ConstructorInjectorImpl(constructor, providerFactory, true);
+        }
+
+        @Override
+        public ConstructorInjector createConstructor(ResourceConstructor constructor,
+                ResteasyProviderFactory providerFactory) {
+            return new ConstructorInjectorImpl(constructor, providerFactory, true);
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public PropertyInjector createPropertyInjector(Class resourceClass, ResteasyProviderFactory providerFactory) {
+            return new PropertyInjectorImpl(resourceClass, providerFactory, true);
+        }
+
+        @Override
+        public PropertyInjector createPropertyInjector(ResourceClass resourceClass,
+                ResteasyProviderFactory providerFactory) {
+            return new PropertyInjectorImpl(resourceClass.getClazz(), providerFactory, true);
+        }
+
+        @Override
+        public MethodInjector createMethodInjector(ResourceLocator method, ResteasyProviderFactory factory) {
+            return new MethodInjectorImpl(method, factory, true);
+        }
+    }
+
+    private ResteasyDeployment deployment;
+    private Dispatcher dispatcher;
+
+    @Before
+    public void setup() {
+        deployment = new ResteasyDeploymentImpl();
+        deployment.setInjectorFactory(new MethodHandleInjectorFactory());
+        deployment.start();
+        dispatcher = deployment.getDispatcher();
+        dispatcher.getRegistry().addPerRequestResource(Resource.class);
+    }
+
+    @After
+    public void cleanup() {
+        deployment.stop();
+    }
+
+    @Test
+    public void testHandlesAreCreated() throws Exception {
+        Assert.assertNotNull(MethodHandleInvokers.forMethod(Resource.class.getMethod("sum", int.class, long.class)));
+        Assert.assertNotNull(MethodHandleInvokers.forConstructor(Resource.class.getConstructor(String.class)));
+        Assert.assertNotNull(MethodHandleInvokers.forSetter(Resource.class.getMethod("setSetter", int.class)));
+        final Field field = Resource.class.getDeclaredField("field");
+        Assert.assertNull(MethodHandleInvokers.forField(field));
+        field.setAccessible(true);
+        Assert.assertNotNull(MethodHandleInvokers.forField(field));
+    }
+
+    @Test
+    public void testInvocation() throws Exception {
+        final MockHttpResponse response = invoke("/sum/1/2?prefix=p&field=f&setter=3");
+        Assert.assertEquals(200, response.getStatus());
+        Assert.assertEquals("p3:f:3", response.getContentAsString());
+    }
+
+    @Test
+    public void testExceptions() throws Exception {
+        Assert.assertEquals(404, invoke("/missing").getStatus());
+        Assert.assertEquals(500, invoke("/fail").getStatus());
+    }
+
+    private MockHttpResponse invoke(final String uri) throws Exception {
+        final MockHttpResponse response = new MockHttpResponse();
+        dispatcher.invoke(MockHttpRequest.get(uri), response);
+        return response;
+    }
+}
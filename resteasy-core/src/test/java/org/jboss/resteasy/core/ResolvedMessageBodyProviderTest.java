@@ -0,0 +1,207 @@
+package org.jboss.resteasy.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the readers and writers of statically typed resource methods are resolved once.
+ */
+public class ResolvedMessageBodyProviderTest {
+    private static final String TYPE = "text/x-message";
+
+    public static class Message {
+        private final String text;
+
+        public Message(final String text) {
+            this.text = text;
+        }
+    }
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Path("get")
+        @Produces(TYPE)
+        public Message get() {
+            return new Message("hello");
+        }
+
+        @POST
+        @Path("echo")
+        @Consumes(TYPE)
+        @Produces(TYPE)
+        public Message echo(Message message) {
+            return new Message(message.text + "!");
+        }
+
+        @GET
+        @Path("response")
+        @Produces(TYPE)
+        public Response response() {
+            return Response.ok(new Message("response")).build();
+        }
+    }
+
+    @Produces(TYPE)
+    @Consumes(TYPE)
+    public static class MessageProvider implements MessageBodyReader<Message>, MessageBodyWriter<Message> {
+        private final String prefix;
+        private final AtomicInteger readable = new AtomicInteger();
+        private final AtomicInteger writeable = new AtomicInteger();
+
+        public MessageProvider(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            readable.incrementAndGet();
+            return type == Message.class;
+        }
+
+        @Override
+        public Message readFrom(Class<Message> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+            return new Message(new String(entityStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            writeable.incrementAndGet();
+            return type == Message.class;
+        }
+
+        @Override
+        public void writeTo(Message message, Class<?> type, Type genericType, Annotation[] annotations,
+                MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+                throws IOException {
+            entityStream.write((prefix + message.text).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Produces(TYPE)
+    @Consumes(TYPE)
+    public static class OtherMessageProvider extends MessageProvider {
+        public OtherMessageProvider() {
+            super("other:");
+        }
+    }
+
+    /**
+     * A provider which depends on the current request, like one reading request scoped {@code @Context} state.
+     */
+    @Produces(TYPE)
+    @Consumes(TYPE)
+    public static class RequestScopedMessageProvider extends MessageProvider {
+        public RequestScopedMessageProvider() {
+            super("scoped:");
+        }
+
+        @Override
+        public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            checkRequest();
+            return super.isReadable(type, genericType, annotations, mediaType);
+        }
+
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            checkRequest();
+            return super.isWriteable(type, genericType, annotations, mediaType);
+        }
+
+        private static void checkRequest() {
+            if (ResteasyContext.getContextData(HttpRequest.class) == null) {
+                throw new IllegalStateException("No request");
+            }
+        }
+    }
+
+    private Dispatcher dispatcher;
+    private MessageProvider provider;
+
+    @Before
+    public void setup() {
+        dispatcher = MockDispatcherFactory.createDispatcher();
+        provider = new MessageProvider("");
+        dispatcher.getProviderFactory().registerProviderInstance(provider);
+        dispatcher.getRegistry().addPerRequestResource(Resource.class);
+    }
+
+    @Test
+    public void testProvidersAreResolvedOnce() throws Exception {
+        final int readable = provider.readable.get();
+        final int writeable = provider.writeable.get();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("hello", invoke(MockHttpRequest.get("/get")));
+            Assert.assertEquals("hi!", invoke(MockHttpRequest.post("/echo")
+                    .contentType(TYPE + ";charset=UTF-8").content("hi".getBytes(StandardCharsets.UTF_8))));
+        }
+        Assert.assertEquals(readable, provider.readable.get());
+        Assert.assertEquals(writeable, provider.writeable.get());
+    }
+
+    @Test
+    public void testDynamicLookupFallback() throws Exception {
+        final int writeable = provider.writeable.get();
+        Assert.assertEquals("response", invoke(MockHttpRequest.get("/response")));
+        Assert.assertTrue(provider.writeable.get() > writeable);
+    }
+
+    @Test
+    public void testNewProviderIsUsed() throws Exception {
+        Assert.assertEquals("hello", invoke(MockHttpRequest.get("/get")));
+        final MessageProvider other = new OtherMessageProvider();
+        dispatcher.getProviderFactory().register(other, 100);
+        Assert.assertEquals("other:response", invoke(MockHttpRequest.get("/response")));
+        Assert.assertEquals("other:hello", invoke(MockHttpRequest.get("/get")));
+        Assert.assertEquals("other:hi!", invoke(MockHttpRequest.post("/echo")
+                .contentType(TYPE).content("hi".getBytes(StandardCharsets.UTF_8))));
+        Assert.assertTrue(other.readable.get() > 0);
+    }
+
+    @Test
+    public void testProviderFailingAtDeployment() throws Exception {
+        dispatcher = MockDispatcherFactory.createDispatcher();
+        final MessageProvider scoped = new RequestScopedMessageProvider();
+        dispatcher.getProviderFactory().registerProviderInstance(scoped);
+        // the deployment does not fail, the providers are looked up for each request instead
+        dispatcher.getRegistry().addPerRequestResource(Resource.class);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("scoped:hello", invoke(MockHttpRequest.get("/get")));
+            Assert.assertEquals("scoped:hi!", invoke(MockHttpRequest.post("/echo")
+                    .contentType(TYPE).content("hi".getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+
+    private String invoke(final MockHttpRequest request) throws Exception {
+        final MockHttpResponse response = new MockHttpResponse();
+        dispatcher.invoke(request, response);
+        Assert.assertEquals(200, response.getStatus());
+        return response.getContentAsString();
+    }
+}
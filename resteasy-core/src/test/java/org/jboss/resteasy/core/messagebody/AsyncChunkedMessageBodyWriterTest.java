@@ -0,0 +1,197 @@
+package org.jboss.resteasy.core.messagebody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that {@link AsyncChunkedMessageBodyWriter} writes chunks while the entity is serialized, in order and one at a
+ * time, and that the serialization waits for the writes when too many chunks are in flight.
+ */
+public class AsyncChunkedMessageBodyWriterTest {
+
+    private static class BytesWriter implements AsyncChunkedMessageBodyWriter<byte[]> {
+        final List<Integer> inFlightWhileSerializing = new ArrayList<>();
+        RecordingOutputStream target;
+        int failAfter = -1;
+
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return true;
+        }
+
+        @Override
+        public void writeTo(byte[] bytes, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+            // write in uneven pieces, like a generator emptying its own buffer
+            int off = 0;
+            while (off < bytes.length) {
+                if (failAfter >= 0 && off >= failAfter) {
+                    throw new IOException("failed");
+                }
+                final int n = Math.min(1000, bytes.length - off);
+                entityStream.write(bytes, off, n - 1);
+                entityStream.write(bytes[off + n - 1]);
+                off += n;
+                inFlightWhileSerializing.add(off / ChunkedOutputStream.CHUNK_SIZE - target.completed.get());
+            }
+        }
+    }
+
+    private static class RecordingOutputStream extends AsyncOutputStream {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final List<CompletableFuture<Void>> writes = new CopyOnWriteArrayList<>();
+        final AtomicInteger completed = new AtomicInteger();
+
+        @Override
+        public CompletionStage<Void> asyncFlush() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletionStage<Void> asyncWrite(byte[] b, int offset, int length) {
+            Assert.assertTrue("a write was started before the previous one completed",
+                    writes.isEmpty() || writes.get(writes.size() - 1).isDone());
+            Assert.assertTrue(length <= ChunkedOutputStream.CHUNK_SIZE);
+            bytes.write(b, offset, length);
+            final CompletableFuture<Void> write = new CompletableFuture<>();
+            writes.add(write);
+            return write.thenRun(completed::incrementAndGet);
+        }
+
+        @Override
+        public void write(int b) {
+            throw new UnsupportedOperationException();
+        }
+
+        void completeAll() {
+            // completing a write starts the next one
+            for (int i = 0; i < writes.size(); i++) {
+                writes.get(i).complete(null);
+            }
+        }
+    }
+
+    private static byte[] entity(int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testChunks() throws Exception {
+        final ExecutorService completer = Executors.newSingleThreadExecutor();
+        try {
+            final BytesWriter writer = new BytesWriter();
+            // a slow client, the writes complete on another thread
+            final RecordingOutputStream out = writer.target = new RecordingOutputStream() {
+                @Override
+                public boolean isBlockingAllowed() {
+                    return true;
+                }
+
+                @Override
+                public CompletionStage<Void> asyncWrite(byte[] b, int offset, int length) {
+                    final CompletionStage<Void> write = super.asyncWrite(b, offset, length);
+                    completer.execute(() -> {
+                        try {
+                            Thread.sleep(10);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        completeAll();
+                    });
+                    return write;
+                }
+            };
+            final byte[] entity = entity(10 * ChunkedOutputStream.CHUNK_SIZE + 123);
+            writer.asyncWriteTo(entity, byte[].class, byte[].class, new Annotation[0],
+                    MediaType.APPLICATION_OCTET_STREAM_TYPE, null, out).toCompletableFuture().get(10, TimeUnit.SECONDS);
+            // the serialization waited instead of queueing the whole entity
+            Assert.assertEquals(ChunkedOutputStream.MAX_IN_FLIGHT,
+                    (int) Collections.max(writer.inFlightWhileSerializing));
+            Assert.assertEquals(11, out.writes.size());
+            Assert.assertArrayEquals(entity, out.bytes.toByteArray());
+        } finally {
+            completer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNoWaitUnlessBlockingIsAllowed() throws IOException {
+        final RecordingOutputStream out = new RecordingOutputStream();
+        final ChunkedOutputStream chunked = new ChunkedOutputStream(out);
+        final byte[] entity = entity(10 * ChunkedOutputStream.CHUNK_SIZE + 123);
+        chunked.write(entity, 0, entity.length);
+        final CompletableFuture<Void> result = chunked.finish().toCompletableFuture();
+        // the chunks are queued, only the first one is written until it completes
+        Assert.assertEquals(1, out.writes.size());
+        Assert.assertFalse(result.isDone());
+        out.completeAll();
+        Assert.assertTrue(result.isDone());
+        Assert.assertEquals(11, out.writes.size());
+        Assert.assertArrayEquals(entity, out.bytes.toByteArray());
+    }
+
+    @Test
+    public void testCompletedWrites() {
+        final BytesWriter writer = new BytesWriter();
+        final RecordingOutputStream out = writer.target = new RecordingOutputStream() {
+            @Override
+            public CompletionStage<Void> asyncWrite(byte[] b, int offset, int length) {
+                final CompletionStage<Void> write = super.asyncWrite(b, offset, length);
+                completeAll();
+                return write;
+            }
+        };
+        final byte[] entity = entity(3 * ChunkedOutputStream.CHUNK_SIZE);
+        Assert.assertTrue(writer.asyncWriteTo(entity, byte[].class, byte[].class, new Annotation[0],
+                MediaType.APPLICATION_OCTET_STREAM_TYPE, null, out).toCompletableFuture().isDone());
+        Assert.assertEquals(3, out.writes.size());
+        Assert.assertArrayEquals(entity, out.bytes.toByteArray());
+    }
+
+    @Test
+    public void testFailure() {
+        final BytesWriter writer = new BytesWriter();
+        final RecordingOutputStream out = writer.target = new RecordingOutputStream();
+        writer.failAfter = 2 * ChunkedOutputStream.CHUNK_SIZE;
+        final CompletableFuture<Void> result = writer
+                .asyncWriteTo(entity(3 * ChunkedOutputStream.CHUNK_SIZE), byte[].class, byte[].class, new Annotation[0],
+                        MediaType.APPLICATION_OCTET_STREAM_TYPE, null, out)
+                .toCompletableFuture();
+        // the error is reported once the chunks already sent were written
+        Assert.assertFalse(result.isDone());
+        out.completeAll();
+        Assert.assertTrue(result.isCompletedExceptionally());
+        try {
+            result.join();
+            Assert.fail();
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+        Assert.assertEquals(2, out.writes.size());
+    }
+}
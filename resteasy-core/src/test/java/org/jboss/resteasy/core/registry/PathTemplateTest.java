@@ -0,0 +1,76 @@
+package org.jboss.resteasy.core.registry;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Matcher;
+
+import org.junit.Test;
+
+public class PathTemplateTest {
+    private static final String[] PATHS = {
+            "", "/", "a", "a/", "a/b", "a/b/", "a/b/c", "a/bc", "a//b", "x/b", "a/b/c/d", "a/1/c", "a/1/2/c",
+            "customers/42", "customers/42/orders", "customers/42/orders/7", "customers//orders", "customers/42/",
+    };
+
+    private static final String[] EXPRESSIONS = {
+            "", "a", "a/b", "a/{b}", "a/{ b }/c", "{x}", "{x}/{y}", "customers/{id}", "customers/{id}/orders",
+            "customers/{id}/orders/{orderId}", "a//b",
+    };
+
+    @Test
+    public void testCompile() {
+        assertTrue(new MethodExpression(null, "customers/{id}", null).isRegexFree());
+        assertFalse(new MethodExpression(null, "customers/{id:\\d+}", null).isRegexFree());
+        assertFalse(new MethodExpression(null, "customers/id-{id}", null).isRegexFree());
+        assertFalse(new MethodExpression(null, "customers/{id}", null, "[a-z]").isRegexFree());
+        assertFalse(new MethodExpression(null, "customers/{id}", null, "(.*)").isRegexFree());
+        assertTrue(new MethodExpression(null, "customers", null, "(.*)").isRegexFree());
+        assertTrue(new ClassExpression("customers/{id}").isRegexFree());
+        assertNull(new MethodExpression(null, "{id}-{name}", null).matchTemplate("1-a", 0));
+    }
+
+    @Test
+    public void testMethodExpressionsMatchLikeRegex() {
+        for (String expression : EXPRESSIONS) {
+            assertSameAsRegex(new MethodExpression(null, expression, null));
+        }
+    }
+
+    @Test
+    public void testClassExpressionsMatchLikeRegex() {
+        for (String expression : EXPRESSIONS) {
+            assertSameAsRegex(new ClassExpression(expression));
+        }
+        assertSameAsRegex(new MethodExpression(null, "a", null, "(.*)"));
+        assertSameAsRegex(new MethodExpression(null, "a/b", null, "(.*)"));
+    }
+
+    private static void assertSameAsRegex(final Expression expression) {
+        assertTrue(expression.getPathExpression(), expression.isRegexFree());
+        for (String path : PATHS) {
+            for (int start = 0; start <= Math.min(2, path.length()); start++) {
+                final String message = "'" + expression.getRegex() + "' on '" + path + "' from " + start;
+                final Matcher matcher = expression.getPattern().matcher(path);
+                matcher.region(start, path.length());
+                final int[] offsets = expression.matchTemplate(path, start);
+                if (!matcher.matches()) {
+                    assertNull(message, offsets);
+                    continue;
+                }
+                final int groups = expression.getNumGroups();
+                final int[] expected = new int[groups * 2 + 1];
+                for (int i = 0; i < groups; i++) {
+                    expected[i * 2] = matcher.start(i + 1);
+                    expected[i * 2 + 1] = matcher.end(i + 1);
+                }
+                expected[groups * 2] = matcher.groupCount() > groups ? matcher.start(groups + 1) : -1;
+                assertArrayEquals(message, expected, offsets);
+                assertEquals(message, groups * 2 + 1, offsets.length);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.jboss.resteasy.core.registry;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Method;
 
@@ -33,12 +34,15 @@ public class RootNodeCacheSizeTest {
         }
 
         // Default in RootNode is CACHE_SIZE = 2048;
-        assertEquals("Cache is expected to be cleared when size exceeded 2048 items", 2, rootNode.cacheSize());
+        final int size = rootNode.cacheSize();
+        assertTrue("Cache is expected to be bounded to 2048 items: " + size, size <= 2048);
+        assertTrue("Cache is expected to evict single entries rather than being cleared: " + size, size > 2);
+        assertEquals("Unexpected eviction count", 2050 - size, rootNode.getMatchCache().getEvictionCount());
         for (int i = 0; i < 10; i++) {
             rootNode.match(MockHttpRequest.get("" + i).contentType(MediaType.valueOf("text/html;boundary=from" + i)), 0);
         }
         //MediaType with parameters won't be cached
-        assertEquals("Unexpected cache item", 2, rootNode.cacheSize());
+        assertEquals("Unexpected cache item", size, rootNode.cacheSize());
     }
 
     public class MyRootNode extends RootNode {
@@ -0,0 +1,134 @@
+package org.jboss.resteasy.core.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.junit.Test;
+
+public class SegmentedMatchCacheTest {
+
+    @Test
+    public void testFrequentlyUsedEntrySurvivesScan() throws Exception {
+        SegmentedMatchCache cache = new SegmentedMatchCache(16);
+        MatchCache.Key hot = key("hot");
+        cache.put(hot, new MatchCache());
+        // a second hit promotes the entry out of the probationary area
+        assertNotNull(cache.get(hot));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(key("cold" + i), new MatchCache());
+        }
+        assertEquals(16, cache.size());
+        assertEquals(85, cache.getEvictionCount());
+        assertNotNull("Promoted entry must not be evicted by one-off entries", cache.get(hot));
+        assertNull(cache.get(key("cold0")));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testProbeKey() throws Exception {
+        SegmentedMatchCache cache = new SegmentedMatchCache(16);
+        MatchCache match = new MatchCache();
+        MatchCache.Key probe = new MatchCache.Key();
+        probe.reset(MockHttpRequest.get("/a/b").accept("application/json"), 2);
+        cache.put(probe.copy(), match);
+
+        // a different prefix before the start index does not matter
+        probe.reset(MockHttpRequest.get("/x/b").accept("application/json"), 2);
+        assertSame(match, cache.get(probe));
+        probe.reset(MockHttpRequest.get("/a/b").accept("application/xml"), 2);
+        assertNull(cache.get(probe));
+        probe.reset(MockHttpRequest.post("/a/b").accept("application/json"), 2);
+        assertNull(cache.get(probe));
+        probe.reset(MockHttpRequest.get("/a/b").accept("application/json").contentType("text/plain"), 2);
+        assertNull(cache.get(probe));
+    }
+
+    @Test
+    public void testPromotedProbeKeyIsCopied() throws Exception {
+        SegmentedMatchCache cache = new SegmentedMatchCache(16);
+        MatchCache match = new MatchCache();
+        cache.put(key("/a"), match);
+        MatchCache.Key probe = new MatchCache.Key();
+        probe.reset(MockHttpRequest.get("/a"), 0);
+        // the hit promotes the entry, the probe must not be stored
+        assertSame(match, cache.get(probe));
+        probe.clear();
+        assertSame(match, cache.get(key("/a")));
+        probe.reset(MockHttpRequest.get("/b"), 0);
+        assertSame(match, cache.get(key("/a")));
+    }
+
+    @Test
+    public void testHeaderValues() throws Exception {
+        SegmentedMatchCache cache = new SegmentedMatchCache(16);
+        MatchCache.Key probe = new MatchCache.Key();
+        // distinct header values never make requests uncacheable, they are evicted with the entries
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(probe.reset(MockHttpRequest.get("/a").accept("application/x-" + i), 0));
+            cache.put(probe.copy(), new MatchCache());
+        }
+        assertEquals(16, cache.size());
+        MatchCache match = new MatchCache();
+        probe.reset(MockHttpRequest.get("/a").accept("application/json"), 0);
+        cache.put(probe.copy(), match);
+        probe.reset(MockHttpRequest.get("/a").accept(new String("application/json")), 0);
+        assertSame(match, cache.get(probe));
+
+        StringBuilder accept = new StringBuilder("application/json");
+        while (accept.length() <= MatchCache.Key.MAX_HEADER_LENGTH) {
+            accept.append(";q=1");
+        }
+        assertFalse(probe.reset(MockHttpRequest.get("/a").accept(accept.toString()), 0));
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        final SegmentedMatchCache cache = new SegmentedMatchCache(64);
+        final MatchCache.Key hot = key("hot");
+        final MatchCache match = new MatchCache();
+        cache.put(hot, match);
+        // the recorded hit is applied by the next put, which promotes the entry
+        cache.get(hot);
+        cache.put(key("warm"), new MatchCache());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        assertSame(match, cache.get(hot));
+                    }
+                    return null;
+                }));
+            }
+            // the lookups are recorded and drained while entries are added and evicted
+            for (int i = 0; i < 10_000; i++) {
+                cache.put(key("cold" + i), new MatchCache());
+            }
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(64, cache.size());
+        assertSame(match, cache.get(hot));
+    }
+
+    private static MatchCache.Key key(final String path) throws Exception {
+        return new MatchCache.Key(MockHttpRequest.get(path), 0);
+    }
+}
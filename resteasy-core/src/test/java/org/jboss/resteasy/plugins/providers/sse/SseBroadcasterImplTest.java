@@ -0,0 +1,234 @@
+package org.jboss.resteasy.plugins.providers.sse;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import org.jboss.resteasy.core.ResourceMethodInvoker;
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.providerfactory.ResteasyProviderFactoryImpl;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.spi.ResteasyAsynchronousContext;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SseBroadcasterImplTest {
+    private static final int SINKS = 10;
+
+    private final AtomicInteger writes = new AtomicInteger();
+    private final MessageBodyWriter<OutboundSseEvent> writer = new MessageBodyWriter<OutboundSseEvent>() {
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return true;
+        }
+
+        @Override
+        public void writeTo(OutboundSseEvent event, Class<?> type, Type genericType, Annotation[] annotations,
+                MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+                throws IOException {
+            writes.incrementAndGet();
+            entityStream.write(("data:" + event.getData() + "\n\n").getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    private ResteasyProviderFactory providerFactory;
+    private final List<MockHttpResponse> responses = new ArrayList<>();
+    private final List<SseEventOutputImpl> sinks = new ArrayList<>();
+
+    @Before
+    public void setup() throws Exception {
+        providerFactory = new ResteasyProviderFactoryImpl();
+        final ResourceMethodInvoker method = mock(ResourceMethodInvoker.class);
+        doReturn(new MediaType[] { MediaType.SERVER_SENT_EVENTS_TYPE }).when(method).getProduces();
+        doReturn(new Annotation[0]).when(method).getMethodAnnotations();
+        for (int i = 0; i < SINKS; i++) {
+            final MockHttpRequest request = MockHttpRequest.get("/events");
+            request.setAttribute(ResourceMethodInvoker.class.getName(), method);
+            request.setAsynchronousContext(mock(ResteasyAsynchronousContext.class));
+            final MockHttpResponse response = new MockHttpResponse();
+            final Map<Class<?>, Object> contextData = new HashMap<>();
+            contextData.put(HttpRequest.class, request);
+            contextData.put(HttpResponse.class, response);
+            ResteasyContext.pushContextDataMap(contextData);
+            try {
+                sinks.add(new SseEventOutputImpl(writer, providerFactory));
+            } finally {
+                ResteasyContext.removeContextDataLevel();
+            }
+            responses.add(response);
+        }
+    }
+
+    @After
+    public void cleanup() {
+        ResteasyContext.clearContextData();
+    }
+
+    @Test
+    public void testEventIsEncodedOnce() throws Exception {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl();
+        sinks.forEach(broadcaster::register);
+
+        broadcaster.broadcast(event("first")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        // the sinks serialize the first event themselves as their responses are not flushed yet
+        Assert.assertEquals(SINKS, writes.get());
+
+        writes.set(0);
+        broadcaster.broadcast(event("second")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        broadcaster.broadcast(event("third")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(2, writes.get());
+
+        for (MockHttpResponse response : responses) {
+            Assert.assertTrue(response.getContentAsString()
+                    .endsWith("data:first\n\ndata:second\n\ndata:third\n\n"));
+        }
+    }
+
+    @Test
+    public void testClosedSinkDoesNotStopBroadcast() throws Exception {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl();
+        sinks.forEach(broadcaster::register);
+        final AtomicInteger closed = new AtomicInteger();
+        broadcaster.onClose(sink -> closed.incrementAndGet());
+        broadcaster.broadcast(event("first")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        sinks.get(3).close();
+        broadcaster.broadcast(event("second")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(1, closed.get());
+        for (int i = 0; i < SINKS; i++) {
+            Assert.assertEquals(i != 3, responses.get(i).getContentAsString().endsWith("data:second\n\n"));
+        }
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        final List<Object> received = slowConsumer(SseBroadcasterImpl.SlowConsumerPolicy.DROP_OLDEST);
+        Assert.assertEquals(Arrays.asList("1", "4", "5"), received);
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        final List<Object> received = slowConsumer(SseBroadcasterImpl.SlowConsumerPolicy.DROP_NEWEST);
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), received);
+    }
+
+    @Test
+    public void testDisconnect() throws Exception {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(2, SseBroadcasterImpl.SlowConsumerPolicy.DISCONNECT);
+        final SlowSink slow = new SlowSink();
+        final SlowSink fast = new SlowSink();
+        fast.autoComplete = true;
+        broadcaster.register(slow);
+        broadcaster.register(fast);
+        final List<SseEventSink> closed = new ArrayList<>();
+        broadcaster.onClose(closed::add);
+
+        for (int i = 1; i <= 4; i++) {
+            broadcaster.broadcast(event(String.valueOf(i)));
+        }
+        Assert.assertTrue(slow.isClosed());
+        Assert.assertEquals(Arrays.asList(slow), closed);
+        Assert.assertEquals(1, broadcaster.getDisconnectedSinkCount());
+        Assert.assertEquals(0, broadcaster.getQueueDepth());
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4"), fast.received);
+
+        broadcaster.broadcast(event("5")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(Arrays.asList("1"), slow.received);
+        Assert.assertEquals(5, fast.received.size());
+    }
+
+    /**
+     * Broadcasts five events with a queue size of two while the first event sent to the slow sink is not completed.
+     */
+    private List<Object> slowConsumer(final SseBroadcasterImpl.SlowConsumerPolicy policy) throws Exception {
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl(2, policy);
+        final SlowSink slow = new SlowSink();
+        final SlowSink fast = new SlowSink();
+        fast.autoComplete = true;
+        broadcaster.register(slow);
+        broadcaster.register(fast);
+
+        final List<CompletableFuture<?>> broadcasts = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            broadcasts.add(broadcaster.broadcast(event(String.valueOf(i))).toCompletableFuture());
+        }
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4", "5"), fast.received);
+        Assert.assertEquals(Arrays.asList("1"), slow.received);
+        Assert.assertEquals(2, broadcaster.getQueueDepth(slow));
+        Assert.assertEquals(2, broadcaster.getMaxQueueDepth());
+        Assert.assertEquals(0, broadcaster.getQueueDepth(fast));
+        Assert.assertEquals(2, broadcaster.getDroppedEventCount());
+        Assert.assertFalse(broadcasts.get(0).isDone());
+
+        // let the slow consumer catch up
+        while (!slow.pending.isEmpty()) {
+            slow.pending.remove(0).complete(null);
+        }
+        CompletableFuture.allOf(broadcasts.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(0, broadcaster.getQueueDepth());
+        Assert.assertFalse(slow.isClosed());
+        return slow.received;
+    }
+
+    private static class SlowSink implements SseEventSink {
+        final List<Object> received = new ArrayList<>();
+        final List<CompletableFuture<Void>> pending = new ArrayList<>();
+        boolean autoComplete;
+        boolean closed;
+
+        @Override
+        public synchronized CompletionStage<?> send(OutboundSseEvent event) {
+            if (closed) {
+                throw new IllegalStateException();
+            }
+            received.add(event.getData());
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            if (autoComplete) {
+                future.complete(null);
+            } else {
+                pending.add(future);
+            }
+            return future;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static OutboundSseEvent event(final String data) {
+        return new OutboundSseEventImpl.BuilderImpl().data(data).build();
+    }
+}
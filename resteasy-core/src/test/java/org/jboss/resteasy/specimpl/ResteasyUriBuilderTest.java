@@ -19,6 +19,12 @@
 
 package org.jboss.resteasy.specimpl;
 
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.ws.rs.core.UriBuilder;
+
 import org.jboss.resteasy.specimpl.ResteasyUriBuilderImpl.PathSegments;
 import org.junit.Assert;
 import org.junit.Test;
@@ -77,4 +83,40 @@ public class ResteasyUriBuilderTest {
             Assert.assertEquals(PATH_SEGMENT_PARSER_ERROR, pathComponents.fragment, "hello");
         }
     }
+
+    @Test
+    public void resolveTemplateInPlaceTest() {
+        final UriBuilder template = new ResteasyUriBuilderImpl()
+                .uriTemplate("http://localhost:8080/a/{id}/b/{name}/{id}?q={q}&r=1");
+        final UriBuilder resolved = template.clone().resolveTemplate("id", "x y/z").resolveTemplate("q", "a&b");
+        Assert.assertEquals("/a/x%20y%2Fz/b/{name}/x%20y%2Fz", ((ResteasyUriBuilderImpl) resolved).getPath());
+        Assert.assertEquals("q=a%26b&r=1", ((ResteasyUriBuilderImpl) resolved).getQuery());
+        Assert.assertEquals(URI.create("http://localhost:8080/a/x%20y%2Fz/b/c%2Fd/x%20y%2Fz?q=a%26b&r=1"),
+                resolved.build("c/d"));
+        Assert.assertEquals(URI.create("http://localhost:8080/a/x%20y/z/b/n/x%20y/z?q=v&r=1"),
+                template.clone().resolveTemplate("id", "x y/z", false)
+                        .resolveTemplates(new HashMap<>(Map.of("name", "n", "q", "v")))
+                        .build());
+
+        // the template itself is not changed by its clones
+        Assert.assertEquals(URI.create("http://localhost:8080/a/1/b/2/1?q=3&r=1"), template.build("1", "2", "3"));
+        Assert.assertEquals("http://localhost:8080/a/{id}/b/{name}/{id}?q={q}&r=1", template.toTemplate());
+    }
+
+    @Test
+    public void resolveTemplateInHostTest() {
+        final UriBuilder resolved = new ResteasyUriBuilderImpl().uriTemplate("http://{host}:8080/{path}")
+                .resolveTemplate("host", "example.com").resolveTemplate("path", "p");
+        Assert.assertEquals("example.com", resolved.build().getHost());
+        Assert.assertEquals(URI.create("http://example.com:8080/p"), resolved.build());
+    }
+
+    @Test
+    public void buildWithRegexTemplateTest() {
+        final UriBuilder builder = new ResteasyUriBuilderImpl().uriTemplate("http://localhost/{id: [0-9]+}/{id}");
+        Assert.assertEquals(URI.create("http://localhost/42/42"), builder.build("42"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> builder.build("abc"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new ResteasyUriBuilderImpl()
+                .uriTemplate("http://localhost/{a}/{b}").build("1"));
+    }
 }
@@ -1,9 +1,16 @@
 package org.jboss.resteasy.specimpl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.ws.rs.core.PathSegment;
+
 import org.junit.Test;
 
 public class ResteasyUriInfoTest {
@@ -33,4 +40,49 @@ public class ResteasyUriInfoTest {
         assertNotEquals(key1, key2);
     }
 
+    @Test
+    public void testLazyInitializationMatchesInitData() {
+        for (String uri : List.of("http://localhost/", "http://localhost/ctx/a%20b/c/", "http://localhost/ctx/a;m=1/b;n=%202",
+                "http://localhost/ctx/a//b?x=1&y=%20&y=a+b&z&&", "/ctx/p?k=v#f")) {
+            ResteasyUriInfo lazy = new ResteasyUriInfo(uri, "/ctx");
+            ResteasyUriInfo eager = new ResteasyUriInfo(uri, "/ctx", new ResteasyUriInfo.InitData(uri, "/ctx"));
+            assertEquals(eager.getMatchingPath(), lazy.getMatchingPath());
+            assertEquals(eager.getPath(), lazy.getPath());
+            assertEquals(eager.getPath(false), lazy.getPath(false));
+            assertEquals(eager.getPathSegments().size(), lazy.getPathSegmentCount());
+            assertEquals(segments(eager.getPathSegments()), segments(lazy.getPathSegments()));
+            assertEquals(segments(eager.getPathSegments(false)), segments(lazy.getPathSegments(false)));
+            assertEquals(new HashMap<>(eager.getQueryParameters()), new HashMap<>(lazy.getQueryParameters()));
+            assertEquals(new HashMap<>(eager.getQueryParameters(false)), new HashMap<>(lazy.getQueryParameters(false)));
+        }
+    }
+
+    @Test
+    public void testQueryParameters() {
+        ResteasyUriInfo uriInfo = new ResteasyUriInfo("http://localhost/p?a=1&b=%20x&b=y+z&c&=d&&", "");
+        assertEquals(List.of("1"), uriInfo.getQueryParameters().get("a"));
+        assertEquals(List.of(" x", "y z"), uriInfo.getQueryParameters().get("b"));
+        assertEquals(List.of("%20x", "y+z"), uriInfo.getQueryParameters(false).get("b"));
+        assertEquals(List.of(""), uriInfo.getQueryParameters().get("c"));
+        assertEquals(List.of("d"), uriInfo.getQueryParameters().get(""));
+        assertEquals(4, uriInfo.getQueryParameters().size());
+        assertTrue(uriInfo.getQueryParameters() == uriInfo.getQueryParameters());
+    }
+
+    @Test
+    public void testPathParameterSegments() {
+        ResteasyUriInfo uriInfo = new ResteasyUriInfo("http://localhost/a/b%20c;m=1/d", "");
+        assertEquals("/a/b%20c/d", uriInfo.getMatchingPath());
+        uriInfo.addPathParameterSegments("p", 1, 2);
+        PathSegment[] decoded = uriInfo.getPathParameterPathSegments().getFirst("p");
+        assertEquals(2, decoded.length);
+        assertEquals("b c", decoded[0].getPath());
+        assertEquals("1", decoded[0].getMatrixParameters().getFirst("m"));
+        assertEquals("d", decoded[1].getPath());
+        assertEquals("b%20c", uriInfo.getEncodedPathParameterPathSegments().getFirst("p")[0].getPath());
+    }
+
+    private static List<String> segments(List<PathSegment> segments) {
+        return segments.stream().map(PathSegment::toString).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,79 @@
+package org.jboss.resteasy.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MethodStatisticsLoggerImplTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 100_000; value++) {
+            final int bucket = MethodStatisticsLoggerImpl.bucket(value);
+            final long upper = MethodStatisticsLoggerImpl.upperBound(bucket);
+            assertTrue("value " + value + " above bucket bound " + upper, value <= upper);
+            assertTrue("bucket of " + value + " too wide " + upper, upper - value <= value / 8);
+            if (bucket > 0) {
+                assertTrue(value > MethodStatisticsLoggerImpl.upperBound(bucket - 1));
+            }
+        }
+        assertEquals(Long.MAX_VALUE,
+                MethodStatisticsLoggerImpl.upperBound(MethodStatisticsLoggerImpl.bucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final MethodStatisticsLoggerImpl logger = new MethodStatisticsLoggerImpl();
+        final long now = System.nanoTime();
+        // durations are measured against the current time, so recorded values are at least the given offsets
+        for (int i = 0; i < 100; i++) {
+            logger.duration(now - TimeUnit.MILLISECONDS.toNanos(i < 90 ? 1 : 100));
+        }
+        assertEquals(100, logger.getInvocationCnt());
+        final long p50 = logger.getExecutionTimePercentile(50);
+        final long p99 = logger.getExecutionTimePercentile(99);
+        assertTrue("p50 " + p50, p50 >= TimeUnit.MILLISECONDS.toNanos(1) && p50 < TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue("p99 " + p99, p99 >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(logger.getMaxExecutionTime() >= p99);
+
+        logger.reset();
+        assertEquals(0, logger.getInvocationCnt());
+        assertEquals(0, logger.getExecutionTimePercentile(99));
+        assertEquals(0, logger.getAvgExecutionTime());
+    }
+
+    @Test
+    public void testConcurrentCounts() throws Exception {
+        final MethodStatisticsLoggerImpl logger = new MethodStatisticsLoggerImpl();
+        final int threads = 8;
+        final int iterations = 10_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < iterations; i++) {
+                        logger.duration(logger.timestamp());
+                        logger.incFailureCnt();
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * iterations, logger.getInvocationCnt());
+        assertEquals(threads * iterations, logger.getFailedInvocationCnt());
+        // no update of the histogram stripes is lost while they are added
+        assertEquals(threads * iterations, logger.getHistogramCount());
+        logger.reset();
+        assertEquals(0, logger.getHistogramCount());
+    }
+}
@@ -0,0 +1,73 @@
+package org.jboss.resteasy.util;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.specimpl.MultivaluedMapImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link Encode}.
+ */
+public class EncodeTest {
+
+    @Test
+    public void testDecodePath() {
+        final String plain = "/a/b;m=1/c+d";
+        Assert.assertSame(plain, Encode.decodePath(plain));
+        Assert.assertEquals("/a b/c/", Encode.decodePath("/a%20b%2Fc%2f"));
+        Assert.assertEquals("/\u5E74\u5047\u671F/Gr\u00FC\u00DF",
+                Encode.decodePath("/%E5%B9%B4%E5%81%87%E6%9C%9F/Gr%C3%BC%C3%9F"));
+        // a '%' which does not start an encoded byte is kept
+        Assert.assertEquals("100%/%g1/%2", Encode.decodePath("100%/%g1/%2"));
+        Assert.assertThrows(RuntimeException.class, () -> Encode.decodePath("%C3"));
+    }
+
+    @Test
+    public void testEncodeNonCodes() {
+        final String plain = "a simple string";
+        Assert.assertSame(plain, Encode.encodeNonCodes(plain));
+        Assert.assertEquals("%25", Encode.encodeNonCodes("%"));
+        Assert.assertEquals("%25%25%25%25", Encode.encodeNonCodes("%%%%"));
+        Assert.assertEquals("%25%25", Encode.encodeNonCodes("%%25"));
+        Assert.assertEquals("%25a%25", Encode.encodeNonCodes("%a%25"));
+        Assert.assertEquals("%2F%25g1%252", Encode.encodeNonCodes("%2F%g1%2"));
+    }
+
+    @Test
+    public void testEncode() {
+        final String plain = "/orders/123;m=1";
+        Assert.assertSame(plain, Encode.encodePath(plain));
+        Assert.assertEquals("/a%20b/%7Cc%25/%2F", Encode.encodePath("/a b/|c%/%2F"));
+        Assert.assertEquals("a%2Fb%20%C3%BC%E5%B9%B4%F0%9F%98%80",
+                Encode.encodePathSegmentAsIs("a/b \u00FC\u5E74\uD83D\uDE00"));
+        Assert.assertEquals("a+b%26c%3Dd%25", Encode.encodeQueryParamAsIs("a b&c=d%"));
+        Assert.assertEquals("a+%2Fb%2F", Encode.encodeQueryParamSaveEncodings("a /b%2F"));
+    }
+
+    @Test
+    public void testEncodeTemplateParameters() {
+        Assert.assertEquals("/a%20b/{id}/{name:[a-z]{2}}/%25", Encode.encodePath("/a b/{id}/{name:[a-z]{2}}/%"));
+        Assert.assertEquals("%7B%7D%20{x%}", Encode.encodePath("{} {x%}"));
+        Assert.assertEquals("{a}%7D", Encode.encodePath("{a}}"));
+    }
+
+    @Test
+    public void testDecode() {
+        final String plain = "name";
+        Assert.assertSame(plain, Encode.decode(plain));
+        Assert.assertEquals("a b&c \u00FC", Encode.decode("a+b%26c%20%C3%BC"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Encode.decode("a%2"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Encode.decode("a%zz"));
+
+        final MultivaluedMap<String, String> map = new MultivaluedMapImpl<>();
+        map.add("a+b", "%C3%BC");
+        map.add("a+b", "c");
+        final MultivaluedMap<String, String> decoded = Encode.decode(map);
+        Assert.assertEquals(1, decoded.size());
+        Assert.assertEquals("\u00FC", decoded.get("a b").get(0));
+        Assert.assertEquals("c", decoded.get("a b").get(1));
+        Assert.assertEquals("\u00FC", Encode.decode(map, "UTF-8").getFirst("a b"));
+        Assert.assertEquals("\u00C3\u00BC", Encode.decode(map, "ISO-8859-1").getFirst("a b"));
+    }
+}
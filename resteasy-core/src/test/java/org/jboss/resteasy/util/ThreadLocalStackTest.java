@@ -0,0 +1,55 @@
+package org.jboss.resteasy.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ThreadLocalStack}.
+ */
+public class ThreadLocalStackTest {
+
+    @Test
+    public void testPushPop() {
+        final ThreadLocalStack<String> stack = new ThreadLocalStack<>();
+        Assert.assertTrue(stack.isEmpty());
+        Assert.assertNull(stack.get());
+        Assert.assertNull(stack.pop());
+        for (int i = 0; i < 10; i++) {
+            stack.push("v" + i);
+        }
+        Assert.assertEquals(10, stack.size());
+        Assert.assertEquals("v9", stack.get());
+        Assert.assertEquals("v0", stack.get(0));
+        Assert.assertEquals("v9", stack.get(9));
+        Assert.assertNull(stack.get(10));
+        Assert.assertNull(stack.get(-1));
+        stack.setLast("last");
+        Assert.assertEquals("last", stack.pop());
+        Assert.assertEquals("v8", stack.get());
+        stack.clear();
+        Assert.assertTrue(stack.isEmpty());
+        Assert.assertEquals(0, stack.size());
+        stack.setLast("first");
+        Assert.assertEquals("first", stack.get());
+        Assert.assertEquals(1, stack.size());
+        stack.clear();
+    }
+
+    @Test
+    public void testThreadIsolation() throws Exception {
+        final ThreadLocalStack<String> stack = new ThreadLocalStack<>();
+        stack.push("main");
+        final AtomicReference<String> other = new AtomicReference<>("unset");
+        final Thread thread = new Thread(() -> {
+            other.set(stack.get());
+            stack.push("other");
+        });
+        thread.start();
+        thread.join();
+        Assert.assertNull(other.get());
+        Assert.assertEquals("main", stack.pop());
+        Assert.assertTrue(stack.isEmpty());
+    }
+}
@@ -15,6 +15,8 @@ import org.jboss.resteasy.core.ResourceMethodRegistry;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.spi.Registry;
 import org.jboss.resteasy.spi.ResourceInvoker;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.spi.statistics.MethodStatisticsLogger;
 
 /**
  * @author <a href="mailto:bill@burkecentral.com">Bill Burke</a>
@@ -26,6 +28,9 @@ public class RegistryStatsResource {
     @Produces({ "application/xml", "application/json" })
     public RegistryData get() throws JAXBException {
         ResourceMethodRegistry registry = (ResourceMethodRegistry) ResteasyContext.getContextData(Registry.class);
+        ResteasyDeployment deployment = ResteasyContext.getContextData(ResteasyDeployment.class);
+        boolean statisticsEnabled = deployment != null
+                && deployment.getProviderFactory().getStatisticsController().isEnabled();
 
         RegistryData data = new RegistryData();
 
@@ -64,6 +69,17 @@ public class RegistryStatsResource {
                         else
                             method.setInvocations(0);
 
+                        if (statisticsEnabled) {
+                            // execution times are reported in nanoseconds
+                            MethodStatisticsLogger statistics = rm.getMethodStatisticsLogger();
+                            method.setFailures(statistics.getFailedInvocationCnt());
+                            method.setAvgExecutionTime(statistics.getAvgExecutionTime());
+                            method.setMaxExecutionTime(statistics.getMaxExecutionTime());
+                            method.setP50ExecutionTime(statistics.getExecutionTimePercentile(50));
+                            method.setP90ExecutionTime(statistics.getExecutionTimePercentile(90));
+                            method.setP99ExecutionTime(statistics.getExecutionTimePercentile(99));
+                        }
+
                         if (rm.getProduces() != null) {
                             for (MediaType mediaType : rm.getProduces()) {
                                 method.getProduces().add(mediaType.toString());
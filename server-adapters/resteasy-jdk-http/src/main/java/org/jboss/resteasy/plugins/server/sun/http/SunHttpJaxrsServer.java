@@ -2,7 +2,11 @@ package org.jboss.resteasy.plugins.server.sun.http;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
 
+import jakarta.ws.rs.SeBootstrap.Configuration;
+
+import org.jboss.resteasy.core.se.ConfigurationOption;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.ResteasyDeployment;
@@ -27,6 +31,8 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer<SunHttpJaxrsServe
     protected int runtimePort = -1;
     protected ResteasyDeployment deployment;
     private EmbeddedServerHelper serverHelper = new EmbeddedServerHelper();
+    private boolean virtualThreads;
+    private ExecutorService requestExecutor;
 
     @Override
     public SunHttpJaxrsServer deploy() {
@@ -53,17 +59,35 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer<SunHttpJaxrsServe
                 throw new RuntimeException(e);
             }
         }
+        if (virtualThreads) {
+            requestExecutor = serverHelper.createVirtualThreadExecutor(this);
+            if (requestExecutor != null) {
+                httpServer.setExecutor(requestExecutor);
+            }
+        }
         context.bind(httpServer);
         httpServer.start();
         return this;
     }
 
+    @Override
+    public void start(final Configuration configuration) {
+        if (ConfigurationOption.VIRTUAL_THREADS.<Boolean> getValue(configuration)) {
+            virtualThreads = true;
+        }
+        EmbeddedJaxrsServer.super.start(configuration);
+    }
+
     @Override
     public void stop() {
         runtimePort = -1;
         // Stop with an arbitrary 10 second delay. This was taken from the VertxJaxrsServer.
         httpServer.stop(10);
         context.cleanup();
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+            requestExecutor = null;
+        }
 
         if (deployment != null) {
             deployment.stop();
@@ -128,6 +152,19 @@ public class SunHttpJaxrsServer implements EmbeddedJaxrsServer<SunHttpJaxrsServe
         return this;
     }
 
+    /**
+     * Run each request on a new virtual thread. By default the requests are run on the single dispatcher thread of the
+     * HttpServer, unless an executor was set on a provided HttpServer. Virtual threads require Java 21 or later, on
+     * older JVMs a warning is logged and the executor of the HttpServer is not changed. It can also be enabled with the
+     * {@code resteasy.server.virtual.threads} configuration property.
+     *
+     * @param virtualThreads {@code true} to run each request on a virtual thread
+     */
+    public SunHttpJaxrsServer setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     /**
      * If you do not provide an HttpServer instance, one will be created on startup
      *
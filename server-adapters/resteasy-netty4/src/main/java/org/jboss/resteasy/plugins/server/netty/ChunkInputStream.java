@@ -0,0 +1,210 @@
+package org.jboss.resteasy.plugins.server.netty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * An {@link InputStream} over the {@link io.netty.handler.codec.http.HttpContent} chunks of a request body which has
+ * not been aggregated. The chunks are offered by the event loop while the resource method consumes them on the
+ * executor thread.
+ * <p>
+ * Reading is back-pressured: once more than the high water mark is buffered, auto read is switched off for the
+ * channel so that the client is throttled by TCP flow control, and it is switched on again once the reader has drained
+ * the buffer below the low water mark.
+ * </p>
+ */
+public class ChunkInputStream extends InputStream {
+    static final int DEFAULT_HIGH_WATER_MARK = 256 * 1024;
+    static final int DEFAULT_LOW_WATER_MARK = 64 * 1024;
+
+    private final Channel channel;
+    private final int highWaterMark;
+    private final int lowWaterMark;
+    private final ArrayDeque<ByteBuf> chunks = new ArrayDeque<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private int buffered;
+    private boolean suspended;
+    private boolean buffering;
+    private boolean complete;
+    private boolean closed;
+    private Throwable failure;
+
+    public ChunkInputStream(final Channel channel) {
+        this(channel, DEFAULT_HIGH_WATER_MARK, DEFAULT_LOW_WATER_MARK);
+    }
+
+    public ChunkInputStream(final Channel channel, final int highWaterMark, final int lowWaterMark) {
+        this.channel = channel;
+        this.highWaterMark = highWaterMark;
+        this.lowWaterMark = Math.min(lowWaterMark, highWaterMark);
+    }
+
+    /**
+     * Returns a stage which is completed once the whole body has been received, or completed exceptionally if the
+     * connection was lost before. This allows asynchronous resources to wait for the body without blocking a thread.
+     * As nothing is read until then, the back-pressure is switched off and the whole body is buffered.
+     *
+     * @return the completion stage of the body
+     */
+    public CompletionStage<Void> completion() {
+        synchronized (this) {
+            if (!buffering) {
+                buffering = true;
+                resume();
+            }
+        }
+        return completion;
+    }
+
+    /**
+     * Adds a chunk of the body. The stream takes over the ownership of the buffer.
+     *
+     * @param chunk the chunk
+     */
+    void offer(final ByteBuf chunk) {
+        synchronized (this) {
+            if (!closed && !complete && failure == null && chunk.isReadable()) {
+                chunks.add(chunk);
+                buffered += chunk.readableBytes();
+                if (buffered >= highWaterMark && !suspended && !buffering) {
+                    suspended = true;
+                    channel.config().setAutoRead(false);
+                }
+                notifyAll();
+                return;
+            }
+        }
+        chunk.release();
+    }
+
+    /**
+     * Signals that the last chunk of the body has been offered.
+     */
+    void complete() {
+        synchronized (this) {
+            complete = true;
+            notifyAll();
+        }
+        completion.complete(null);
+    }
+
+    /**
+     * Signals that the body can not be received completely, e.g. because the connection was closed.
+     *
+     * @param cause the cause
+     */
+    void fail(final Throwable cause) {
+        synchronized (this) {
+            if (complete) {
+                return;
+            }
+            failure = cause;
+            notifyAll();
+        }
+        completion.completeExceptionally(cause);
+    }
+
+    @Override
+    public int read() throws IOException {
+        synchronized (this) {
+            final ByteBuf chunk = awaitChunk();
+            if (chunk == null) {
+                return -1;
+            }
+            final int b = chunk.readByte() & 0xff;
+            consumed(chunk, 1);
+            return b;
+        }
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        synchronized (this) {
+            final ByteBuf chunk = awaitChunk();
+            if (chunk == null) {
+                return -1;
+            }
+            final int n = Math.min(len, chunk.readableBytes());
+            chunk.readBytes(b, off, n);
+            consumed(chunk, n);
+            return n;
+        }
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        return closed ? 0 : buffered;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffered = 0;
+            ByteBuf chunk;
+            while ((chunk = chunks.poll()) != null) {
+                chunk.release();
+            }
+            // the rest of the body is discarded as it arrives, so the channel needs to keep reading
+            resume();
+            notifyAll();
+        }
+    }
+
+    private ByteBuf awaitChunk() throws IOException {
+        while (true) {
+            if (closed) {
+                throw new IOException(Messages.MESSAGES.streamIsClosed());
+            }
+            final ByteBuf chunk = chunks.peek();
+            if (chunk != null) {
+                return chunk;
+            }
+            if (failure != null) {
+                throw failure instanceof IOException ? (IOException) failure : new IOException(failure);
+            }
+            if (complete) {
+                return null;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+
+    private void consumed(final ByteBuf chunk, final int n) {
+        buffered -= n;
+        if (!chunk.isReadable()) {
+            chunks.poll();
+            chunk.release();
+        }
+        if (buffered <= lowWaterMark) {
+            resume();
+        }
+    }
+
+    private void resume() {
+        if (suspended) {
+            suspended = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.jboss.resteasy.plugins.server.netty;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -12,6 +14,8 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpContentEncoder;
+import io.netty.handler.ssl.SslHandler;
 
 /**
  * Class to help application that are built to write to an
@@ -34,27 +38,34 @@ import io.netty.handler.codec.http.DefaultHttpContent;
  *
  */
 public class ChunkOutputStream extends AsyncOutputStream {
+    /**
+     * The initial capacity of a chunk buffer which is filled by single byte writes.
+     */
+    private static final int MIN_CHUNK_CAPACITY = 256;
+
     private final Object writeLock = new Object();
-    private final ByteBuf buffer;
+    private final int chunkSize;
     private final ChannelHandlerContext ctx;
     private final NettyHttpResponse response;
+    // allocated from the channel's allocator on demand and handed over to Netty on flush
+    private ByteBuf buffer;
 
     ChunkOutputStream(final NettyHttpResponse response, final ChannelHandlerContext ctx, final int chunksize) {
         this.response = response;
         if (chunksize < 1) {
             throw new IllegalArgumentException(Messages.MESSAGES.chunkSizeMustBeAtLeastOne());
         }
-        this.buffer = Unpooled.buffer(0, chunksize);
+        this.chunkSize = chunksize;
         this.ctx = ctx;
     }
 
     @Override
     public void write(int b) throws IOException {
         synchronized (writeLock) {
-            if (buffer.maxWritableBytes() < 1) {
+            if (buffer != null && buffer.maxWritableBytes() < 1) {
                 flush();
             }
-            buffer.writeByte(b);
+            buffer(1).writeByte(b);
         }
     }
 
@@ -62,19 +73,28 @@ public class ChunkOutputStream extends AsyncOutputStream {
         if (response.isCommitted())
             throw new IllegalStateException(Messages.MESSAGES.responseIsCommitted());
         synchronized (writeLock) {
-            buffer.clear();
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
         }
     }
 
     @Override
     public void close() throws IOException {
         flush();
+        synchronized (writeLock) {
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+        }
         super.close();
     }
 
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
-        write(b, off, len, ctx.newPromise());
+        write(b, off, len, newPromise(ctx));
     }
 
     private void write(byte[] b, int off, int len, ChannelPromise promise) throws IOException {
@@ -83,7 +103,7 @@ public class ChunkOutputStream extends AsyncOutputStream {
         int spaceLeftInCurrentChunk;
         MultiPromise mp = new MultiPromise(ctx, promise);
         synchronized (writeLock) {
-            while ((spaceLeftInCurrentChunk = buffer.maxWritableBytes()) < dataLengthLeftToWrite) {
+            while ((spaceLeftInCurrentChunk = buffer(dataLengthLeftToWrite).maxWritableBytes()) < dataLengthLeftToWrite) {
                 buffer.writeBytes(b, dataToWriteOffset, spaceLeftInCurrentChunk);
                 dataToWriteOffset = dataToWriteOffset + spaceLeftInCurrentChunk;
                 dataLengthLeftToWrite = dataLengthLeftToWrite - spaceLeftInCurrentChunk;
@@ -97,31 +117,148 @@ public class ChunkOutputStream extends AsyncOutputStream {
         mp.readyToForward();
     }
 
+    /**
+     * Writes the remaining bytes of the {@link ByteBuffer}. The bytes are copied straight into the chunks handed to
+     * Netty, so a provider holding its content in a (direct) {@link ByteBuffer} does not need an intermediate array.
+     * The buffer's position is advanced to its limit.
+     *
+     * @param src the bytes to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(ByteBuffer src) throws IOException {
+        copy(new ByteBuffer[] { src }, newPromise(ctx));
+    }
+
+    /**
+     * Copies the remaining bytes of the buffers into chunks, flushing each one.
+     */
+    private void copy(ByteBuffer[] srcs, ChannelPromise promise) throws IOException {
+        final MultiPromise mp = new MultiPromise(ctx, promise);
+        synchronized (writeLock) {
+            for (ByteBuffer src : srcs) {
+                while (src.hasRemaining()) {
+                    final ByteBuf chunk = buffer(src.remaining());
+                    if (chunk.maxWritableBytes() == 0) {
+                        flush(mp.newPromise());
+                        continue;
+                    }
+                    final int n = Math.min(chunk.maxWritableBytes(), src.remaining());
+                    final int limit = src.limit();
+                    src.limit(src.position() + n);
+                    chunk.writeBytes(src);
+                    src.limit(limit);
+                }
+            }
+            flush(mp.newPromise());
+        }
+        mp.readyToForward();
+    }
+
+    /**
+     * Writes the remaining bytes of the buffers. Less than a chunk is copied into a chunk, more is handed to Netty
+     * without copying, as a single chunk wrapping all the buffers.
+     */
+    private void write(ByteBuffer[] srcs, ChannelPromise promise) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer src : srcs) {
+            remaining += src.remaining();
+        }
+        if (remaining < chunkSize) {
+            copy(srcs, promise);
+            return;
+        }
+        final ByteBuf wrapped = Unpooled.wrappedBuffer(srcs);
+        try {
+            write(wrapped, promise);
+        } finally {
+            wrapped.release();
+        }
+        for (ByteBuffer src : srcs) {
+            src.position(src.limit());
+        }
+    }
+
+    /**
+     * Writes the readable bytes of the {@link ByteBuf} without copying them: any pending content is flushed and a
+     * retained slice of the buffer is handed to Netty as a chunk of its own. The reader index of the buffer is advanced
+     * and the caller keeps its reference, which it has to release as usual. The content of the slice must not be
+     * modified until the write has completed, see {@link #asyncWrite(ByteBuf)}.
+     *
+     * @param src the bytes to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(ByteBuf src) throws IOException {
+        write(src, newPromise(ctx));
+    }
+
+    private void write(ByteBuf src, ChannelPromise promise) throws IOException {
+        final MultiPromise mp = new MultiPromise(ctx, promise);
+        synchronized (writeLock) {
+            flush(mp.newPromise());
+            if (src.isReadable()) {
+                if (!response.isCommitted())
+                    response.prepareChunkStream();
+                ctx.writeAndFlush(new DefaultHttpContent(src.readRetainedSlice(src.readableBytes())), mp.newPromise());
+            }
+        }
+        mp.readyToForward();
+        super.flush();
+    }
+
+    private void transferFrom(FileChannel channel, long position, long count, ChannelPromise promise) throws IOException {
+        final MultiPromise mp = new MultiPromise(ctx, promise);
+        synchronized (writeLock) {
+            flush(mp.newPromise());
+            if (count > 0) {
+                if (!response.isCommitted())
+                    response.prepareChunkStream();
+                ctx.writeAndFlush(new FileChannelRegion(channel, position, count), mp.newPromise());
+            }
+        }
+        mp.readyToForward();
+        super.flush();
+    }
+
     @Override
     public void flush() throws IOException {
-        flush(ctx.newPromise());
+        flush(newPromise(ctx));
     }
 
     private void flush(ChannelPromise promise) throws IOException {
         synchronized (writeLock) {
-            int readable = buffer.readableBytes();
-            if (readable == 0) {
+            if (buffer == null || !buffer.isReadable()) {
+                if (buffer != null) {
+                    buffer.release();
+                    buffer = null;
+                }
                 promise.setSuccess();
                 return;
             }
             if (!response.isCommitted())
                 response.prepareChunkStream();
-            ctx.writeAndFlush(new DefaultHttpContent(buffer.copy()), promise);
-            buffer.clear();
+            // the filled buffer is handed over to Netty which releases it once written
+            final ByteBuf chunk = buffer;
+            buffer = null;
+            ctx.writeAndFlush(new DefaultHttpContent(chunk), promise);
         }
         super.flush();
     }
 
+    /**
+     * Returns the current chunk buffer, allocating one sized for the expected number of bytes if there is none.
+     */
+    private ByteBuf buffer(int expected) {
+        if (buffer == null) {
+            buffer = ctx.alloc().buffer(Math.min(chunkSize, Math.max(expected, MIN_CHUNK_CAPACITY)), chunkSize);
+        }
+        return buffer;
+    }
+
     @Override
     public CompletionStage<Void> asyncFlush() {
         CompletableFuture<Void> ret = new CompletableFuture<>();
         try {
-            ChannelPromise promise = ctx.newPromise();
+            ChannelPromise promise = newPromise(ctx);
             promise.addListener(v -> {
                 if (v.isSuccess())
                     ret.complete(null);
@@ -139,7 +276,7 @@ public class ChunkOutputStream extends AsyncOutputStream {
     public CompletionStage<Void> asyncWrite(byte[] bytes, int offset, int length) {
         CompletableFuture<Void> ret = new CompletableFuture<>();
         try {
-            ChannelPromise promise = ctx.newPromise();
+            ChannelPromise promise = newPromise(ctx);
             promise.addListener(v -> {
                 if (v.isSuccess())
                     ret.complete(null);
@@ -152,4 +289,94 @@ public class ChunkOutputStream extends AsyncOutputStream {
         }
         return ret;
     }
+
+    /**
+     * Writes the readable bytes of the {@link ByteBuf} without copying them, see {@link #write(ByteBuf)}.
+     *
+     * @param src the bytes to write
+     * @return a stage which is completed once the bytes have been written to the channel
+     */
+    public CompletionStage<Void> asyncWrite(ByteBuf src) {
+        CompletableFuture<Void> ret = new CompletableFuture<>();
+        try {
+            ChannelPromise promise = newPromise(ctx);
+            promise.addListener(v -> {
+                if (v.isSuccess())
+                    ret.complete(null);
+                else
+                    ret.completeExceptionally(v.cause());
+            });
+            write(src, promise);
+        } catch (IOException e) {
+            ret.completeExceptionally(e);
+        }
+        return ret;
+    }
+
+    /**
+     * The writes complete on the event loop of the channel, so any other thread may wait for them, including the
+     * threads of the request executor which runs the handler.
+     */
+    @Override
+    public boolean isBlockingAllowed() {
+        return !ctx.channel().eventLoop().inEventLoop();
+    }
+
+    /**
+     * Creates a promise which notifies its listeners on the event loop of the channel. A promise of the context would
+     * notify them on the executor of the handler, which may be the very thread waiting for the write.
+     */
+    static ChannelPromise newPromise(final ChannelHandlerContext ctx) {
+        return ctx.channel().newPromise();
+    }
+
+    /**
+     * File regions are written to the channel as they are, so they are only supported if no handler of the pipeline
+     * has to see the bytes, like an {@link SslHandler} or an {@link HttpContentEncoder}.
+     */
+    @Override
+    public boolean isFileTransferSupported() {
+        return ctx.pipeline().get(SslHandler.class) == null && ctx.pipeline().get(HttpContentEncoder.class) == null;
+    }
+
+    @Override
+    public CompletionStage<Void> asyncTransferFrom(FileChannel channel, long position, long count) {
+        CompletableFuture<Void> ret = new CompletableFuture<>();
+        try {
+            ChannelPromise promise = newPromise(ctx);
+            promise.addListener(v -> {
+                if (v.isSuccess())
+                    ret.complete(null);
+                else
+                    ret.completeExceptionally(v.cause());
+            });
+            transferFrom(channel, position, count, promise);
+        } catch (IOException e) {
+            ret.completeExceptionally(e);
+        }
+        return ret;
+    }
+
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer buffer) {
+        return asyncWrite(new ByteBuffer[] { buffer });
+    }
+
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer[] buffers) {
+        CompletableFuture<Void> ret = new CompletableFuture<>();
+        try {
+            ChannelPromise promise = newPromise(ctx);
+            promise.addListener(v -> {
+                if (v.isSuccess())
+                    ret.complete(null);
+                else
+                    ret.completeExceptionally(v.cause());
+            });
+            write(buffers, promise);
+        } catch (IOException e) {
+            ret.completeExceptionally(e);
+        }
+        return ret;
+    }
 }
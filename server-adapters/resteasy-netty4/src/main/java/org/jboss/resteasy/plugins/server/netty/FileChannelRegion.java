@@ -0,0 +1,93 @@
+package org.jboss.resteasy.plugins.server.netty;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import io.netty.channel.FileRegion;
+import io.netty.util.AbstractReferenceCounted;
+
+/**
+ * A {@link FileRegion} of a {@link FileChannel} owned by the caller. Unlike {@link io.netty.channel.DefaultFileRegion}
+ * the channel is not closed when the region is released, so a provider can write several regions of the same file.
+ * On NIO transports the region is written with {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ */
+final class FileChannelRegion extends AbstractReferenceCounted implements FileRegion {
+    private final FileChannel channel;
+    private final long position;
+    private final long count;
+    private long transferred;
+
+    FileChannelRegion(final FileChannel channel, final long position, final long count) {
+        this.channel = channel;
+        this.position = position;
+        this.count = count;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    @Deprecated
+    public long transfered() {
+        return transferred;
+    }
+
+    @Override
+    public long transferred() {
+        return transferred;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel target, long position) throws IOException {
+        final long remaining = count - position;
+        if (remaining < 0 || position < 0) {
+            throw new IllegalArgumentException("position out of range: " + position + " (expected: 0 - " + (count - 1) + ')');
+        }
+        if (remaining == 0) {
+            return 0L;
+        }
+        final long written = channel.transferTo(this.position + position, remaining, target);
+        if (written > 0) {
+            transferred += written;
+        } else if (written == 0 && channel.size() < this.position + count) {
+            // the file was truncated, the region would never be completed
+            throw new IOException("Underlying file size " + channel.size() + " smaller than requested count " + count);
+        }
+        return written;
+    }
+
+    @Override
+    public FileRegion retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public FileRegion retain(int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public FileRegion touch() {
+        return this;
+    }
+
+    @Override
+    public FileRegion touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        // the channel is closed by its owner
+    }
+}
@@ -21,7 +21,7 @@ public class MultiPromise {
 
     public ChannelPromise newPromise() {
         created.getAndIncrement();
-        return ctx.newPromise().addListener(f -> {
+        return ChunkOutputStream.newPromise(ctx).addListener(f -> {
             if (!f.isSuccess())
                 cause.compareAndSet(null, f.cause());
             if (created.decrementAndGet() == 0)
@@ -13,6 +13,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.container.AsyncResponse;
@@ -36,6 +37,7 @@ import org.jboss.resteasy.spi.RunnableWithException;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 
 /**
@@ -60,6 +62,9 @@ public class NettyHttpRequest extends BaseHttpRequest {
     private final ChannelHandlerContext ctx;
     private volatile boolean flushed;
     private ByteBuf content;
+    private ChunkInputStream contentStream;
+    private ChannelFutureListener closeListener;
+    private final AtomicBoolean released = new AtomicBoolean();
 
     public NettyHttpRequest(final ChannelHandlerContext ctx, final ResteasyHttpHeaders httpHeaders, final ResteasyUriInfo uri,
             final String httpMethod, final SynchronousDispatcher dispatcher, final NettyHttpResponse response,
@@ -160,10 +165,49 @@ public class NettyHttpRequest extends BaseHttpRequest {
         this.inputStream = new ByteBufInputStream(content);
     }
 
+    /**
+     * Sets the stream the body of a request which is not aggregated is read from.
+     *
+     * @param contentStream the stream fed with the chunks of the body
+     */
+    public void setContentStream(ChunkInputStream contentStream) {
+        this.contentStream = contentStream;
+        this.inputStream = contentStream;
+        // a suspended request which is never resumed still releases the body when the connection is closed
+        this.closeListener = future -> releaseContentBuffer();
+        ctx.channel().closeFuture().addListener(closeListener);
+    }
+
+    /**
+     * Returns the stream of a request body which is not aggregated. Its {@link ChunkInputStream#completion()} can be
+     * used to wait for the body without blocking.
+     *
+     * @return the stream or {@code null} if the body has been aggregated or there is no body
+     */
+    public ChunkInputStream getContentStream() {
+        return contentStream;
+    }
+
+    /**
+     * Releases the aggregated body or closes the stream of the body. A suspended request keeps a streamed body until
+     * the asynchronous response is sent or the connection is closed, so the resource can still read it after the
+     * resource method has returned.
+     */
     public void releaseContentBuffer() {
+        if (released.getAndSet(true)) {
+            return;
+        }
         if (content != null) {
             this.content.release();
         }
+        if (contentStream != null) {
+            ctx.channel().closeFuture().removeListener(closeListener);
+            try {
+                contentStream.close();
+            } catch (IOException e) {
+                // closing only releases the buffered chunks
+            }
+        }
     }
 
     class NettyExecutionContext extends AbstractExecutionContext {
@@ -360,6 +404,8 @@ public class NettyHttpRequest extends BaseHttpRequest {
                     }
                 } catch (IOException e) {
                     throw new RuntimeException(e);
+                } finally {
+                    NettyHttpRequest.this.releaseContentBuffer();
                 }
             }
 
@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -13,6 +14,7 @@ import jakarta.ws.rs.SeBootstrap.Configuration;
 
 import org.jboss.resteasy.core.ResteasyDeploymentImpl;
 import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.se.ConfigurationOption;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.ResteasyDeployment;
@@ -32,6 +34,7 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpServerExpectContinueHandler;
 import io.netty.handler.ssl.SniHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -57,6 +60,7 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer<NettyJaxrsServer> {
     protected SecurityDomain domain;
     private EventLoopGroup eventLoopGroup;
     private EventLoopGroup eventExecutor;
+    private ExecutorService requestExecutor;
     private int ioWorkerCount = Runtime.getRuntime().availableProcessors() * 2;
     private int executorThreadCount = 16;
     private SSLContext sslContext;
@@ -66,6 +70,8 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer<NettyJaxrsServer> {
     private int maxHeaderSize = 8192;
     private int maxChunkSize = 8192;
     private int backlog = 128;
+    private boolean streamingRequestBody;
+    private boolean virtualThreads;
     // default no idle timeout.
     private int idleTimeout = -1;
     private List<ChannelHandler> channelHandlers = Collections.emptyList();
@@ -101,7 +107,12 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer<NettyJaxrsServer> {
         serverHelper.checkDeployment(deployment);
 
         eventLoopGroup = new NioEventLoopGroup(ioWorkerCount);
-        eventExecutor = new NioEventLoopGroup(executorThreadCount);
+        if (virtualThreads || ConfigurationOption.VIRTUAL_THREADS.<Boolean> getValue(configuration)) {
+            requestExecutor = serverHelper.createVirtualThreadExecutor(this);
+        }
+        if (requestExecutor == null) {
+            eventExecutor = new NioEventLoopGroup(executorThreadCount);
+        }
 
         // dynamically set the root path (the user can rewrite it by calling setRootResourcePath)
         String appPath = serverHelper.checkAppDeployment(deployment);
@@ -142,7 +153,14 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer<NettyJaxrsServer> {
     public void stop() {
         runtimePort = -1;
         eventLoopGroup.shutdownGracefully();
-        eventExecutor.shutdownGracefully();
+        if (eventExecutor != null) {
+            eventExecutor.shutdownGracefully();
+            eventExecutor = null;
+        }
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+            requestExecutor = null;
+        }
 
         if (deployment != null) {
             deployment.stop();
@@ -249,6 +267,41 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer<NettyJaxrsServer> {
         return this;
     }
 
+    /**
+     * Enable streaming of request bodies. Instead of aggregating the whole body in memory before the request is
+     * dispatched, the request is dispatched as soon as its headers have been received and the resource reads the body
+     * from a back-pressured {@link ChunkInputStream} while it arrives. Large uploads then use a constant amount of
+     * memory and are not limited by {@link #setMaxRequestSize(int)}, which is ignored in this mode.
+     * <p>
+     * The body is read on the threads of the {@link EventExecutor} while the I/O threads keep receiving it. Reading
+     * is suspended for a connection while more than 256KB of its body are buffered. It is disabled by default.
+     * </p>
+     *
+     * @param streamingRequestBody {@code true} to stream request bodies
+     */
+    public NettyJaxrsServer setStreamingRequestBody(boolean streamingRequestBody) {
+        this.streamingRequestBody = streamingRequestBody;
+        return this;
+    }
+
+    /**
+     * Run each request on a new virtual thread instead of the threads of the {@link EventExecutor}. Blocking resource
+     * methods then do not hold on to one of the {@link #setExecutorThreadCount(int) executor threads}, so the number
+     * of concurrent blocking requests is not limited by the size of a thread pool. The requests of a connection are
+     * still processed in order.
+     * <p>
+     * Virtual threads require Java 21 or later. On older JVMs a warning is logged and the {@link EventExecutor} is
+     * used. It is disabled by default, and can also be enabled with the {@code resteasy.server.virtual.threads}
+     * configuration property.
+     * </p>
+     *
+     * @param virtualThreads {@code true} to run each request on a virtual thread
+     */
+    public NettyJaxrsServer setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     public NettyJaxrsServer setMaxInitialLineLength(int maxInitialLineLength) {
         this.maxInitialLineLength = maxInitialLineLength;
         return this;
@@ -392,11 +445,22 @@ public class NettyJaxrsServer implements EmbeddedJaxrsServer<NettyJaxrsServer> {
         }
         channelPipeline.addLast(new HttpRequestDecoder(maxInitialLineLength, maxHeaderSize, maxChunkSize));
         channelPipeline.addLast(new HttpResponseEncoder());
-        channelPipeline.addLast(new HttpObjectAggregator(maxRequestSize));
+        if (streamingRequestBody) {
+            channelPipeline.addLast(new HttpServerExpectContinueHandler());
+        } else {
+            channelPipeline.addLast(new HttpObjectAggregator(maxRequestSize));
+        }
         channelPipeline.addLast(httpChannelHandlers.toArray(new ChannelHandler[httpChannelHandlers.size()]));
         channelPipeline.addLast(new RestEasyHttpRequestDecoder(dispatcher.getDispatcher(), contextPath, protocol));
+        if (streamingRequestBody) {
+            channelPipeline.addLast(new RequestBodyStreamHandler());
+        }
         channelPipeline.addLast(new RestEasyHttpResponseEncoder());
-        channelPipeline.addLast(eventExecutor, new RequestHandler(dispatcher));
+        if (requestExecutor != null) {
+            channelPipeline.addLast(new RequestHandler(dispatcher, requestExecutor));
+        } else {
+            channelPipeline.addLast(eventExecutor, new RequestHandler(dispatcher));
+        }
     }
 
 }
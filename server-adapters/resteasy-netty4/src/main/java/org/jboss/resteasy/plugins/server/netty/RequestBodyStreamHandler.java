@@ -0,0 +1,84 @@
+package org.jboss.resteasy.plugins.server.netty;
+
+import java.nio.channels.ClosedChannelException;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * Feeds the {@link HttpContent} chunks of a request which has not been aggregated into the {@link ChunkInputStream} of
+ * the {@link NettyHttpRequest} it belongs to. The request is passed on as soon as its headers have been decoded, so
+ * the resource method can start reading while the body is still arriving.
+ * <p>
+ * This class is not sharable, it holds the body of the request currently being received on its channel.
+ * </p>
+ */
+public class RequestBodyStreamHandler extends ChannelInboundHandlerAdapter {
+    private final int highWaterMark;
+    private final int lowWaterMark;
+    private ChunkInputStream current;
+
+    public RequestBodyStreamHandler() {
+        this(ChunkInputStream.DEFAULT_HIGH_WATER_MARK, ChunkInputStream.DEFAULT_LOW_WATER_MARK);
+    }
+
+    public RequestBodyStreamHandler(final int highWaterMark, final int lowWaterMark) {
+        this.highWaterMark = highWaterMark;
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof NettyHttpRequest) {
+            final NettyHttpRequest request = (NettyHttpRequest) msg;
+            if (request.getInputStream() == null && hasBody(request)) {
+                current = new ChunkInputStream(ctx.channel(), highWaterMark, lowWaterMark);
+                request.setContentStream(current);
+            }
+            ctx.fireChannelRead(msg);
+        } else if (msg instanceof HttpContent) {
+            final HttpContent content = (HttpContent) msg;
+            final ChunkInputStream stream = current;
+            if (stream == null) {
+                // a body without a dispatched request, e.g. one which failed to decode
+                content.release();
+            } else {
+                stream.offer(content.content());
+            }
+            if (msg instanceof LastHttpContent) {
+                current = null;
+                if (stream != null) {
+                    stream.complete();
+                }
+            }
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        final ChunkInputStream stream = current;
+        current = null;
+        if (stream != null) {
+            stream.fail(new ClosedChannelException());
+        }
+        super.channelInactive(ctx);
+    }
+
+    private static boolean hasBody(final NettyHttpRequest request) {
+        final String transferEncoding = request.getHttpHeaders().getHeaderString(HttpHeaderNames.TRANSFER_ENCODING.toString());
+        if (transferEncoding != null) {
+            return true;
+        }
+        final String contentLength = request.getHttpHeaders().getHeaderString(HttpHeaderNames.CONTENT_LENGTH.toString());
+        try {
+            return contentLength != null && Long.parseLong(contentLength.trim()) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package org.jboss.resteasy.plugins.server.netty;
 import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.jboss.resteasy.plugins.server.netty.i18n.LogMessages;
 import org.jboss.resteasy.plugins.server.netty.i18n.Messages;
 import org.jboss.resteasy.spi.Failure;
@@ -14,12 +17,18 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 
 /**
  * {@link SimpleChannelInboundHandler} which handles the requests and dispatch them.
  *
  * This class is {@link Sharable}.
  *
+ * If an {@link Executor} is given, the requests are dispatched on it instead of the thread the handler is invoked on.
+ * The requests of a connection are still dispatched one after the other, so that pipelined responses are written in
+ * the order of the requests.
+ *
  * @author <a href="http://www.jboss.org/netty/">The Netty Project</a>
  * @author Andy Taylor (andy.taylor@jboss.org)
  * @author <a href="http://gleamynode.net/">Trustin Lee</a>
@@ -28,42 +37,83 @@ import io.netty.handler.timeout.IdleStateEvent;
  */
 @Sharable
 public class RequestHandler extends SimpleChannelInboundHandler {
+    private static final AttributeKey<CompletableFuture<Void>> LAST_REQUEST = AttributeKey
+            .valueOf(RequestHandler.class, "lastRequest");
+
     protected final RequestDispatcher dispatcher;
+    private final Executor executor;
 
     public RequestHandler(final RequestDispatcher dispatcher) {
+        this(dispatcher, null);
+    }
+
+    /**
+     * Creates a handler which dispatches the requests on the executor.
+     *
+     * @param dispatcher the dispatcher
+     * @param executor   the executor the requests are dispatched on or {@code null} to dispatch them on the thread
+     *                   the handler is invoked on
+     */
+    public RequestHandler(final RequestDispatcher dispatcher, final Executor executor) {
         this.dispatcher = dispatcher;
+        this.executor = executor;
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
         if (msg instanceof NettyHttpRequest) {
             NettyHttpRequest request = (NettyHttpRequest) msg;
-            try {
-
-                // Not necessary, since io.netty.handler.codec.MessageAggregator has already done it.
-                //                if (request.is100ContinueExpected()) {
-                //                    send100Continue(ctx);
-                //                }
-
-                NettyHttpResponse response = request.getResponse();
+            if (executor == null) {
+                handle(ctx, request);
+                return;
+            }
+            final Runnable task = () -> {
                 try {
-                    dispatcher.service(ctx, request, response, true);
-                } catch (Failure e1) {
-                    response.reset();
-                    response.setStatus(e1.getErrorCode());
-                } catch (Exception ex) {
-                    response.reset();
-                    response.setStatus(500);
-                    LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
+                    handle(ctx, request);
+                } catch (Throwable t) {
+                    LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), t);
+                    ctx.close();
                 }
+            };
+            // The handler is invoked on the event loop of the channel, so the attribute is not accessed concurrently
+            final Attribute<CompletableFuture<Void>> lastRequest = ctx.channel().attr(LAST_REQUEST);
+            final CompletableFuture<Void> previous = lastRequest.get();
+            lastRequest.set(previous == null || previous.isDone()
+                    ? CompletableFuture.runAsync(task, executor)
+                    : previous.thenRunAsync(task, executor));
+        }
+    }
 
-                if (!request.getAsyncContext().isSuspended()) {
-                    response.finish();
-                }
-            } finally {
-                request.releaseContentBuffer();
+    private void handle(ChannelHandlerContext ctx, NettyHttpRequest request) throws Exception {
+        try {
+
+            // Not necessary, since io.netty.handler.codec.MessageAggregator has already done it.
+            //                if (request.is100ContinueExpected()) {
+            //                    send100Continue(ctx);
+            //                }
+
+            NettyHttpResponse response = request.getResponse();
+            try {
+                dispatcher.service(ctx, request, response, true);
+            } catch (Failure e1) {
+                response.reset();
+                response.setStatus(e1.getErrorCode());
+            } catch (Exception ex) {
+                response.reset();
+                response.setStatus(500);
+                LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
             }
 
+            if (!request.getAsyncContext().isSuspended()) {
+                response.finish();
+                request.releaseContentBuffer();
+            } else if (request.getContentStream() == null) {
+                // an aggregated body has been read by now, only a streamed body is kept for the suspended request
+                request.releaseContentBuffer();
+            }
+        } catch (Throwable t) {
+            request.releaseContentBuffer();
+            throw t;
         }
     }
 
@@ -85,9 +85,9 @@ public class RestEasyHttpRequestDecoder extends MessageToMessageDecoder<io.netty
                     ByteBuf buf = byteBuf.retain();
                     nettyRequest.setContentBuffer(buf);
                 }
-
-                out.add(nettyRequest);
             }
+            // requests which have not been aggregated are followed by their content, see RequestBodyStreamHandler
+            out.add(nettyRequest);
         } catch (Exception e) {
             response.sendError(400);
             // made it warn so that people can filter this.
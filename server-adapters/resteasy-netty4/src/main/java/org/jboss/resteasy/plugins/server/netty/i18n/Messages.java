@@ -33,6 +33,9 @@ public interface Messages {
     @Message(id = BASE + 20, value = "response is committed")
     String responseIsCommitted();
 
+    @Message(id = BASE + 22, value = "Stream is closed")
+    String streamIsClosed();
+
     @Message(id = BASE + 25, value = "Unexpected")
     String unexpected();
 }
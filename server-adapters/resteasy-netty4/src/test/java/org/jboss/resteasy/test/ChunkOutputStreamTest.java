@@ -0,0 +1,129 @@
+package org.jboss.resteasy.test;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.jboss.resteasy.plugins.server.netty.ChunkOutputStream;
+import org.jboss.resteasy.plugins.server.netty.NettyContainer;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.jboss.resteasy.util.CommitHeaderAsyncOutputStream;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests the {@link ByteBuf} and {@link ByteBuffer} write paths of {@link ChunkOutputStream}, including the gathering
+ * {@link AsyncOutputStream#asyncWrite(ByteBuffer[])}.
+ */
+public class ChunkOutputStreamTest {
+    static Client client;
+    static volatile int refCnt = -1;
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Path("buffers")
+        @Produces(MediaType.TEXT_PLAIN)
+        public StreamingOutput buffers() {
+            return output -> {
+                final CommitHeaderAsyncOutputStream commit = (CommitHeaderAsyncOutputStream) output;
+                commit.commit();
+                final ChunkOutputStream out = (ChunkOutputStream) commit.getDelegate();
+                out.write("a".getBytes(StandardCharsets.US_ASCII));
+
+                final ByteBuf buf = Unpooled.directBuffer();
+                buf.writeCharSequence(repeat('b', 5000), StandardCharsets.US_ASCII);
+                out.write(buf);
+                Assert.assertFalse(buf.isReadable());
+                buf.release();
+
+                final ByteBuffer direct = ByteBuffer.allocateDirect(2500);
+                direct.put(repeat('c', 2500).getBytes(StandardCharsets.US_ASCII)).flip();
+                out.write(direct);
+                Assert.assertFalse(direct.hasRemaining());
+
+                final ByteBuf last = Unpooled.copiedBuffer("d", StandardCharsets.US_ASCII);
+                out.asyncWrite(last).whenComplete((v, t) -> {
+                    last.release();
+                    refCnt = last.refCnt();
+                });
+            };
+        }
+
+        @GET
+        @Path("gathered")
+        @Produces(MediaType.TEXT_PLAIN)
+        public StreamingOutput gathered() {
+            return output -> {
+                final AsyncOutputStream out = (AsyncOutputStream) output;
+                final ByteBuffer[] small = { direct(repeat('a', 10)),
+                        ByteBuffer.wrap("bb".getBytes(StandardCharsets.US_ASCII)) };
+                final ByteBuffer[] large = { direct(repeat('c', 4000)), direct(""), direct(repeat('d', 6000)) };
+                out.asyncWrite(small)
+                        .thenCompose(v -> out.asyncWrite(large))
+                        .thenCompose(v -> out.asyncWrite(direct("e")))
+                        .toCompletableFuture().join();
+                for (ByteBuffer buffer : small) {
+                    Assert.assertFalse(buffer.hasRemaining());
+                }
+                for (ByteBuffer buffer : large) {
+                    Assert.assertFalse(buffer.hasRemaining());
+                }
+            };
+        }
+    }
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        NettyContainer.start().getRegistry().addPerRequestResource(Resource.class);
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterClass
+    public static void end() throws Exception {
+        client.close();
+        NettyContainer.stop();
+    }
+
+    @Test
+    public void testBufferWrites() throws Exception {
+        final String body = client.target(generateURL("/buffers")).request().get(String.class);
+        Assert.assertEquals("a" + repeat('b', 5000) + repeat('c', 2500) + "d", body);
+        Assert.assertEquals(0, refCnt);
+    }
+
+    @Test
+    public void testGatheringWrites() throws Exception {
+        final String body = client.target(generateURL("/gathered")).request().get(String.class);
+        Assert.assertEquals(repeat('a', 10) + "bb" + repeat('c', 4000) + repeat('d', 6000) + "e", body);
+    }
+
+    private static ByteBuffer direct(String content) {
+        final byte[] bytes = content.getBytes(StandardCharsets.US_ASCII);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    private static String repeat(char c, int count) {
+        final StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package org.jboss.resteasy.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.core.messagebody.AsyncChunkedMessageBodyWriter;
+import org.jboss.resteasy.plugins.server.netty.NettyJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests that an {@link AsyncChunkedMessageBodyWriter} does not queue the whole entity in memory when the client reads
+ * it slowly.
+ */
+public class ChunkedWriterBackPressureTest {
+    private static final long TOTAL = 64L * 1024 * 1024;
+
+    static final AtomicLong produced = new AtomicLong();
+    static NettyJaxrsServer server;
+
+    public static class Large {
+    }
+
+    @Provider
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public static class LargeWriter implements AsyncChunkedMessageBodyWriter<Large> {
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return type == Large.class;
+        }
+
+        @Override
+        public void writeTo(Large large, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+            final byte[] piece = new byte[8192];
+            for (long written = 0; written < TOTAL; written += piece.length) {
+                entityStream.write(piece);
+                produced.addAndGet(piece.length);
+            }
+        }
+    }
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Path("large")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public Large large() {
+            return new Large();
+        }
+    }
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.getActualResourceClasses().add(Resource.class);
+        deployment.getActualProviderClasses().add(LargeWriter.class);
+        server = new NettyJaxrsServer();
+        server.setDeployment(deployment);
+        server.setPort(TestPortProvider.getPort());
+        server.setRootResourcePath("");
+        server.start();
+    }
+
+    @AfterClass
+    public static void end() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void testSlowClient() throws Exception {
+        produced.set(0);
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress(TestPortProvider.getHost(), TestPortProvider.getPort()));
+            socket.getOutputStream().write("GET /large HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n"
+                    .getBytes(StandardCharsets.US_ASCII));
+            // the client does not read, the writer has to stop once the socket buffers and a few chunks are full
+            long last;
+            do {
+                last = produced.get();
+                TimeUnit.MILLISECONDS.sleep(500);
+            } while (produced.get() != last && last < TOTAL);
+            Assert.assertTrue("The whole entity was queued", produced.get() < TOTAL / 2);
+
+            final InputStream in = socket.getInputStream();
+            final byte[] buf = new byte[65536];
+            long read = 0;
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                read += n;
+            }
+            // the headers and the chunked encoding add a few bytes
+            Assert.assertTrue(read > TOTAL);
+        }
+        Assert.assertEquals(TOTAL, produced.get());
+    }
+}
@@ -0,0 +1,92 @@
+package org.jboss.resteasy.test;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.plugins.server.netty.NettyContainer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests that files and byte ranges of files, which are written as file regions, are sent completely.
+ */
+public class FileTransferTest {
+    private static Client client;
+    private static File file;
+    private static byte[] content;
+
+    @Path("/file")
+    public static class FileResource {
+        @GET
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public File get() {
+            return file;
+        }
+    }
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        content = new byte[300 * 1024];
+        new Random(42).nextBytes(content);
+        file = File.createTempFile("resteasy", ".bin");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content);
+        NettyContainer.start().getRegistry().addPerRequestResource(FileResource.class);
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterClass
+    public static void end() throws Exception {
+        client.close();
+        NettyContainer.stop();
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Test
+    public void testFile() {
+        for (int i = 0; i < 3; i++) {
+            try (Response response = client.target(generateURL("/file")).request().get()) {
+                Assert.assertEquals(200, response.getStatus());
+                Assert.assertArrayEquals(content, response.readEntity(byte[].class));
+            }
+        }
+    }
+
+    @Test
+    public void testRange() {
+        try (Response response = client.target(generateURL("/file")).request().header("Range", "bytes=1000-70999").get()) {
+            Assert.assertEquals(206, response.getStatus());
+            Assert.assertEquals("bytes 1000-70999/" + content.length, response.getHeaderString("Content-Range"));
+            Assert.assertArrayEquals(Arrays.copyOfRange(content, 1000, 71000), response.readEntity(byte[].class));
+        }
+        try (Response response = client.target(generateURL("/file")).request().header("Range", "bytes=-500").get()) {
+            Assert.assertEquals(206, response.getStatus());
+            Assert.assertArrayEquals(Arrays.copyOfRange(content, content.length - 500, content.length),
+                    response.readEntity(byte[].class));
+        }
+    }
+
+    @Test
+    public void testRangePastEnd() {
+        try (Response response = client.target(generateURL("/file")).request()
+                .header("Range", "bytes=" + (content.length - 10) + "-").get()) {
+            Assert.assertEquals(206, response.getStatus());
+            Assert.assertArrayEquals(Arrays.copyOfRange(content, content.length - 10, content.length),
+                    response.readEntity(byte[].class));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.jboss.resteasy.test;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.netty.ChunkInputStream;
+import org.jboss.resteasy.plugins.server.netty.NettyHttpRequest;
+import org.jboss.resteasy.plugins.server.netty.NettyJaxrsServer;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests request bodies which are streamed to the resource rather than aggregated.
+ */
+public class StreamingRequestBodyTest {
+    private static final int CHUNK = 64 * 1024;
+    private static final int CHUNKS = 320;
+
+    static CountDownLatch firstRead;
+    static final CompletableFuture<ChunkInputStream> abandoned = new CompletableFuture<>();
+    static NettyJaxrsServer server;
+    static Client client;
+
+    @Path("/")
+    public static class Resource {
+        @POST
+        @Path("count")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String count(InputStream in) throws Exception {
+            final byte[] buf = new byte[8192];
+            long total = 0;
+            long sum = 0;
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                if (total == 0) {
+                    firstRead.countDown();
+                }
+                for (int i = 0; i < n; i++) {
+                    sum += buf[i];
+                }
+                total += n;
+            }
+            return total + ":" + sum;
+        }
+
+        @POST
+        @Path("async-count")
+        @Produces(MediaType.TEXT_PLAIN)
+        public void asyncCount(InputStream in, @Suspended AsyncResponse response) {
+            // the body is read after the resource method has returned
+            CompletableFuture.runAsync(() -> {
+                try {
+                    response.resume(String.valueOf(in.readAllBytes().length));
+                } catch (Exception e) {
+                    response.resume(e);
+                }
+            });
+        }
+
+        @POST
+        @Path("completion")
+        @Produces(MediaType.TEXT_PLAIN)
+        public CompletionStage<String> completion() {
+            final NettyHttpRequest request = (NettyHttpRequest) ResteasyContext.getContextData(HttpRequest.class);
+            final ChunkInputStream in = request.getContentStream();
+            // once the body is complete it can be read without blocking
+            return in.completion().thenApply(v -> {
+                try {
+                    return String.valueOf(in.readAllBytes().length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        @POST
+        @Path("abandon")
+        public void abandon(@Suspended AsyncResponse response) {
+            // the response is never resumed
+            final NettyHttpRequest request = (NettyHttpRequest) ResteasyContext.getContextData(HttpRequest.class);
+            abandoned.complete(request.getContentStream());
+        }
+
+        @POST
+        @Path("echo")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String echo(String body) {
+            return body;
+        }
+
+        @POST
+        @Path("ignore")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String ignore() {
+            return "ignored";
+        }
+
+        @GET
+        @Path("hello")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String hello() {
+            return "hello";
+        }
+    }
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.getActualResourceClasses().add(Resource.class);
+        server = new NettyJaxrsServer();
+        server.setDeployment(deployment);
+        server.setPort(TestPortProvider.getPort());
+        server.setRootResourcePath("");
+        server.setStreamingRequestBody(true);
+        server.start();
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterClass
+    public static void end() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    /**
+     * Uploads a body larger than the maximum request size in chunks and only sends the rest of it once the resource
+     * has started reading.
+     */
+    @Test
+    public void testLargeUploadIsStreamed() throws Exception {
+        firstRead = new CountDownLatch(1);
+        final byte[] chunk = new byte[CHUNK];
+        Arrays.fill(chunk, (byte) 3);
+
+        final HttpURLConnection connection = (HttpURLConnection) new URL(generateURL("/count")).openConnection();
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", MediaType.APPLICATION_OCTET_STREAM);
+        connection.setChunkedStreamingMode(CHUNK);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(chunk);
+            out.flush();
+            Assert.assertTrue("The resource was not invoked before the body was complete",
+                    firstRead.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < CHUNKS; i++) {
+                out.write(chunk);
+            }
+        }
+        Assert.assertEquals(200, connection.getResponseCode());
+        try (InputStream in = connection.getInputStream()) {
+            final String result = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            final long total = (long) CHUNK * CHUNKS;
+            Assert.assertEquals(total + ":" + (total * 3), result);
+        }
+    }
+
+    /**
+     * Suspended resources read the body after the resource method has returned, so it must not be closed before the
+     * response is sent.
+     */
+    @Test
+    public void testSuspendedResourceReadsBody() throws Exception {
+        final byte[] body = new byte[2 * 1024 * 1024];
+        for (String path : new String[] { "/async-count", "/completion" }) {
+            Response response = client.target(generateURL(path)).request()
+                    .post(Entity.entity(body, MediaType.APPLICATION_OCTET_STREAM));
+            Assert.assertEquals(path, 200, response.getStatus());
+            Assert.assertEquals(path, String.valueOf(body.length), response.readEntity(String.class));
+        }
+    }
+
+    /**
+     * A suspended request which is never resumed releases its body once the connection is closed.
+     */
+    @Test
+    public void testAbandonedBodyIsReleased() throws Exception {
+        final byte[] body = new byte[4096];
+        final ChunkInputStream in;
+        try (Socket socket = new Socket(TestPortProvider.getHost(), TestPortProvider.getPort())) {
+            final OutputStream out = socket.getOutputStream();
+            out.write(("POST /abandon HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/octet-stream\r\n"
+                    + "Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(body);
+            out.flush();
+            in = abandoned.get(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 50 && in.available() < body.length; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(body.length, in.available());
+        }
+        for (int i = 0; i < 50 && in.available() > 0; i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertEquals("The body was not released", 0, in.available());
+    }
+
+    @Test
+    public void testEntityAndNoEntity() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Response response = client.target(generateURL("/echo")).request().post(Entity.text("hello " + i));
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("hello " + i, response.readEntity(String.class));
+
+            response = client.target(generateURL("/hello")).request().get();
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("hello", response.readEntity(String.class));
+        }
+    }
+
+    /**
+     * A resource which does not read the body must not stall the connection.
+     */
+    @Test
+    public void testUnreadBodyIsDiscarded() throws Exception {
+        final byte[] body = new byte[1024 * 1024];
+        for (int i = 0; i < 3; i++) {
+            Response response = client.target(generateURL("/ignore")).request()
+                    .post(Entity.entity(body, MediaType.APPLICATION_OCTET_STREAM));
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("ignored", response.readEntity(String.class));
+        }
+    }
+}
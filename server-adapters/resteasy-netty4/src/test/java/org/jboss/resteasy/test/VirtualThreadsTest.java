@@ -0,0 +1,107 @@
+package org.jboss.resteasy.test;
+
+import static org.jboss.resteasy.test.TestPortProvider.generateURL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+import org.jboss.resteasy.concurrent.VirtualThreads;
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.netty.NettyJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the dispatch of requests on virtual threads. On a JVM without virtual threads the server falls back to its
+ * event executor.
+ */
+public class VirtualThreadsTest {
+    private static final int BLOCKED_REQUESTS = 64;
+
+    static CountDownLatch blocked;
+    static NettyJaxrsServer server;
+    static Client client;
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Path("thread")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String thread(@Context UriInfo uriInfo) {
+            return uriInfo.getPath() + ":" + VirtualThreads.isVirtual(Thread.currentThread());
+        }
+
+        @GET
+        @Path("block")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String block() throws InterruptedException {
+            blocked.countDown();
+            return Boolean.toString(blocked.await(30, TimeUnit.SECONDS));
+        }
+    }
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.getActualResourceClasses().add(Resource.class);
+        server = new NettyJaxrsServer();
+        server.setDeployment(deployment);
+        server.setPort(TestPortProvider.getPort());
+        server.setRootResourcePath("");
+        server.setExecutorThreadCount(4);
+        server.setVirtualThreads(true);
+        server.start();
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterClass
+    public static void end() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void testDispatchedOnVirtualThread() {
+        for (int i = 0; i < 3; i++) {
+            final String result = client.target(generateURL("/thread")).request().get(String.class);
+            Assert.assertEquals("/thread:" + VirtualThreads.isSupported(), result);
+        }
+    }
+
+    /**
+     * Blocks more requests at once than there are threads in the event executor, which only completes when each
+     * request runs on its own thread.
+     */
+    @Test
+    public void testBlockingRequestsAreNotLimitedByThreadCount() throws Exception {
+        Assume.assumeTrue("Virtual threads are not supported", VirtualThreads.isSupported());
+        blocked = new CountDownLatch(BLOCKED_REQUESTS);
+        final List<Future<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < BLOCKED_REQUESTS; i++) {
+            responses.add(client.target(generateURL("/block")).request().async().get());
+        }
+        for (Future<Response> future : responses) {
+            try (Response response = future.get(60, TimeUnit.SECONDS)) {
+                Assert.assertEquals(200, response.getStatus());
+                Assert.assertEquals("true", response.readEntity(String.class));
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.jboss.resteasy.plugins.server.reactor.netty;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -88,6 +89,15 @@ class ChunkOutputStream extends AsyncOutputStream {
         }
     }
 
+    /**
+     * The sends complete on the event loops, so only a thread which is not one of them, such as the virtual thread a
+     * request is dispatched on, may wait for them.
+     */
+    @Override
+    public boolean isBlockingAllowed() {
+        return !NettyUtil.isIoThread();
+    }
+
     @Override
     public CompletableFuture<Void> asyncFlush() {
         // Everything flows through asyncWrite and we are flushing on each call, so we
@@ -107,20 +117,35 @@ class ChunkOutputStream extends AsyncOutputStream {
             if (offset != 0 || length != bs.length) {
                 bytes = Arrays.copyOfRange(bs, offset, offset + length);
             }
+            return send(Unpooled.wrappedBuffer(bytes));
+        } catch (final Exception e) {
+            completionSink.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST);
+            final CompletableFuture<Void> cf = new CompletableFuture<>();
+            cf.completeExceptionally(e);
+            return cf;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> asyncWrite(final ByteBuffer buffer) {
+        return asyncWrite(new ByteBuffer[] { buffer });
+    }
 
-            return nettyOutbound
-                    .send(Mono.just(Unpooled.wrappedBuffer(bytes)), FLUSH_ON_EACH_WRITE)
-                    .then()
-                    .doOnError(err -> completionSink.emitError(err, Sinks.EmitFailureHandler.FAIL_FAST))
-                    .doOnCancel(() -> completionSink.emitError(
-                            new WriterException(Messages.MESSAGES.responseWriteAborted()),
-                            Sinks.EmitFailureHandler.FAIL_FAST))
-                    .doOnDiscard(
-                            ByteBuf.class,
-                            byteBuf -> completionSink.emitError(
-                                    new WriterException(Messages.MESSAGES.responseWriteAborted()),
-                                    Sinks.EmitFailureHandler.FAIL_FAST))
-                    .toFuture();
+    /**
+     * The buffers are wrapped, not copied, into a single {@link ByteBuf} sent to the {@link NettyOutbound}.
+     */
+    @Override
+    public CompletableFuture<Void> asyncWrite(final ByteBuffer[] buffers) {
+        try {
+            if (!started) {
+                parentResponse.committed();
+                started = true;
+            }
+            final ByteBuf wrapped = Unpooled.wrappedBuffer(buffers);
+            for (ByteBuffer buffer : buffers) {
+                buffer.position(buffer.limit());
+            }
+            return send(wrapped);
         } catch (final Exception e) {
             completionSink.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST);
             final CompletableFuture<Void> cf = new CompletableFuture<>();
@@ -129,6 +154,22 @@ class ChunkOutputStream extends AsyncOutputStream {
         }
     }
 
+    private CompletableFuture<Void> send(final ByteBuf buf) {
+        return nettyOutbound
+                .send(Mono.just(buf), FLUSH_ON_EACH_WRITE)
+                .then()
+                .doOnError(err -> completionSink.emitError(err, Sinks.EmitFailureHandler.FAIL_FAST))
+                .doOnCancel(() -> completionSink.emitError(
+                        new WriterException(Messages.MESSAGES.responseWriteAborted()),
+                        Sinks.EmitFailureHandler.FAIL_FAST))
+                .doOnDiscard(
+                        ByteBuf.class,
+                        byteBuf -> completionSink.emitError(
+                                new WriterException(Messages.MESSAGES.responseWriteAborted()),
+                                Sinks.EmitFailureHandler.FAIL_FAST))
+                .toFuture();
+    }
+
     @Override
     public void close() throws IOException {
         SinkSubscriber.subscribe(completionSink, Mono.empty());
@@ -7,6 +7,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -14,10 +15,13 @@ import java.util.function.UnaryOperator;
 
 import javax.net.ssl.SSLContext;
 
+import jakarta.ws.rs.SeBootstrap.Configuration;
+
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.core.ResteasyDeploymentImpl;
 import org.jboss.resteasy.core.SynchronousDispatcher;
 import org.jboss.resteasy.core.ThreadLocalResteasyProviderFactory;
+import org.jboss.resteasy.core.se.ConfigurationOption;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.specimpl.ResteasyUriInfo;
@@ -35,6 +39,8 @@ import io.netty.handler.ssl.SslContext;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.netty.DisposableServer;
 import reactor.netty.http.server.HttpRequestDecoderSpec;
 import reactor.netty.http.server.HttpServer;
@@ -78,6 +84,9 @@ public class ReactorNettyJaxrsServer implements EmbeddedJaxrsServer<ReactorNetty
     private List<Runnable> cleanUpTasks;
     private UnaryOperator<HttpRequestDecoderSpec> mkDecoderSpec = spec -> spec;
 
+    private boolean virtualThreads;
+    private Scheduler requestScheduler;
+
     private DisposableServer server;
 
     private UriExtractor uriExtractor = new UriExtractor();
@@ -97,6 +106,13 @@ public class ReactorNettyJaxrsServer implements EmbeddedJaxrsServer<ReactorNetty
             setRootResourcePath(appPath);
         }
 
+        if (virtualThreads) {
+            final ExecutorService executor = serverHelper.createVirtualThreadExecutor(this);
+            if (executor != null) {
+                requestScheduler = Schedulers.fromExecutorService(executor, "resteasy-virtual-threads");
+            }
+        }
+
         final Handler handler = new Handler();
 
         HttpServer svrBuilder = HttpServer.create()
@@ -125,6 +141,14 @@ public class ReactorNettyJaxrsServer implements EmbeddedJaxrsServer<ReactorNetty
         return this;
     }
 
+    @Override
+    public void start(final Configuration configuration) {
+        if (ConfigurationOption.VIRTUAL_THREADS.<Boolean> getValue(configuration)) {
+            virtualThreads = true;
+        }
+        EmbeddedJaxrsServer.super.start(configuration);
+    }
+
     /**
      * Calling this method will block the current thread.
      */
@@ -162,9 +186,14 @@ public class ReactorNettyJaxrsServer implements EmbeddedJaxrsServer<ReactorNetty
 
             final ReactorNettyHttpResponse resteasyResp = new ReactorNettyHttpResponse(req.method(), resp, completionSink);
 
-            return req.receive()
+            Mono<InputStream> requestBody = req.receive()
                     .aggregate()
-                    .asInputStream()
+                    .asInputStream();
+            if (requestScheduler != null) {
+                // Dispatch the request on a virtual thread instead of the event loop
+                requestBody = requestBody.publishOn(requestScheduler);
+            }
+            return requestBody
                     .doOnDiscard(InputStream.class, is -> {
                         try {
                             is.close();
@@ -248,6 +277,10 @@ public class ReactorNettyJaxrsServer implements EmbeddedJaxrsServer<ReactorNetty
     public void stop() {
         runtimePort = -1;
         server.disposeNow();
+        if (requestScheduler != null) {
+            requestScheduler.dispose();
+            requestScheduler = null;
+        }
         if (deployment != null) {
             deployment.stop();
         }
@@ -343,6 +376,24 @@ public class ReactorNettyJaxrsServer implements EmbeddedJaxrsServer<ReactorNetty
         return this;
     }
 
+    /**
+     * Run each request on a new virtual thread instead of the Netty event loop, so that resource methods can block
+     * without stalling the other connections of the event loop.
+     * <p>
+     * Virtual threads require Java 21 or later. On older JVMs a warning is logged and the requests are run on the event
+     * loop. It is disabled by default, and can also be enabled with the {@code resteasy.server.virtual.threads}
+     * configuration property. Note that the {@linkplain #setCleanUpTasks(List) clean up tasks} then run on the virtual
+     * threads too.
+     * </p>
+     *
+     * @param virtualThreads {@code true} to run each request on a virtual thread
+     * @return ReactorNettyJaxrsServer
+     */
+    public ReactorNettyJaxrsServer setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     /**
      * @see HttpServer#httpRequestDecoder(Function).
      *
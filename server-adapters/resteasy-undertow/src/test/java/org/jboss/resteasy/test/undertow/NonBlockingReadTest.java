@@ -0,0 +1,190 @@
+package org.jboss.resteasy.test.undertow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.ws.rs.ApplicationPath;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Form;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.jboss.resteasy.core.ResteasyDeploymentImpl;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+import org.jboss.resteasy.test.TestPortProvider;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.undertow.servlet.Servlets;
+import io.undertow.servlet.api.DeploymentInfo;
+
+/**
+ * Tests {@link ResteasyContextParameters#RESTEASY_SERVLET_NONBLOCKING_READ}: entities are read before the request is
+ * dispatched again, requests without an entity and forms are processed directly.
+ */
+public class NonBlockingReadTest {
+
+    private static Client client;
+    private static UndertowJaxrsServer server;
+
+    @ApplicationPath("")
+    public static class TestApp extends Application {
+        @Override
+        public Set<Class<?>> getClasses() {
+            HashSet<Class<?>> classes = new HashSet<Class<?>>();
+            classes.add(TestResource.class);
+            return classes;
+        }
+    }
+
+    @Path("/")
+    public static class TestResource {
+
+        @POST
+        @Path("echo")
+        public String echo(@Context HttpServletRequest request, String entity) {
+            return request.getDispatcherType() + ":" + entity;
+        }
+
+        @POST
+        @Path("wrapped")
+        public String wrapped(@Context HttpServletRequest request, String entity) {
+            return request.getDispatcherType() + ":" + request.getHeader("X-Wrapped");
+        }
+
+        @POST
+        @Path("length")
+        public CompletionStage<String> length(@Context HttpServletRequest request, InputStream entity) throws IOException {
+            final DispatcherType dispatcherType = request.getDispatcherType();
+            final byte[] bytes = entity.readAllBytes();
+            return CompletableFuture.supplyAsync(() -> dispatcherType + ":" + bytes.length);
+        }
+
+        @GET
+        @Path("get")
+        public String get(@Context HttpServletRequest request) {
+            return request.getDispatcherType().toString();
+        }
+
+        @POST
+        @Path("form")
+        @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+        public String form(@Context HttpServletRequest request, @FormParam("name") String name) {
+            return request.getDispatcherType() + ":" + name;
+        }
+    }
+
+    /**
+     * Wraps the request on the initial dispatch only.
+     */
+    public static class WrappingFilter implements Filter {
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            chain.doFilter(new HttpServletRequestWrapper((HttpServletRequest) request) {
+                @Override
+                public String getHeader(String name) {
+                    return "X-Wrapped".equals(name) ? "true" : super.getHeader(name);
+                }
+            }, response);
+        }
+    }
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        server = new UndertowJaxrsServer().start();
+        ResteasyDeployment deployment = new ResteasyDeploymentImpl();
+        deployment.setApplication(new TestApp());
+        deployment.start();
+        DeploymentInfo di = server.undertowDeployment(deployment, "/");
+        di.setClassLoader(NonBlockingReadTest.class.getClassLoader())
+                .setContextPath("/")
+                .setDeploymentName("NonBlockingReadTest")
+                .addFilter(Servlets.filter("wrapping", WrappingFilter.class).setAsyncSupported(true))
+                .addFilterUrlMapping("wrapping", "/*", DispatcherType.REQUEST);
+        di.getServlets().get("ResteasyServlet")
+                .addInitParam(ResteasyContextParameters.RESTEASY_SERVLET_NONBLOCKING_READ, "true");
+        server.deploy(di);
+
+        client = ClientBuilder.newClient();
+    }
+
+    @AfterClass
+    public static void afterClass() throws Exception {
+        server.stop();
+        client.close();
+    }
+
+    @Test
+    public void testEntity() throws Exception {
+        String val = client.target(TestPortProvider.generateURL("/echo")).request()
+                .post(Entity.text("hello"), String.class);
+        Assert.assertEquals("ASYNC:hello", val);
+    }
+
+    /**
+     * The request is dispatched again with the wrappers of the filters of the initial dispatch.
+     */
+    @Test
+    public void testFilterWrappers() throws Exception {
+        String val = client.target(TestPortProvider.generateURL("/wrapped")).request()
+                .post(Entity.text("hello"), String.class);
+        Assert.assertEquals("ASYNC:true", val);
+    }
+
+    @Test
+    public void testChunkedEntity() throws Exception {
+        final byte[] chunk = new byte[64 * 1024];
+        Arrays.fill(chunk, (byte) 'a');
+        // a StreamingOutput is sent without a Content-Length
+        final StreamingOutput entity = (OutputStream out) -> {
+            for (int i = 0; i < 32; i++) {
+                out.write(chunk);
+                out.flush();
+            }
+        };
+        String val = client.target(TestPortProvider.generateURL("/length")).request()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM), String.class);
+        Assert.assertEquals("ASYNC:" + (32 * chunk.length), val);
+    }
+
+    @Test
+    public void testWithoutEntity() throws Exception {
+        String val = client.target(TestPortProvider.generateURL("/get")).request().get(String.class);
+        Assert.assertEquals("REQUEST", val);
+    }
+
+    @Test
+    public void testForm() throws Exception {
+        String val = client.target(TestPortProvider.generateURL("/form")).request()
+                .post(Entity.form(new Form("name", "value")), String.class);
+        Assert.assertEquals("REQUEST:value", val);
+    }
+}
@@ -1,6 +1,7 @@
 package org.jboss.resteasy.plugins.server.vertx;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -9,8 +10,10 @@ import java.util.concurrent.CompletionStage;
 import org.jboss.resteasy.plugins.server.vertx.i18n.Messages;
 import org.jboss.resteasy.spi.AsyncOutputStream;
 
+import io.netty.buffer.Unpooled;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
@@ -105,6 +108,37 @@ public class ChunkOutputStream extends AsyncOutputStream {
         }
     }
 
+    /**
+     * Writes the remaining bytes of the buffers. Less than a chunk is gathered in the chunk buffer, more is handed to
+     * Vert.x without copying, as a single write wrapping all the buffers.
+     */
+    private void write(ByteBuffer[] srcs, Handler<AsyncResult<Void>> handler) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer src : srcs) {
+            remaining += src.remaining();
+        }
+        if (remaining < chunkSize) {
+            for (ByteBuffer src : srcs) {
+                buffer.appendBuffer(Buffer.buffer(Unpooled.wrappedBuffer(src)));
+                src.position(src.limit());
+            }
+            if (buffer.length() >= chunkSize) {
+                flush(handler);
+            } else if (handler != null) {
+                handler.handle(Future.succeededFuture());
+            }
+            return;
+        }
+        flush(null);
+        if (!response.isCommitted())
+            response.prepareChunkStream();
+        response.checkException();
+        response.response.write(Buffer.buffer(Unpooled.wrappedBuffer(srcs)), handler);
+        for (ByteBuffer src : srcs) {
+            src.position(src.limit());
+        }
+    }
+
     @Override
     public void flush() throws IOException {
         flush(null);
@@ -125,6 +159,14 @@ public class ChunkOutputStream extends AsyncOutputStream {
         super.flush();
     }
 
+    /**
+     * The write handlers are called on the event loop of the connection, so a worker thread may wait for them.
+     */
+    @Override
+    public boolean isBlockingAllowed() {
+        return !Context.isOnEventLoopThread();
+    }
+
     @Override
     public CompletionStage<Void> asyncFlush() {
         CompletableFuture<Void> ret = new CompletableFuture<>();
@@ -157,4 +199,25 @@ public class ChunkOutputStream extends AsyncOutputStream {
         return ret;
     }
 
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer buffer) {
+        return asyncWrite(new ByteBuffer[] { buffer });
+    }
+
+    @Override
+    public CompletionStage<Void> asyncWrite(ByteBuffer[] buffers) {
+        CompletableFuture<Void> ret = new CompletableFuture<>();
+        try {
+            write(buffers, res -> {
+                if (res.succeeded())
+                    ret.complete(null);
+                else
+                    ret.completeExceptionally(res.cause());
+            });
+        } catch (IOException e) {
+            ret.completeExceptionally(e);
+        }
+        return ret;
+    }
+
 }
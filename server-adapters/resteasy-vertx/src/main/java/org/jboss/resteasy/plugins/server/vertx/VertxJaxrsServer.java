@@ -5,9 +5,14 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import jakarta.ws.rs.SeBootstrap.Configuration;
+
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.se.ConfigurationOption;
 import org.jboss.resteasy.plugins.server.embedded.EmbeddedJaxrsServer;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
 import org.jboss.resteasy.spi.ResteasyDeployment;
@@ -44,6 +49,8 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer<VertxJaxrsServer> {
     protected String root = "";
     protected SecurityDomain domain;
     private String deploymentID;
+    private boolean virtualThreads;
+    private ExecutorService requestExecutor;
     private EmbeddedServerHelper serverHelper = new EmbeddedServerHelper();
     // default no idle timeout.
 
@@ -73,10 +80,14 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer<VertxJaxrsServer> {
         }
         setRootResourcePath(serverHelper.checkContextPath(aPath));
 
+        if (virtualThreads) {
+            requestExecutor = serverHelper.createVirtualThreadExecutor(this);
+        }
+
         vertx = Vertx.vertx(vertxOptions);
         //deployment.start();
         String key = UUID.randomUUID().toString();
-        deploymentMap.put(key, new Helper(root, serverOptions, deployment, domain));
+        deploymentMap.put(key, new Helper(root, serverOptions, deployment, domain, requestExecutor));
         // Configure the server.
         CompletableFuture<String> fut = new CompletableFuture<>();
         DeploymentOptions deploymentOptions = new DeploymentOptions()
@@ -102,6 +113,14 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer<VertxJaxrsServer> {
         return this;
     }
 
+    @Override
+    public void start(final Configuration configuration) {
+        if (ConfigurationOption.VIRTUAL_THREADS.<Boolean> getValue(configuration)) {
+            virtualThreads = true;
+        }
+        EmbeddedJaxrsServer.super.start(configuration);
+    }
+
     @Override
     public void stop() {
         if (deploymentID != null) {
@@ -117,6 +136,10 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer<VertxJaxrsServer> {
             } catch (Exception ignore) {
             }
         }
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+            requestExecutor = null;
+        }
 
         if (deployment != null) {
             deployment.stop();
@@ -201,22 +224,41 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer<VertxJaxrsServer> {
         return serverOptions;
     }
 
+    /**
+     * Run each request on a new virtual thread instead of the event loop, so that resource methods can block. The
+     * requests of a connection are still processed in order.
+     * <p>
+     * Virtual threads require Java 21 or later. On older JVMs a warning is logged and the requests are run on the event
+     * loop. It is disabled by default, and can also be enabled with the {@code resteasy.server.virtual.threads}
+     * configuration property.
+     * </p>
+     *
+     * @param virtualThreads {@code true} to run each request on a virtual thread
+     */
+    public VertxJaxrsServer setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     private static class Helper {
         final String root;
         final HttpServerOptions serverOptions;
         final ResteasyDeployment deployment;
         final SecurityDomain domain;
+        final ExecutorService executor;
 
         Helper(final String root, final HttpServerOptions serverOptions, final ResteasyDeployment deployment,
-                final SecurityDomain domain) {
+                final SecurityDomain domain, final ExecutorService executor) {
             this.root = root;
             this.serverOptions = serverOptions;
             this.deployment = deployment;
             this.domain = domain;
+            this.executor = executor;
         }
 
         public Handler<HttpServerRequest> createHandler(Vertx vertx) {
-            return new VertxRequestHandler(vertx, deployment, root, domain);
+            return new VertxRequestHandler(vertx, new RequestDispatcher((SynchronousDispatcher) deployment.getDispatcher(),
+                    deployment.getProviderFactory(), domain), root, executor);
         }
     }
 
@@ -228,7 +270,7 @@ public class VertxJaxrsServer implements EmbeddedJaxrsServer<VertxJaxrsServer> {
         public void start(Promise<Void> startPromise) throws Exception {
             Helper helper = deploymentMap.get(config().getString("helper"));
             server = vertx.createHttpServer(helper.serverOptions);
-            server.requestHandler(new VertxRequestHandler(vertx, helper.deployment, helper.root, helper.domain));
+            server.requestHandler(helper.createHandler(vertx));
             server.listen(ar -> {
                 if (ar.succeeded()) {
                     startPromise.complete();
@@ -1,6 +1,7 @@
 package org.jboss.resteasy.plugins.server.vertx;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import org.jboss.resteasy.core.SynchronousDispatcher;
 import org.jboss.resteasy.plugins.server.embedded.SecurityDomain;
@@ -25,11 +26,27 @@ public class VertxRequestHandler implements Handler<HttpServerRequest> {
     private final Vertx vertx;
     protected final RequestDispatcher dispatcher;
     private final String servletMappingPrefix;
+    private final Executor executor;
 
     public VertxRequestHandler(final Vertx vertx, final RequestDispatcher dispatcher, final String servletMappingPrefix) {
+        this(vertx, dispatcher, servletMappingPrefix, (Executor) null);
+    }
+
+    /**
+     * Creates a handler which dispatches the requests on the executor instead of the event loop.
+     *
+     * @param vertx                the Vert.x instance
+     * @param dispatcher           the dispatcher
+     * @param servletMappingPrefix the prefix of the resource paths
+     * @param executor             the executor the requests are dispatched on or {@code null} to dispatch them on the
+     *                             event loop
+     */
+    public VertxRequestHandler(final Vertx vertx, final RequestDispatcher dispatcher, final String servletMappingPrefix,
+            final Executor executor) {
         this.vertx = vertx;
         this.dispatcher = dispatcher;
         this.servletMappingPrefix = servletMappingPrefix;
+        this.executor = executor;
     }
 
     public VertxRequestHandler(final Vertx vertx, final ResteasyDeployment deployment, final String servletMappingPrefix,
@@ -61,22 +78,31 @@ public class VertxRequestHandler implements Handler<HttpServerRequest> {
                 vertxRequest.setInputStream(in);
             }
 
-            try {
-                dispatcher.service(ctx, request, response, vertxRequest, vertxResponse, true);
-            } catch (Failure e1) {
-                vertxResponse.setStatus(e1.getErrorCode());
-            } catch (Exception ex) {
-                vertxResponse.setStatus(500);
-                LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
+            if (executor == null) {
+                dispatch(ctx, request, response, vertxRequest, vertxResponse);
+            } else {
+                executor.execute(() -> dispatch(ctx, request, response, vertxRequest, vertxResponse));
             }
+        });
+    }
+
+    private void dispatch(Context ctx, HttpServerRequest request, HttpServerResponse response,
+            VertxHttpRequest vertxRequest, VertxHttpResponse vertxResponse) {
+        try {
+            dispatcher.service(ctx, request, response, vertxRequest, vertxResponse, true);
+        } catch (Failure e1) {
+            vertxResponse.setStatus(e1.getErrorCode());
+        } catch (Exception ex) {
+            vertxResponse.setStatus(500);
+            LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), ex);
+        }
 
-            if (!vertxRequest.getAsyncContext().isSuspended()) {
-                try {
-                    vertxResponse.finish();
-                } catch (IOException e) {
-                    LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), e);
-                }
+        if (!vertxRequest.getAsyncContext().isSuspended()) {
+            try {
+                vertxResponse.finish();
+            } catch (IOException e) {
+                LogMessages.LOGGER.error(Messages.MESSAGES.unexpected(), e);
             }
-        });
+        }
     }
 }